@@ -2,22 +2,57 @@ package com.example.springbootgraphql.resolver.bank.query;
 
 import static java.lang.String.format;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
 import static org.skyscreamer.jsonassert.JSONAssert.assertEquals;
 
+import com.example.springbootgraphql.context.CustomGraphQLContext;
+import com.example.springbootgraphql.reactive.ReactiveGraphQLServer;
+import com.example.springbootgraphql.requestlog.RequestLogWriter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.graphql.spring.boot.test.GraphQLTestTemplate;
+import graphql.kickstart.execution.GraphQLInvoker;
 import io.micrometer.core.instrument.util.IOUtils;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 import org.json.JSONException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
 
-@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, classes = TestApplication.class)
+@SpringBootTest(
+    webEnvironment = WebEnvironment.RANDOM_PORT,
+    classes = TestApplication.class,
+    properties = {
+      "bank.journal.enabled=false",
+      "graphql.servlet.tracing-enabled=false",
+      "bank.tracing.sample-rate=0",
+      "bank.reactive.port=0"
+    })
 public class BankAccountQueryResolverIT {
 
   private static final String GRAPHQL_QUERY_REQUEST_PATH =
@@ -26,10 +61,173 @@ public class BankAccountQueryResolverIT {
       "graphql/resolver/query/response/%s.json";
 
   @Autowired GraphQLTestTemplate graphQLTestTemplate;
+  @Autowired ReactiveGraphQLServer reactiveGraphQLServer;
+  @Autowired ObjectMapper objectMapper;
+  @Autowired TestRestTemplate testRestTemplate;
+  @SpyBean RequestLogWriter requestLogWriter;
+  @SpyBean GraphQLInvoker graphQLInvoker;
+
+  @BeforeEach
+  void authenticate() {
+    graphQLTestTemplate
+        .withClearHeaders()
+        .withAdditionalHeader("user_id", "IDJ|Elias")
+        .withAdditionalHeader("user_roles", "get:bank_account");
+  }
 
   @Test
   void bank_accounts_are_returned() throws IOException, JSONException {
-    var testName = "bank_account";
+    assertResponseMatches("bank_account");
+  }
+
+  @Test
+  void bank_accounts_are_paged() throws IOException, JSONException {
+    assertResponseMatches("bank_accounts");
+  }
+
+  @Test
+  void bank_accounts_are_paged_backwards() throws IOException, JSONException {
+    assertResponseMatches("bank_accounts_backwards");
+  }
+
+  @Test
+  void bank_accounts_are_filtered_and_ordered() throws IOException, JSONException {
+    assertResponseMatches("bank_accounts_filtered");
+  }
+
+  @Test
+  void bank_accounts_costing_too_much_are_rejected() throws IOException, JSONException {
+    assertResponseMatches("bank_accounts_too_costly");
+  }
+
+  @Test
+  void rejected_operations_are_logged_and_fingerprinted() throws IOException, JSONException {
+    assertResponseMatches("bank_accounts_too_costly");
+
+    verify(requestLogWriter, atLeastOnce())
+        .submit(
+            argThat(
+                entry ->
+                    "GET_BANK_ACCOUNTS".equals(entry.getOperationName())
+                        && entry.getErrorCount() == 1));
+    assertThat(operations("GET_BANK_ACCOUNTS"))
+        .anySatisfy(operation -> assertThat(operation.get("errors").asLong()).isPositive());
+  }
+
+  @Test
+  void bank_account_assets_are_paged() throws IOException, JSONException {
+    assertResponseMatches("bank_account_assets");
+  }
+
+  @Test
+  void bank_account_assets_default_to_a_page_of_ten() throws IOException, JSONException {
+    assertResponseMatches("bank_account_assets_default_page");
+  }
+
+  @Test
+  void bank_accounts_are_returned_by_the_reactive_endpoint() throws IOException, JSONException {
+    var query = read(format(GRAPHQL_QUERY_REQUEST_PATH, "bank_account"));
+    var expectedResponseBody = read(format(GRAPHQL_QUERY_RESPONSE_PATH, "bank_account"));
+    var executionThreads = new CopyOnWriteArrayList<String>();
+    doAnswer(
+            invocation -> {
+              executionThreads.add(Thread.currentThread().getName());
+              return invocation.callRealMethod();
+            })
+        .when(graphQLInvoker)
+        .executeAsync(any());
+
+    var responseBody =
+        WebClient.create("http://localhost:" + reactiveGraphQLServer.getPort())
+            .post()
+            .uri("/graphql")
+            .header("user_id", "IDJ|Elias")
+            .header("user_roles", "get:bank_account")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(Map.of("query", query))
+            .retrieve()
+            .bodyToMono(String.class)
+            .block();
+
+    assertEquals(expectedResponseBody, responseBody, true);
+    // The execution starts off the Netty event loop
+    assertThat(executionThreads).singleElement().asString().startsWith("boundedElastic-");
+  }
+
+  @Test
+  void traces_are_attached_on_request() throws IOException {
+    var untraced =
+        graphQLTestTemplate.postForResource(format(GRAPHQL_QUERY_REQUEST_PATH, "bank_account"));
+    assertThat(untraced.getRawResponse().getBody()).doesNotContain("\"tracing\"");
+
+    var traced =
+        graphQLTestTemplate
+            .withAdditionalHeader(CustomGraphQLContext.TRACE_HEADER, "true")
+            .postForResource(format(GRAPHQL_QUERY_REQUEST_PATH, "bank_account"));
+    assertThat(traced.get("$.data.bankAccount.id")).isNotNull();
+    assertThat(traced.get("$.extensions.tracing.execution.resolvers[0].parentType"))
+        .isEqualTo("Query");
+  }
+
+  @Test
+  void operations_are_fingerprinted_regardless_of_their_arguments()
+      throws IOException, JSONException {
+    assertResponseMatches("bank_account");
+    var query = read(format(GRAPHQL_QUERY_REQUEST_PATH, "bank_account"));
+    graphQLTestTemplate.post(
+        objectMapper.writeValueAsString(
+            Map.of("query", query.replace("ae63e39b", "00000000").replace("id\n", "  id\n"))));
+
+    var bankAccount = operations("GET_BANK_ACCOUNT");
+    assertThat(bankAccount).hasSize(1);
+    assertThat(bankAccount.get(0).get("calls").asLong()).isGreaterThanOrEqualTo(2);
+    assertThat(bankAccount.get(0).get("signature").asText()).doesNotContain("ae63e39b");
+  }
+
+  @Test
+  void only_the_ignored_endpoints_are_served_without_authentication() throws IOException {
+    var query = read(format(GRAPHQL_QUERY_REQUEST_PATH, "bank_account"));
+
+    var unauthenticated =
+        testRestTemplate.postForEntity("/graphql", Map.of("query", query), String.class);
+    var health = testRestTemplate.getForEntity("/actuator/health", String.class);
+
+    assertThat(unauthenticated.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+    assertThat(health.getStatusCode()).isEqualTo(HttpStatus.OK);
+  }
+
+  @Test
+  void persisted_queries_are_served_by_hash()
+      throws IOException, JSONException, NoSuchAlgorithmException {
+    var query = read(format(GRAPHQL_QUERY_REQUEST_PATH, "bank_account"));
+    var expectedResponseBody = read(format(GRAPHQL_QUERY_RESPONSE_PATH, "bank_account"));
+    var extensions =
+        Map.of(
+            "persistedQuery",
+            Map.of(
+                "version",
+                1,
+                "sha256Hash",
+                HexFormat.of()
+                    .formatHex(
+                        MessageDigest.getInstance("SHA-256")
+                            .digest(query.getBytes(StandardCharsets.UTF_8)))));
+
+    var unknownHash =
+        graphQLTestTemplate.post(objectMapper.writeValueAsString(Map.of("extensions", extensions)));
+    assertThat(unknownHash.get("$.errors[0].message")).isEqualTo("PersistedQueryNotFound");
+
+    var registration =
+        graphQLTestTemplate.post(
+            objectMapper.writeValueAsString(Map.of("query", query, "extensions", extensions)));
+    assertEquals(expectedResponseBody, registration.getRawResponse().getBody(), true);
+
+    var knownHash =
+        graphQLTestTemplate.post(objectMapper.writeValueAsString(Map.of("extensions", extensions)));
+    assertEquals(expectedResponseBody, knownHash.getRawResponse().getBody(), true);
+  }
+
+  private void assertResponseMatches(String testName) throws IOException, JSONException {
     var graphQLResponse =
         graphQLTestTemplate.postForResource(format(GRAPHQL_QUERY_REQUEST_PATH, testName));
     var expectedResponseBody = read(format(GRAPHQL_QUERY_RESPONSE_PATH, testName));
@@ -38,6 +236,25 @@ public class BankAccountQueryResolverIT {
     assertEquals(expectedResponseBody, graphQLResponse.getRawResponse().getBody(), true);
   }
 
+  private List<JsonNode> operations(String operationName) throws IOException {
+    var headers = new HttpHeaders();
+    headers.add("user_id", "IDJ|Elias");
+    headers.add("user_roles", "get:bank_account");
+    var operations =
+        objectMapper.readTree(
+            testRestTemplate
+                .exchange(
+                    "/actuator/graphqloperations?limit=100",
+                    HttpMethod.GET,
+                    new HttpEntity<>(headers),
+                    String.class)
+                .getBody());
+
+    return StreamSupport.stream(operations.spliterator(), false)
+        .filter(operation -> operationName.equals(operation.get("operationName").asText()))
+        .collect(Collectors.toList());
+  }
+
   private String read(String location) throws IOException {
     return IOUtils.toString(
         new ClassPathResource(location).getInputStream(), StandardCharsets.UTF_8);
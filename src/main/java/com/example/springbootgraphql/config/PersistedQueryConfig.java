@@ -0,0 +1,74 @@
+package com.example.springbootgraphql.config;
+
+import com.example.springbootgraphql.document.PreparsedDocumentCache;
+import com.example.springbootgraphql.persistedquery.PersistedQueryInvocationInputFactory;
+import com.example.springbootgraphql.persistedquery.PersistedQueryRequest;
+import com.example.springbootgraphql.persistedquery.PersistedQueryStore;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import graphql.kickstart.execution.GraphQLRequest;
+import graphql.kickstart.servlet.config.GraphQLSchemaServletProvider;
+import graphql.kickstart.servlet.context.GraphQLServletContextBuilder;
+import graphql.kickstart.servlet.core.DefaultGraphQLRootObjectBuilder;
+import graphql.kickstart.servlet.core.GraphQLServletRootObjectBuilder;
+import graphql.kickstart.servlet.input.GraphQLInvocationInputFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * PersistedQueryConfig
+ *
+ * <p>Serves automatic persisted queries: clients may send the SHA-256 hash of a query in the {@code
+ * extensions.persistedQuery.sha256Hash} field of a POST request instead of its text, see {@link
+ * PersistedQueryStore}.
+ *
+ * <p>Kickstart's {@link GraphQLRequest} has no extensions, so the shared Jackson mapper binds it as
+ * a {@link PersistedQueryRequest} and the servlet creates its invocation inputs with a {@link
+ * PersistedQueryInvocationInputFactory}, which hands the extensions to the {@link
+ * ApolloPersistedQuerySupport}.
+ *
+ * <p>Requests sending the query text are still served by the {@link PreparsedDocumentCache}, which
+ * is also where a persisted query registered by its text is parsed.
+ */
+@Configuration
+@ConditionalOnProperty(
+    prefix = "bank.persisted-queries",
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class PersistedQueryConfig {
+
+  @Bean
+  @Primary
+  public PreparsedDocumentProvider persistedQueryDocumentProvider(
+      PersistedQueryStore store, PreparsedDocumentCache documentCache) {
+    var persistedQuerySupport = new ApolloPersistedQuerySupport(store);
+    return (executionInput, parseAndValidateFunction) ->
+        persistedQuerySupport.getDocument(
+            executionInput, input -> documentCache.getDocument(input, parseAndValidateFunction));
+  }
+
+  @Bean
+  public Jackson2ObjectMapperBuilderCustomizer persistedQueryRequestCustomizer() {
+    return builder -> builder.mixIn(GraphQLRequest.class, PersistedQueryRequestMixIn.class);
+  }
+
+  @Bean
+  public GraphQLInvocationInputFactory invocationInputFactory(
+      GraphQLSchemaServletProvider schemaProvider,
+      GraphQLServletContextBuilder contextBuilder,
+      ObjectProvider<GraphQLServletRootObjectBuilder> rootObjectBuilder) {
+    return new PersistedQueryInvocationInputFactory(
+        schemaProvider,
+        contextBuilder,
+        rootObjectBuilder.getIfAvailable(DefaultGraphQLRootObjectBuilder::new));
+  }
+
+  @JsonDeserialize(as = PersistedQueryRequest.class)
+  private abstract static class PersistedQueryRequestMixIn {}
+}
@@ -26,13 +26,22 @@ public class GrantedAuthoritiesAuthenticationDetailsSource
   public PreAuthenticatedGrantedAuthoritiesWebAuthenticationDetails buildDetails(
       HttpServletRequest request) {
 
-    var userRoles = request.getHeader("user_roles");
-    var authorities =
-        StringUtils.isBlank(userRoles) ? List.<GrantedAuthority>of() : getAuthorities(userRoles);
+    var authorities = getAuthoritiesFrom(request.getHeader("user_roles"));
 
     return new PreAuthenticatedGrantedAuthoritiesWebAuthenticationDetails(request, authorities);
   }
 
+  /**
+   * Builds the authorities of a `user_roles` header, shared with the reactive endpoint which has no
+   * servlet request to build details from
+   *
+   * @param userRoles the string value from a request header of the same name, may be blank
+   * @return the {@link GrantedAuthority} list of the roles, empty if there are none
+   */
+  public static List<GrantedAuthority> getAuthoritiesFrom(String userRoles) {
+    return StringUtils.isBlank(userRoles) ? List.of() : getAuthorities(userRoles);
+  }
+
   /**
    * @param userRoles the string value from a request header of the same name
    * @return a list of {@link GrantedAuthority}, a representation of authority granted to an {@link
@@ -41,7 +50,7 @@ public class GrantedAuthoritiesAuthenticationDetailsSource
    *     org.springframework.security.access.AccessDecisionManager AccessDecisionManager}, mapped
    *     from {@link SimpleGrantedAuthority}, a basic `contract/role`
    */
-  private List<GrantedAuthority> getAuthorities(String userRoles) {
+  private static List<GrantedAuthority> getAuthorities(String userRoles) {
     return Set.of(userRoles.split(",")).stream()
         .map(SimpleGrantedAuthority::new)
         .collect(Collectors.toList());
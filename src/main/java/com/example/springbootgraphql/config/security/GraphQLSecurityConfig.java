@@ -2,21 +2,24 @@ package com.example.springbootgraphql.config.security;
 
 import javax.servlet.Filter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
-import org.springframework.security.config.annotation.web.builders.WebSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.preauth.AbstractPreAuthenticatedProcessingFilter;
 import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationProvider;
 import org.springframework.security.web.authentication.preauth.PreAuthenticatedGrantedAuthoritiesUserDetailsService;
 
 /**
- * Secure our GraphQL with a Config class that extends {@link WebSecurityConfigurerAdapter}
+ * Secure our GraphQL with a Config class that declares a {@link SecurityFilterChain} and a {@link
+ * WebSecurityCustomizer}
  *
  * <p>with {@link EnableWebSecurity}
  */
@@ -24,32 +27,30 @@ import org.springframework.security.web.authentication.preauth.PreAuthenticatedG
 @Configuration
 @EnableWebSecurity // Debug support will print the execution of the FilterChainProxy
 @EnableGlobalMethodSecurity(securedEnabled = true, prePostEnabled = true)
-public class GraphQLSecurityConfig extends WebSecurityConfigurerAdapter {
+public class GraphQLSecurityConfig {
 
   /**
-   * Override the configure method to create a {@link PreAuthenticatedAuthenticationProvider}
-   *
-   * @param authenticationManagerBuilder
-   */
-  @Override
-  public void configure(AuthenticationManagerBuilder authenticationManagerBuilder) {
-    authenticationManagerBuilder.authenticationProvider(preAuthenticatedAuthenticationProvider());
-  }
-
-  /**
-   * Set up the SpringSecurity endpoint by adding a preAuthentication filter.
+   * Set up the SpringSecurity endpoint by adding a preAuthentication filter, which authenticates
+   * through the {@link PreAuthenticatedAuthenticationProvider}.
    *
    * @param httpSecurity {@link HttpSecurity}
+   * @param preAuthenticatedAuthenticationProvider the provider of the authentication manager
+   * @return the {@link SecurityFilterChain} of every secured endpoint
    * @throws Exception runtime exception
    */
-  @Override
-  protected void configure(HttpSecurity httpSecurity) throws Exception {
+  @Bean
+  public SecurityFilterChain securityFilterChain(
+      HttpSecurity httpSecurity,
+      PreAuthenticatedAuthenticationProvider preAuthenticatedAuthenticationProvider)
+      throws Exception {
     log.info("Securing all endpoints");
 
-    httpSecurity
+    var authenticationManager = new ProviderManager(preAuthenticatedAuthenticationProvider);
+    return httpSecurity
+        .authenticationManager(authenticationManager)
         // Add the Pre Authentication Filter, processing is #1
         .addFilterBefore(
-            createRequestHeadersPreAuthenticationFilter(),
+            createRequestHeadersPreAuthenticationFilter(authenticationManager),
             AbstractPreAuthenticatedProcessingFilter.class)
         .authorizeRequests()
         // All endpoints require authentication
@@ -71,42 +72,44 @@ public class GraphQLSecurityConfig extends WebSecurityConfigurerAdapter {
         .disable()
         // Disable anonymous users
         .anonymous()
-        .disable();
+        .disable()
+        .build();
   }
 
   /**
    * Permit actuator health endpoint for uptime checks. Web ignoring will bypass the FilterChain.
    *
-   * @param web {@link WebSecurity}
+   * @return the {@link WebSecurityCustomizer} of the ignored endpoints
    */
-  @Override
-  public void configure(WebSecurity web) {
-
-    web.ignoring()
-        // Actuator health endpoint for readiness, liveness checks etc
-        .antMatchers("/actuator/health")
-        // Permit playground for development
-        .antMatchers("/playground", "/vendor/playground/**")
-        // Subscription are secured via AuthenticationConnectionListener
-        .antMatchers("/subscriptions");
+  @Bean
+  public WebSecurityCustomizer webSecurityCustomizer() {
+    return web ->
+        web.ignoring()
+            // Actuator health endpoint for readiness, liveness checks etc
+            .antMatchers("/actuator/health")
+            // Permit playground for development
+            .antMatchers("/playground", "/vendor/playground/**")
+            // Subscription are secured via AuthenticationConnectionListener
+            .antMatchers("/subscriptions");
   }
 
   /**
    * PreAuth filter
    *
+   * @param authenticationManager the {@link AuthenticationManager} to use
    * @return filter a new {@link RequestHeadersPreAuthenticationFilter} with a new {@link
    *     GrantedAuthoritiesAuthenticationDetailsSource} set.
-   * @throws Exception if any of the filter conditions are not met during a request
    * @see AbstractPreAuthenticatedProcessingFilter#setAuthenticationManager
    * @see AbstractPreAuthenticatedProcessingFilter#doFilter
    */
-  private Filter createRequestHeadersPreAuthenticationFilter() throws Exception {
+  private Filter createRequestHeadersPreAuthenticationFilter(
+      AuthenticationManager authenticationManager) {
     // new filter that extracts username from principal
     var filter = new RequestHeadersPreAuthenticationFilter();
     // The AuthenticationDetailsSource to use to match/merge principal
     filter.setAuthenticationDetailsSource(new GrantedAuthoritiesAuthenticationDetailsSource());
     // The AuthenticationManager to use
-    filter.setAuthenticationManager(authenticationManager());
+    filter.setAuthenticationManager(authenticationManager);
     // if true, and AuthenticationException raised will be swallowed and the request will continue,
     // potentially using alternate catchers.
     // if false, authentication failure will result in immediate exception
@@ -126,6 +129,7 @@ public class GraphQLSecurityConfig extends WebSecurityConfigurerAdapter {
    *     user object created by a new {@link PreAuthenticatedGrantedAuthoritiesUserDetailsService}
    *     based on an authentication token, never null
    */
+  @Bean
   public PreAuthenticatedAuthenticationProvider preAuthenticatedAuthenticationProvider() {
     var preAuthProvider = new PreAuthenticatedAuthenticationProvider();
     preAuthProvider.setPreAuthenticatedUserDetailsService(
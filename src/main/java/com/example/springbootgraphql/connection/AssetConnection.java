@@ -0,0 +1,27 @@
+package com.example.springbootgraphql.connection;
+
+import com.example.springbootgraphql.domain.bank.Asset;
+import graphql.relay.DefaultConnection;
+import graphql.relay.Edge;
+import graphql.relay.PageInfo;
+import java.util.List;
+
+/**
+ * AssetConnection
+ *
+ * <p>A {@link DefaultConnection} of the {@link Asset} edges held by one bank account.
+ */
+public class AssetConnection extends DefaultConnection<Asset> {
+
+  public AssetConnection(List<Edge<Asset>> edges, PageInfo pageInfo) {
+    super(edges, pageInfo);
+  }
+
+  /**
+   * Narrows the inherited {@code List<Edge<T>>} so the schema parser can resolve the edge type.
+   */
+  @Override
+  public List<Edge<Asset>> getEdges() {
+    return super.getEdges();
+  }
+}
@@ -0,0 +1,40 @@
+package com.example.springbootgraphql.connection;
+
+import com.example.springbootgraphql.domain.bank.BankAccount;
+import graphql.relay.DefaultConnection;
+import graphql.relay.Edge;
+import graphql.relay.PageInfo;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * BankAccountConnection
+ *
+ * <p>A {@link DefaultConnection} of {@link BankAccount} edges with a {@code totalCount}. The count is
+ * only computed when the field is selected, by the {@link LongSupplier} given by the resolver.
+ */
+public class BankAccountConnection extends DefaultConnection<BankAccount> {
+
+  private final LongSupplier totalCount;
+
+  public BankAccountConnection(
+      List<Edge<BankAccount>> edges, PageInfo pageInfo, LongSupplier totalCount) {
+    super(edges, pageInfo);
+    this.totalCount = totalCount;
+  }
+
+  /**
+   * Narrows the inherited {@code List<Edge<T>>} so the schema parser can resolve the edge type.
+   */
+  @Override
+  public List<Edge<BankAccount>> getEdges() {
+    return super.getEdges();
+  }
+
+  /**
+   * @return the number of bank accounts in the connection across all pages
+   */
+  public int getTotalCount() {
+    return Math.toIntExact(totalCount.getAsLong());
+  }
+}
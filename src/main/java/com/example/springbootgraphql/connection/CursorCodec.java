@@ -0,0 +1,177 @@
+package com.example.springbootgraphql.connection;
+
+import graphql.GraphQLException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * CursorCodec
+ *
+ * <p>Encodes connection cursors as URL-safe Base64 without padding of a versioned binary layout:
+ *
+ * <dl>
+ *   <dt>version (1) | flags (1) | id most significant bits (8) | id least significant bits (8)
+ *   <dd>24 characters, for connections ordered by ID
+ *   <dt>followed by a sort key (8) when the {@code SORT_KEY} flag is set
+ *   <dd>35 characters, for connections ordered by another field
+ * </dl>
+ *
+ * <p>The Base64 alphabet is applied directly to the bytes of the longs, so encoding allocates only
+ * the cursor's own bytes and String, and decoding allocates only the {@link CursorKey}. A cursor of
+ * the wrong length, alphabet or version is rejected before anything else is decoded. Cursors from
+ * before the binary layout (Base64 of the ID's string form) are still accepted.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CursorCodec {
+
+  static final int VERSION = 1;
+  static final int SORT_KEY = 1;
+
+  private static final int ID_BYTES = 2 + Long.BYTES + Long.BYTES;
+  private static final int SORTED_BYTES = ID_BYTES + Long.BYTES;
+  private static final int ID_LENGTH = encodedLength(ID_BYTES);
+  private static final int SORTED_LENGTH = encodedLength(SORTED_BYTES);
+  private static final int LEGACY_LENGTH = 48;
+
+  private static final byte[] ALPHABET =
+      "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+          .getBytes(StandardCharsets.US_ASCII);
+  private static final int[] VALUES = new int[128];
+
+  static {
+    Arrays.fill(VALUES, -1);
+    for (int i = 0; i < ALPHABET.length; i++) {
+      VALUES[ALPHABET[i]] = i;
+    }
+  }
+
+  /**
+   * @param id the node's ID
+   * @return a cursor for a connection ordered by ID
+   */
+  public static String encode(UUID id) {
+    return encode(id, false, 0);
+  }
+
+  /**
+   * @param id the node's ID
+   * @param sortKey the node's sort key
+   * @return a cursor for a connection ordered by the sort key, then by ID
+   */
+  public static String encode(UUID id, long sortKey) {
+    return encode(id, true, sortKey);
+  }
+
+  /**
+   * @param cursor a cursor created by this codec
+   * @return the {@link CursorKey} the cursor points at
+   * @throws GraphQLException if the cursor is malformed
+   */
+  public static CursorKey decode(String cursor) {
+    int length = cursor.length();
+    if (length == LEGACY_LENGTH) {
+      return decodeLegacy(cursor);
+    }
+    if (length != ID_LENGTH && length != SORTED_LENGTH) {
+      throw invalid();
+    }
+    int bytes = length == ID_LENGTH ? ID_BYTES : SORTED_BYTES;
+    long header = 0;
+    long mostSignificantBits = 0;
+    long leastSignificantBits = 0;
+    long sortKey = 0;
+    int index = 0;
+    for (int i = 0; i < length; i += 4) {
+      int group = 0;
+      int chars = Math.min(4, length - i);
+      for (int j = 0; j < 4; j++) {
+        group = (group << 6) | (j < chars ? valueOf(cursor.charAt(i + j)) : 0);
+      }
+      // Each group of four characters carries three bytes, the last group fewer
+      for (int shift = 16; shift >= 0 && index < bytes; shift -= 8, index++) {
+        long b = (group >>> shift) & 0xFF;
+        if (index < 2) {
+          header = header << 8 | b;
+        } else if (index < 2 + Long.BYTES) {
+          mostSignificantBits = mostSignificantBits << 8 | b;
+        } else if (index < ID_BYTES) {
+          leastSignificantBits = leastSignificantBits << 8 | b;
+        } else {
+          sortKey = sortKey << 8 | b;
+        }
+      }
+    }
+    boolean sorted = (header & SORT_KEY) != 0;
+    if (header >>> 8 != VERSION || sorted != (bytes == SORTED_BYTES)) {
+      throw invalid();
+    }
+    return new CursorKey(new UUID(mostSignificantBits, leastSignificantBits), sorted, sortKey);
+  }
+
+  private static String encode(UUID id, boolean sorted, long sortKey) {
+    int bytes = sorted ? SORTED_BYTES : ID_BYTES;
+    var out = new byte[encodedLength(bytes)];
+    long header = VERSION << 8 | (sorted ? SORT_KEY : 0);
+    long mostSignificantBits = id.getMostSignificantBits();
+    long leastSignificantBits = id.getLeastSignificantBits();
+    int position = 0;
+    for (int index = 0; index < bytes; index += 3) {
+      int group = 0;
+      for (int j = 0; j < 3; j++) {
+        int i = index + j;
+        group <<= 8;
+        if (i < bytes) {
+          group |= byteAt(i, header, mostSignificantBits, leastSignificantBits, sortKey);
+        }
+      }
+      int chars = Math.min(4, out.length - position);
+      for (int j = 0; j < chars; j++) {
+        out[position++] = ALPHABET[(group >>> (18 - 6 * j)) & 0x3F];
+      }
+    }
+    return new String(out, StandardCharsets.ISO_8859_1);
+  }
+
+  private static int byteAt(
+      int index, long header, long mostSignificantBits, long leastSignificantBits, long sortKey) {
+    if (index < 2) {
+      return (int) (header >>> (8 * (1 - index))) & 0xFF;
+    }
+    if (index < 2 + Long.BYTES) {
+      return (int) (mostSignificantBits >>> (8 * (2 + Long.BYTES - 1 - index))) & 0xFF;
+    }
+    if (index < ID_BYTES) {
+      return (int) (leastSignificantBits >>> (8 * (ID_BYTES - 1 - index))) & 0xFF;
+    }
+    return (int) (sortKey >>> (8 * (SORTED_BYTES - 1 - index))) & 0xFF;
+  }
+
+  private static int valueOf(char c) {
+    int value = c < VALUES.length ? VALUES[c] : -1;
+    if (value < 0) {
+      throw invalid();
+    }
+    return value;
+  }
+
+  private static CursorKey decodeLegacy(String cursor) {
+    try {
+      var id = UUID.fromString(new String(Base64.getDecoder().decode(cursor), StandardCharsets.UTF_8));
+      return new CursorKey(id, false, 0);
+    } catch (IllegalArgumentException e) {
+      throw invalid();
+    }
+  }
+
+  private static int encodedLength(int bytes) {
+    return (bytes * 8 + 5) / 6;
+  }
+
+  private static GraphQLException invalid() {
+    return new GraphQLException("Invalid cursor");
+  }
+}
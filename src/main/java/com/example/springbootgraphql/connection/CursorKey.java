@@ -0,0 +1,28 @@
+package com.example.springbootgraphql.connection;
+
+import java.util.UUID;
+import lombok.Value;
+
+/**
+ * Represents the position a connection cursor points at.
+ *
+ * <p>This class is immutable. It holds the ID of the node the cursor was created for and, for
+ * connections ordered by something other than the ID, the node's sort key.
+ */
+@Value
+public class CursorKey {
+  /**
+   * The ID of the node the cursor was created for.
+   */
+  UUID id;
+
+  /**
+   * Whether the cursor carries a {@link #sortKey}.
+   */
+  boolean sorted;
+
+  /**
+   * The node's sort key, {@code 0} unless {@link #sorted}.
+   */
+  long sortKey;
+}
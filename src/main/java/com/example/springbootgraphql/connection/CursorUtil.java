@@ -3,23 +3,31 @@ package com.example.springbootgraphql.connection;
 import com.example.springbootgraphql.domain.bank.BankAccount;
 import graphql.relay.ConnectionCursor;
 import graphql.relay.DefaultConnectionCursor;
+import graphql.relay.DefaultPageInfo;
 import graphql.relay.Edge;
-import java.nio.charset.StandardCharsets;
-import java.util.Base64;
+import graphql.relay.PageInfo;
 import java.util.List;
 import java.util.UUID;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.stereotype.Component;
 
 @Component
 public class CursorUtil {
 
   public ConnectionCursor createCursorWith(UUID id) {
-    return new DefaultConnectionCursor(
-        Base64.getEncoder().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8)));
+    return new DefaultConnectionCursor(CursorCodec.encode(id));
+  }
+
+  public ConnectionCursor createCursorWith(UUID id, long sortKey) {
+    return new DefaultConnectionCursor(CursorCodec.encode(id, sortKey));
   }
 
   public UUID decode(String cursor) {
-    return UUID.fromString(new String(Base64.getDecoder().decode(cursor)));
+    return CursorCodec.decode(cursor).getId();
+  }
+
+  public @Nullable CursorKey decodeKeyIfPresent(@Nullable String cursor) {
+    return cursor == null ? null : CursorCodec.decode(cursor);
   }
 
   public <T> ConnectionCursor getFirstCursorFrom(List<Edge<T>> edges) {
@@ -29,4 +37,10 @@ public class CursorUtil {
   public <T> ConnectionCursor getLastCursorFrom(List<Edge<T>> edges) {
     return edges.isEmpty() ? null : edges.get(edges.size() - 1).getCursor();
   }
+
+  public <T> PageInfo createPageInfoFrom(
+      List<Edge<T>> edges, boolean hasPreviousPage, boolean hasNextPage) {
+    return new DefaultPageInfo(
+        getFirstCursorFrom(edges), getLastCursorFrom(edges), hasPreviousPage, hasNextPage);
+  }
 }
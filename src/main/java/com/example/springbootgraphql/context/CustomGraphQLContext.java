@@ -1,5 +1,6 @@
 package com.example.springbootgraphql.context;
 
+import graphql.kickstart.execution.context.GraphQLContext;
 import graphql.kickstart.servlet.context.GraphQLServletContext;
 import java.util.List;
 import java.util.Map;
@@ -18,32 +19,48 @@ import org.dataloader.DataLoaderRegistry;
  *
  * <p>Customized returns of delegate methods to grab from the context. In order to use the built-in
  * GraphQL default servlet context
+ *
+ * <p>Requests of the reactive endpoint have no servlet context: they delegate to a plain {@link
+ * GraphQLContext}, and the servlet methods are unsupported for them.
+ *
+ * <p>{@code traceRequested} tells whether the client asked for the full tracing of the operation
+ * via the {@link #TRACE_HEADER} header, whichever endpoint it came through.
  */
 @Getter
 @RequiredArgsConstructor
 public class CustomGraphQLContext implements GraphQLServletContext {
 
+  public static final String TRACE_HEADER = "x-graphql-trace";
+
   private final String userId;
-  private final GraphQLServletContext context;
+  private final boolean traceRequested;
+  private final GraphQLContext context;
 
   @Override
   public List<Part> getFileParts() {
-    return context.getFileParts();
+    return getServletContext().getFileParts();
   }
 
   @Override
   public Map<String, List<Part>> getParts() {
-    return context.getParts();
+    return getServletContext().getParts();
   }
 
   @Override
   public HttpServletRequest getHttpServletRequest() {
-    return context.getHttpServletRequest();
+    return getServletContext().getHttpServletRequest();
   }
 
   @Override
   public HttpServletResponse getHttpServletResponse() {
-    return context.getHttpServletResponse();
+    return getServletContext().getHttpServletResponse();
+  }
+
+  private GraphQLServletContext getServletContext() {
+    if (!(context instanceof GraphQLServletContext)) {
+      throw new IllegalStateException("Not a servlet request");
+    }
+    return (GraphQLServletContext) context;
   }
 
   /** @return the subject to execute the query as. */
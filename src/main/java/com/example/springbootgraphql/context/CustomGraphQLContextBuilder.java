@@ -1,6 +1,7 @@
 package com.example.springbootgraphql.context;
 
 import com.example.springbootgraphql.context.dataloader.DataLoaderRegistryFactory;
+import graphql.kickstart.execution.context.DefaultGraphQLContext;
 import graphql.kickstart.execution.context.GraphQLContext;
 import graphql.kickstart.servlet.context.DefaultGraphQLServletContext;
 import graphql.kickstart.servlet.context.DefaultGraphQLWebSocketContext;
@@ -11,6 +12,7 @@ import javax.websocket.Session;
 import javax.websocket.server.HandshakeRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 
 /**
@@ -31,7 +33,8 @@ public class CustomGraphQLContextBuilder implements GraphQLServletContextBuilder
    * <p>This method constructs a {@link DefaultGraphQLServletContext} with the provided
    * {@link HttpServletRequest} and {@link HttpServletResponse}, and includes a DataLoaderRegistry
    * created using the user ID extracted from the request header. The resulting context is wrapped
-   * in a {@link CustomGraphQLContext} which includes the user ID.
+   * in a {@link CustomGraphQLContext} which includes the user ID and whether the request asked for
+   * tracing.
    *
    * @param httpServletRequest the HTTP servlet request
    * @param httpServletResponse the HTTP servlet response
@@ -52,8 +55,33 @@ public class CustomGraphQLContextBuilder implements GraphQLServletContextBuilder
             .with(dataLoaderRegistryFactory.create(userId))
             .build();
 
-    /* Return a new custom GraphQL context with the user ID and the created context */
-    return new CustomGraphQLContext(userId, context);
+    /* Return a new custom GraphQL context with the user ID, the trace flag and the created context */
+    return new CustomGraphQLContext(
+        userId,
+        Boolean.parseBoolean(httpServletRequest.getHeader(CustomGraphQLContext.TRACE_HEADER)),
+        context);
+  }
+
+  /**
+   * Builds a custom GraphQL context for requests of the reactive endpoint.
+   *
+   * <p>This method constructs a {@link DefaultGraphQLContext} with a DataLoaderRegistry created
+   * using the user ID extracted from the reactive request headers, so no servlet request is needed.
+   * The resulting context is wrapped in a {@link CustomGraphQLContext} which includes the user ID.
+   *
+   * @param headers the HTTP headers of the reactive request
+   * @return a custom GraphQL context containing the user ID and the created context
+   */
+  public CustomGraphQLContext build(HttpHeaders headers) {
+
+    /* Extract the user ID from the request header */
+    var userId = headers.getFirst("user_id");
+
+    /* Create the default GraphQL context with the DataLoaderRegistry and no subject */
+    var context = new DefaultGraphQLContext(dataLoaderRegistryFactory.create(userId), null);
+
+    return new CustomGraphQLContext(
+        userId, Boolean.parseBoolean(headers.getFirst(CustomGraphQLContext.TRACE_HEADER)), context);
   }
 
   /**
@@ -0,0 +1,93 @@
+package com.example.springbootgraphql.context.dataloader;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.dataloader.DataLoader;
+import org.dataloader.stats.SimpleStatisticsCollector;
+import org.dataloader.stats.Statistics;
+import org.dataloader.stats.StatisticsCollector;
+
+/**
+ * BatchWindowStatisticsCollector
+ *
+ * <p>A {@link StatisticsCollector} that, besides collecting the usual statistics, records the size
+ * of every batch and applies the batch window of a {@link DataLoaderProperties.DispatchPolicy}.
+ *
+ * <p>The statistics collector is the only hook java-dataloader calls on every load and every batch:
+ * {@link #incrementLoadCount()} is called while the {@link DataLoader} is locked for the load, so a
+ * dispatch scheduled from it cannot run before the load is queued. The first load after a dispatch
+ * schedules the next one {@code batchWindow} later; loads made in between join that batch.
+ */
+class BatchWindowStatisticsCollector implements StatisticsCollector {
+
+  private final StatisticsCollector delegate = new SimpleStatisticsCollector();
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+  private final DistributionSummary batchSize;
+  private final long batchWindowNanos;
+  private final ScheduledExecutorService dispatchScheduler;
+  private volatile DataLoader<?, ?> dataLoader;
+
+  BatchWindowStatisticsCollector(
+      DistributionSummary batchSize,
+      Duration batchWindow,
+      ScheduledExecutorService dispatchScheduler) {
+    this.batchSize = batchSize;
+    this.batchWindowNanos = batchWindow.toNanos();
+    this.dispatchScheduler = dispatchScheduler;
+  }
+
+  /**
+   * Binds the collector to the {@link DataLoader} it collects for, which is created after it.
+   *
+   * @param dataLoader the {@link DataLoader} to dispatch
+   */
+  void bind(DataLoader<?, ?> dataLoader) {
+    this.dataLoader = dataLoader;
+  }
+
+  @Override
+  public long incrementLoadCount() {
+    if (batchWindowNanos > 0 && scheduled.compareAndSet(false, true)) {
+      dispatchScheduler.schedule(this::dispatch, batchWindowNanos, TimeUnit.NANOSECONDS);
+    }
+    return delegate.incrementLoadCount();
+  }
+
+  @Override
+  public long incrementLoadErrorCount() {
+    return delegate.incrementLoadErrorCount();
+  }
+
+  @Override
+  public long incrementBatchLoadCountBy(long delta) {
+    batchSize.record(delta);
+    return delegate.incrementBatchLoadCountBy(delta);
+  }
+
+  @Override
+  public long incrementBatchLoadExceptionCount() {
+    return delegate.incrementBatchLoadExceptionCount();
+  }
+
+  @Override
+  public long incrementCacheHitCount() {
+    return delegate.incrementCacheHitCount();
+  }
+
+  @Override
+  public Statistics getStatistics() {
+    return delegate.getStatistics();
+  }
+
+  /** Dispatches whatever the execution strategy has not dispatched yet. */
+  private void dispatch() {
+    scheduled.set(false);
+    var loader = dataLoader;
+    if (loader != null && loader.dispatchDepth() > 0) {
+      loader.dispatch();
+    }
+  }
+}
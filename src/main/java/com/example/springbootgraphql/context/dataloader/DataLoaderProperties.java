@@ -0,0 +1,61 @@
+package com.example.springbootgraphql.context.dataloader;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * DataLoaderProperties
+ *
+ * <p>Binds the {@code bank.data-loader} block of {@code application.yml} that configures how the
+ * DataLoaders created by the {@link DataLoaderRegistryFactory} dispatch their batches: a {@link
+ * DispatchPolicy} per DataLoader name, falling back to the default one.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "bank.data-loader")
+public class DataLoaderProperties {
+
+  /**
+   * The {@link DispatchPolicy} of DataLoaders without one of their own.
+   */
+  private DispatchPolicy defaults = new DispatchPolicy();
+
+  /**
+   * The {@link DispatchPolicy} of each DataLoader, by name.
+   */
+  private Map<String, DispatchPolicy> loaders = new HashMap<>();
+
+  /**
+   * @param name the DataLoader name
+   * @return the {@link DispatchPolicy} of the DataLoader
+   */
+  public DispatchPolicy getPolicy(String name) {
+    return loaders.getOrDefault(name, defaults);
+  }
+
+  /**
+   * DispatchPolicy
+   *
+   * <p>How one DataLoader dispatches its batches.
+   */
+  @Data
+  public static class DispatchPolicy {
+
+    /**
+     * The maximum number of keys per batch, a larger dispatch being split into several batches. A
+     * value of zero or less leaves batches unbounded.
+     */
+    private int maxBatchSize;
+
+    /**
+     * How long after a load the DataLoader dispatches by itself, coalescing every load made in
+     * between into one batch. Catches loads made after the execution strategy's dispatch, e.g. from
+     * asynchronous resolvers. A zero window leaves dispatching to the execution strategy alone.
+     */
+    private Duration batchWindow = Duration.ZERO;
+  }
+}
@@ -1,21 +1,29 @@
 package com.example.springbootgraphql.context.dataloader;
 
 import com.example.springbootgraphql.domain.bank.BankAccount;
-import com.example.springbootgraphql.service.BalanceService;
-import com.example.springbootgraphql.util.CorrelationIdPropagationExecutor;
+import com.example.springbootgraphql.domain.bank.Client;
+import com.example.springbootgraphql.repository.AssetHoldingsRepository;
+import com.example.springbootgraphql.repository.AssetPage;
+import com.example.springbootgraphql.repository.AssetPageRequest;
+import com.example.springbootgraphql.service.BalanceCache;
+import com.example.springbootgraphql.service.ClientService;
+import com.example.springbootgraphql.util.ExecutorFactory;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.math.BigDecimal;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import lombok.RequiredArgsConstructor;
 import org.dataloader.BatchLoaderEnvironment;
 import org.dataloader.DataLoader;
 import org.dataloader.DataLoaderOptions;
 import org.dataloader.DataLoaderRegistry;
-import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.dataloader.MappedBatchLoaderWithContext;
 import org.springframework.stereotype.Component;
 
 /**
@@ -23,31 +31,50 @@ import org.springframework.stereotype.Component;
  *
  * <p>This factory is responsible for creating and configuring DataLoaderRegistry instances,
  * including the registration of specific DataLoaders such as the balance DataLoader.
+ *
+ * <p>Every DataLoader dispatches according to its {@link DataLoaderProperties.DispatchPolicy} and
+ * records, tagged with its name:
+ *
+ * <ul>
+ *   <li>{@code dataloader.batch.size} - the number of keys of each batch
+ *   <li>{@code dataloader.batch.latency} - the time each batch takes to load
+ * </ul>
+ *
+ * <p>The meters are registered once per DataLoader name and shared by the DataLoaders of every
+ * request.
  */
 @Component
 @RequiredArgsConstructor
 public class DataLoaderRegistryFactory {
 
-  private final BalanceService balanceService;
+  private final BalanceCache balanceCache;
+  private final ClientService clientService;
+  private final AssetHoldingsRepository assetHoldingsRepository;
+  private final DataLoaderProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final ExecutorFactory executorFactory;
   public static final String BALANCE_DATA_LOADER = "BALANCE_DATA_LOADER";
-  private static final Executor balanceThreadPool =
-      CorrelationIdPropagationExecutor.wrap(
-          new DelegatingSecurityContextExecutorService(
-              Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors())));
+  public static final String CLIENT_DATA_LOADER = "CLIENT_DATA_LOADER";
+  public static final String ASSET_DATA_LOADER = "ASSET_DATA_LOADER";
+
+  private final Map<String, DistributionSummary> batchSizes = new ConcurrentHashMap<>();
+  private final Map<String, Timer> batchLatencies = new ConcurrentHashMap<>();
 
   /**
    * Creates a DataLoaderRegistry for the specified user ID.
    *
    * <p>This method creates a new DataLoaderRegistry and registers the balance DataLoader
-   * for the given user ID.
+   * for the given user ID, the client DataLoader and the asset DataLoader.
    *
    * @param userId the user ID for which to create the DataLoaderRegistry
-   * @return a DataLoaderRegistry configured with the balance DataLoader
+   * @return a DataLoaderRegistry configured with the balance, client and asset DataLoaders
    */
   public DataLoaderRegistry create(String userId) {
     var registry = new DataLoaderRegistry();
 
     registry.register(BALANCE_DATA_LOADER, createBalanceDataLoader(userId));
+    registry.register(CLIENT_DATA_LOADER, createClientDataLoader());
+    registry.register(ASSET_DATA_LOADER, createAssetDataLoader());
 
     return registry;
   }
@@ -56,17 +83,115 @@ public class DataLoaderRegistryFactory {
    * Creates a DataLoader for fetching balances.
    *
    * <p>This method creates a DataLoader that collects a set of bank account IDs and provides
-   * the set to the balance service, which executes a batch request to fetch the balances.
+   * the set to the shared balance cache, which executes a batch request to the balance service
+   * for the balances it does not hold.
    *
    * @param userId the user ID for which to create the DataLoader
    * @return a DataLoader for fetching balances
    */
   private DataLoader<UUID, BigDecimal> createBalanceDataLoader(String userId) {
 
-    return DataLoader.newMappedDataLoader(
+    return newMappedDataLoader(
+        BALANCE_DATA_LOADER,
+        (Set<UUID> bankAccountIds, BatchLoaderEnvironment environment) ->
+            CompletableFuture.supplyAsync(
+                () -> balanceCache.getBalanceFor(bankAccounts(environment), userId),
+                executorFactory.getExecutor(ExecutorFactory.BALANCE_EXECUTOR)));
+  }
+
+  /**
+   * The key contexts of the balance DataLoader, which is only ever loaded with the bank account of
+   * each ID as its context.
+   */
+  @SuppressWarnings("unchecked")
+  private static Map<UUID, BankAccount> bankAccounts(BatchLoaderEnvironment environment) {
+    return (Map<UUID, BankAccount>) (Map<?, ?>) environment.getKeyContexts();
+  }
+
+  /**
+   * Creates a DataLoader for fetching clients.
+   *
+   * <p>This method creates a DataLoader that collects a set of bank account IDs and provides
+   * the set to the client service, so the clients of a page of bank accounts are fetched in one
+   * batch on the client thread pool.
+   *
+   * @return a DataLoader for fetching clients by bank account ID
+   */
+  private DataLoader<UUID, Client> createClientDataLoader() {
+    return newMappedDataLoader(
+        CLIENT_DATA_LOADER,
         (Set<UUID> bankAccountIds, BatchLoaderEnvironment environment) ->
             CompletableFuture.supplyAsync(
-                () -> balanceService.getBalanceFor((Map) environment.getKeyContexts(), userId),
-                balanceThreadPool));
+                () -> clientService.getClientsFor(bankAccountIds),
+                executorFactory.getExecutor(ExecutorFactory.CLIENT_EXECUTOR)));
+  }
+
+  /**
+   * Creates a DataLoader for fetching pages of assets.
+   *
+   * <p>This method creates a DataLoader that collects the {@link AssetPageRequest}s of all the
+   * bank accounts resolved in the same query and reads them from the asset holdings in one call.
+   * The holdings are an in-memory index, so the batch is read on the dispatching thread.
+   *
+   * @return a DataLoader for fetching asset pages
+   */
+  private DataLoader<AssetPageRequest, AssetPage> createAssetDataLoader() {
+    return newMappedDataLoader(
+        ASSET_DATA_LOADER,
+        (Set<AssetPageRequest> requests, BatchLoaderEnvironment environment) ->
+            CompletableFuture.completedFuture(assetHoldingsRepository.getAssetPages(requests)));
+  }
+
+  /**
+   * Creates a mapped DataLoader that dispatches according to the {@link
+   * DataLoaderProperties.DispatchPolicy} of its name and records its batch sizes and latencies.
+   *
+   * @param name the DataLoader name, as registered
+   * @param batchLoader the batch loader
+   * @return the DataLoader
+   */
+  private <K, V> DataLoader<K, V> newMappedDataLoader(
+      String name, MappedBatchLoaderWithContext<K, V> batchLoader) {
+    var policy = properties.getPolicy(name);
+    var statisticsCollector =
+        new BatchWindowStatisticsCollector(
+            batchSizes.computeIfAbsent(name, this::newBatchSize),
+            policy.getBatchWindow(),
+            executorFactory.getScheduler(ExecutorFactory.DATA_LOADER_DISPATCH_SCHEDULER));
+    var options = DataLoaderOptions.newOptions().setStatisticsCollector(() -> statisticsCollector);
+    if (policy.getMaxBatchSize() > 0) {
+      options.setMaxBatchSize(policy.getMaxBatchSize());
+    }
+
+    var latency = batchLatencies.computeIfAbsent(name, this::newBatchLatency);
+    DataLoader<K, V> dataLoader =
+        DataLoader.newMappedDataLoader(
+            (keys, environment) -> {
+              long start = System.nanoTime();
+              return batchLoader
+                  .load(keys, environment)
+                  .whenComplete(
+                      (values, throwable) ->
+                          latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+            },
+            options);
+    statisticsCollector.bind(dataLoader);
+    return dataLoader;
+  }
+
+  private DistributionSummary newBatchSize(String name) {
+    return DistributionSummary.builder("dataloader.batch.size")
+        .description("The number of keys of each DataLoader batch")
+        .tag("loader", name)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  private Timer newBatchLatency(String name) {
+    return Timer.builder("dataloader.batch.latency")
+        .description("The time each DataLoader batch takes to load")
+        .tag("loader", name)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
   }
 }
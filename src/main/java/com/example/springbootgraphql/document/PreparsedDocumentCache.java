@@ -0,0 +1,82 @@
+package com.example.springbootgraphql.document;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.function.Function;
+import javax.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * PreparsedDocumentCache
+ *
+ * <p>A {@link PreparsedDocumentProvider} keeping the parsed and validated document of each query
+ * text in a bounded cache shared by all requests, so a repeated operation goes straight to
+ * execution. Our traffic is a small set of repeated operations; variables are not part of the key,
+ * since they are neither parsed nor validated with the document.
+ *
+ * <p>Documents with errors are cached as well: parsing and validating the same text against the
+ * same schema fails the same way again. The validation directives of {@link
+ * com.example.springbootgraphql.config.ValidationDirectiveConfig ValidationDirectiveConfig} check
+ * argument values while fetching, so they still run on every request.
+ *
+ * <p>Hit, miss, load and eviction statistics are bound to the Micrometer registry as the {@code
+ * cache.*} meters tagged {@code cache=documents}.
+ */
+@Component
+@RequiredArgsConstructor
+public class PreparsedDocumentCache implements PreparsedDocumentProvider {
+
+  static final String CACHE_NAME = "documents";
+
+  /**
+   * Dependency {@link PreparsedDocumentCacheProperties} injected by {@link RequiredArgsConstructor}.
+   */
+  private final PreparsedDocumentCacheProperties properties;
+
+  /**
+   * Dependency {@link MeterRegistry} injected by {@link RequiredArgsConstructor}.
+   */
+  private final MeterRegistry meterRegistry;
+
+  private Cache<String, PreparsedDocumentEntry> documents;
+
+  /**
+   * <p>The {@code init} method builds the cache and binds its statistics.
+   */
+  @PostConstruct
+  public void init() {
+    documents =
+        Caffeine.newBuilder().maximumSize(properties.getMaximumSize()).recordStats().build();
+    CaffeineCacheMetrics.monitor(meterRegistry, documents, CACHE_NAME);
+  }
+
+  /**
+   * Returns the cached document of the query text, parsing and validating it on a miss. Concurrent
+   * misses of the same text parse it once.
+   *
+   * @param executionInput the execution input holding the query text
+   * @param parseAndValidateFunction parses and validates the query text of an execution input
+   * @return the parsed and validated document, or its errors
+   */
+  @Override
+  public PreparsedDocumentEntry getDocument(
+      ExecutionInput executionInput,
+      Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+    return documents.get(
+        executionInput.getQuery(), query -> parseAndValidateFunction.apply(executionInput));
+  }
+
+  /**
+   * @return a snapshot of the hit, miss, load and eviction statistics
+   */
+  public CacheStats getStats() {
+    return documents.stats();
+  }
+}
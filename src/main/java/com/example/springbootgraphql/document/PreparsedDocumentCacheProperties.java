@@ -0,0 +1,23 @@
+package com.example.springbootgraphql.document;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * PreparsedDocumentCacheProperties
+ *
+ * <p>Binds the {@code bank.document-cache} block of {@code application.yml} that bounds the {@link
+ * PreparsedDocumentCache}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "bank.document-cache")
+public class PreparsedDocumentCacheProperties {
+
+  /**
+   * The maximum number of parsed and validated documents cached, least recently and frequently used
+   * ones being evicted first.
+   */
+  private long maximumSize = 1_000;
+}
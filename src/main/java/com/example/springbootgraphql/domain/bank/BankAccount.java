@@ -11,7 +11,7 @@ import lombok.Value;
  * Represents a bank account.
  *
  * <p>This class is immutable and uses the Builder pattern for object creation.
- * It includes details such as the account ID, client, currency, assets, creation date, and balance.
+ * It includes details such as the account ID, client, currency, creation date, and balance.
  */
 @Builder
 @Value
@@ -31,11 +31,6 @@ public class BankAccount {
    */
   Currency currency;
 
-  /**
-   * The assets associated with the bank account.
-   */
-  Asset assets;
-
   /**
    * The date and time when the bank account was created.
    */
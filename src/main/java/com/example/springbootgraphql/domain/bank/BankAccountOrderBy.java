@@ -0,0 +1,15 @@
+package com.example.springbootgraphql.domain.bank;
+
+/**
+ * Enum representing the orders a connection of bank accounts can be read in.
+ *
+ * <p>This enum includes the following orders:
+ * <ul>
+ *   <li>ID - by the bank account ID</li>
+ *   <li>CREATED_AT - by the creation time, then by the bank account ID</li>
+ * </ul>
+ */
+public enum BankAccountOrderBy {
+  ID,
+  CREATED_AT
+}
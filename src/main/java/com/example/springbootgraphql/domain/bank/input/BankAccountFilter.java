@@ -0,0 +1,30 @@
+package com.example.springbootgraphql.domain.bank.input;
+
+import com.example.springbootgraphql.domain.bank.Currency;
+import java.time.OffsetDateTime;
+import lombok.Data;
+
+/**
+ * BankAccountFilter
+ *
+ * <p>This class represents the filters of the {@code bankAccounts} connection. Every filter is
+ * optional and the given ones must all match.
+ */
+@Data
+public class BankAccountFilter {
+
+  /**
+   * Only bank accounts in this currency.
+   */
+  Currency currency;
+
+  /**
+   * Only bank accounts created after this time, exclusive.
+   */
+  OffsetDateTime createdAfter;
+
+  /**
+   * Only bank accounts created before this time, exclusive.
+   */
+  OffsetDateTime createdBefore;
+}
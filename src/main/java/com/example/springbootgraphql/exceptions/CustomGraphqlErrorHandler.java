@@ -1,9 +1,9 @@
 package com.example.springbootgraphql.exceptions;
 
-import graphql.GraphQLError;
-import graphql.kickstart.execution.error.GraphQLErrorHandler;
-import java.util.List;
-import org.springframework.stereotype.Component;
+// import graphql.GraphQLError;
+// import graphql.kickstart.execution.error.GraphQLErrorHandler;
+// import java.util.List;
+// import org.springframework.stereotype.Component;
 
 /**
  * CustomGraphqlErrorHandler
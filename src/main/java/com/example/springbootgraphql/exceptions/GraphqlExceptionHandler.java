@@ -1,6 +1,8 @@
 package com.example.springbootgraphql.exceptions;
 
+import graphql.GraphQLError;
 import graphql.GraphQLException;
+import graphql.execution.AbortExecutionException;
 import graphql.kickstart.spring.error.ThrowableGraphQLError;
 import javax.validation.ConstraintViolationException;
 import org.springframework.http.HttpStatus;
@@ -30,6 +32,17 @@ public class GraphqlExceptionHandler {
     return new ThrowableGraphQLError(e);
   }
 
+  /**
+   * Handles {@link AbortExecutionException}, e.g. of an operation costing too much.
+   *
+   * @param e the exception to handle
+   * @return the exception itself, which is a {@link GraphQLError} already, so its extensions are kept
+   */
+  @ExceptionHandler(AbortExecutionException.class)
+  public GraphQLError handle(AbortExecutionException e) {
+    return e;
+  }
+
   /**
    * Handles  {@link AccessDeniedException}.
    *
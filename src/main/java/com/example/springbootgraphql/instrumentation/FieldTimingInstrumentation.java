@@ -0,0 +1,128 @@
+package com.example.springbootgraphql.instrumentation;
+
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.GraphQLNamedType;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * FieldTimingInstrumentation
+ *
+ * <p>Records the latency of every resolver into a {@link LatencyHistogram} per field coordinates,
+ * e.g. {@code BankAccount.balance} or {@code BankAccount.client}. The latency runs from the call of
+ * the data fetcher until its value completes, so a field resolved through a DataLoader includes the
+ * time its batch waited to be dispatched.
+ *
+ * <p>This is always on, unlike the {@link SampledTracingInstrumentation}: recording is a lookup in
+ * two {@link ConcurrentHashMap}s and an atomic increment, without allocating per field. Fields read
+ * straight off their parent object are skipped unless {@link
+ * FieldTimingProperties#isIncludeTrivialFields()}.
+ *
+ * <p>Each histogram is published as the {@code graphql.field.latency} timer and its {@code
+ * graphql.field.latency.percentile} gauges, tagged with the {@code field} coordinates.
+ */
+@Component
+@RequiredArgsConstructor
+public class FieldTimingInstrumentation extends SimpleInstrumentation {
+
+  private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+  /**
+   * Dependency {@link FieldTimingProperties} injected by {@link RequiredArgsConstructor}.
+   */
+  private final FieldTimingProperties properties;
+
+  /**
+   * Dependency {@link MeterRegistry} injected by {@link RequiredArgsConstructor}.
+   */
+  private final MeterRegistry meterRegistry;
+
+  /** Histograms by parent type name, then field name. */
+  private final Map<String, Map<String, LatencyHistogram>> histograms = new ConcurrentHashMap<>();
+
+  @Override
+  public InstrumentationContext<Object> beginFieldFetch(
+      InstrumentationFieldFetchParameters parameters) {
+    if (!properties.isEnabled()
+        || (parameters.isTrivialDataFetcher() && !properties.isIncludeTrivialFields())) {
+      return super.beginFieldFetch(parameters);
+    }
+
+    var histogram =
+        histogram(
+            ((GraphQLNamedType) parameters.getEnvironment().getParentType()).getName(),
+            parameters.getField().getName());
+    var start = System.nanoTime();
+    return SimpleInstrumentationContext.whenCompleted(
+        (value, throwable) -> histogram.record(System.nanoTime() - start));
+  }
+
+  /**
+   * <p>The {@code getLatencies} method summarizes the recorded latencies.
+   *
+   * @return the {@code p50}, {@code p95} and {@code p99} latencies in nanoseconds and the {@code
+   *     count} of every field coordinates recorded so far, sorted by coordinates
+   */
+  public Map<String, Map<String, Long>> getLatencies() {
+    var latencies = new TreeMap<String, Map<String, Long>>();
+    histograms.forEach(
+        (type, fields) ->
+            fields.forEach(
+                (field, histogram) ->
+                    latencies.put(
+                        type + "." + field,
+                        Map.of(
+                            "count", histogram.count(),
+                            "p50", histogram.percentileNanos(0.5),
+                            "p95", histogram.percentileNanos(0.95),
+                            "p99", histogram.percentileNanos(0.99)))));
+    return latencies;
+  }
+
+  private LatencyHistogram histogram(String type, String field) {
+    var fields = histograms.get(type);
+    if (fields == null) {
+      fields = histograms.computeIfAbsent(type, newType -> new ConcurrentHashMap<>());
+    }
+    var histogram = fields.get(field);
+    if (histogram == null) {
+      histogram = fields.computeIfAbsent(field, newField -> register(type + "." + newField));
+    }
+    return histogram;
+  }
+
+  private LatencyHistogram register(String coordinates) {
+    var histogram = new LatencyHistogram();
+    FunctionTimer.builder(
+            "graphql.field.latency",
+            histogram,
+            LatencyHistogram::count,
+            LatencyHistogram::totalNanos,
+            TimeUnit.NANOSECONDS)
+        .description("The latency of the resolver of a field")
+        .tag("field", coordinates)
+        .register(meterRegistry);
+    for (var percentile : PERCENTILES) {
+      TimeGauge.builder(
+              "graphql.field.latency.percentile",
+              histogram,
+              TimeUnit.NANOSECONDS,
+              h -> h.percentileNanos(percentile))
+          .description("A percentile of the latency of the resolver of a field")
+          .tag("field", coordinates)
+          .tag("phi", String.valueOf(percentile))
+          .register(meterRegistry);
+    }
+    return histogram;
+  }
+}
@@ -0,0 +1,28 @@
+package com.example.springbootgraphql.instrumentation;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * FieldTimingProperties
+ *
+ * <p>Binds the {@code bank.field-timing} block of {@code application.yml} that controls the
+ * resolver latency histograms, see {@link FieldTimingInstrumentation}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "bank.field-timing")
+public class FieldTimingProperties {
+
+  /**
+   * Whether the latency of the resolvers is recorded.
+   */
+  private boolean enabled = true;
+
+  /**
+   * Whether fields read straight off their parent object, e.g. {@code BankAccount.id}, are recorded
+   * as well. They take nanoseconds and outnumber the resolved fields by far.
+   */
+  private boolean includeTrivialFields = false;
+}
@@ -0,0 +1,83 @@
+package com.example.springbootgraphql.instrumentation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyHistogram
+ *
+ * <p>A lock-free histogram of latencies in nanoseconds with log-linear buckets: every power of two
+ * is split into {@link #SUB_BUCKETS} buckets, each a quarter of the power of two wide. A percentile
+ * reports the upper bound of its bucket, so it overstates the recorded value by less than 25%, the
+ * worst case being a value at the low edge of a power of two, in any range from nanoseconds to
+ * hours. Recording is one {@link AtomicLongArray#incrementAndGet(int) increment} of its bucket plus
+ * two {@link LongAdder}s; reading a percentile walks the {@link #BUCKETS} counters, which is meant
+ * for scrapes, not the hot path.
+ */
+final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 2;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+  /** Enough buckets for any positive long. */
+  private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder totalNanos = new LongAdder();
+
+  void record(long nanos) {
+    var value = Math.max(0, nanos);
+    counts.incrementAndGet(bucketOf(value));
+    count.increment();
+    totalNanos.add(value);
+  }
+
+  long count() {
+    return count.sum();
+  }
+
+  long totalNanos() {
+    return totalNanos.sum();
+  }
+
+  /**
+   * @param quantile between 0 and 1
+   * @return the upper bound of the bucket holding the given quantile, 0 if nothing was recorded
+   */
+  long percentileNanos(double quantile) {
+    var total = 0L;
+    var snapshot = new long[BUCKETS];
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      snapshot[bucket] = counts.get(bucket);
+      total += snapshot[bucket];
+    }
+    var rank = (long) Math.ceil(quantile * total);
+    var seen = 0L;
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      seen += snapshot[bucket];
+      if (seen > 0 && seen >= rank) {
+        return bucket + 1 < BUCKETS ? lowerBoundOf(bucket + 1) - 1 : Long.MAX_VALUE;
+      }
+    }
+    return 0;
+  }
+
+  static int bucketOf(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int highestBit = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+    int subBucket = (int) (value >>> (highestBit - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return (highestBit - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  static long lowerBoundOf(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int highestBit = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+    long subBucket = bucket % SUB_BUCKETS;
+    return (SUB_BUCKETS + subBucket) << (highestBit - SUB_BUCKET_BITS);
+  }
+}
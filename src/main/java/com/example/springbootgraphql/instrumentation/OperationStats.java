@@ -0,0 +1,64 @@
+package com.example.springbootgraphql.instrumentation;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Value;
+
+/**
+ * OperationStats
+ *
+ * <p>The call count, error count and latency histogram of every operation sharing one fingerprint,
+ * see {@link QueryFingerprintInstrumentation}. Recording does not lock.
+ */
+final class OperationStats {
+
+  private final QueryFingerprint fingerprint;
+  private final LongAdder errors = new LongAdder();
+  private final LatencyHistogram latency = new LatencyHistogram();
+
+  OperationStats(QueryFingerprint fingerprint) {
+    this.fingerprint = fingerprint;
+  }
+
+  void record(long durationNanos, boolean failed) {
+    latency.record(durationNanos);
+    if (failed) {
+      errors.increment();
+    }
+  }
+
+  Summary summarize() {
+    var calls = latency.count();
+    return new Summary(
+        fingerprint.getHash(),
+        fingerprint.getOperationName(),
+        fingerprint.getSignature(),
+        calls,
+        errors.sum(),
+        calls == 0 ? 0 : millis(latency.totalNanos() / calls),
+        millis(latency.percentileNanos(0.5)),
+        millis(latency.percentileNanos(0.95)),
+        millis(latency.percentileNanos(0.99)));
+  }
+
+  private static double millis(long nanos) {
+    return TimeUnit.NANOSECONDS.toMicros(nanos) / 1000.0;
+  }
+
+  /**
+   * The statistics of one fingerprint as listed by the {@link QueryFingerprintEndpoint}, latencies
+   * in milliseconds. The percentiles are the upper bounds of their {@link LatencyHistogram} bucket.
+   */
+  @Value
+  public static class Summary {
+    String fingerprint;
+    String operationName;
+    String signature;
+    long calls;
+    long errors;
+    double meanMs;
+    double p50Ms;
+    double p95Ms;
+    double p99Ms;
+  }
+}
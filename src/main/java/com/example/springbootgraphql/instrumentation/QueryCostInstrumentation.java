@@ -0,0 +1,185 @@
+package com.example.springbootgraphql.instrumentation;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * QueryCostInstrumentation
+ *
+ * <p>Computes the static cost of an operation before any resolver runs and rejects the operation
+ * if it exceeds the {@link QueryCostProperties#getMaximumCost() maximum cost}. The depth limit
+ * alone lets a shallow query fan out, e.g. {@code bankAccounts(first: 100000) { edges { node {
+ * client { id } balance } } }}.
+ *
+ * <p>The cost of a field is its own {@link QueryCostProperties#getFieldCost(String) cost} plus the
+ * cost of its selections, multiplied by its {@code first} or {@code last} argument for a paged
+ * connection. The cost of an operation is the sum of the costs of its root fields. Arguments are
+ * resolved with the variables and defaults of the request, so {@code assets} counts its default
+ * page size, also for an explicit {@code first: null}.
+ *
+ * <p>The cost is computed in {@code instrumentExecutionContext} rather than during validation,
+ * which the {@link com.example.springbootgraphql.document.PreparsedDocumentCache
+ * PreparsedDocumentCache} skips for cached documents, and depends on the variables anyway. It is
+ * reported in the {@code cost} extension of the response, or of the error of a rejected operation.
+ * A rejected operation is answered by a {@link RejectedExecutionStrategy}, so it is still logged
+ * and fingerprinted. Ordered first, so the other instrumentations see the rejection.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryCostInstrumentation extends SimpleInstrumentation {
+
+  /**
+   * Dependency {@link QueryCostProperties} injected by {@link RequiredArgsConstructor}.
+   */
+  private final QueryCostProperties properties;
+
+  @Override
+  public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+    return new QueryCostState();
+  }
+
+  @Override
+  public ExecutionContext instrumentExecutionContext(
+      ExecutionContext executionContext, InstrumentationExecutionParameters parameters) {
+    var cost =
+        computeCost(
+            QueryTraverser.newQueryTraverser()
+                .schema(executionContext.getGraphQLSchema())
+                .document(executionContext.getDocument())
+                .operationName(executionContext.getOperationDefinition().getName())
+                .variables(executionContext.getVariables())
+                .build());
+
+    if (properties.isEnabled() && cost > properties.getMaximumCost()) {
+      log.warn("Rejecting operation costing {} of at most {}", cost, properties.getMaximumCost());
+      return RejectedExecutionStrategy.reject(
+          executionContext, new QueryCostExceededException(costExtension(cost)));
+    }
+    QueryCostState state = parameters.getInstrumentationState();
+    state.cost = cost;
+    return executionContext;
+  }
+
+  @Override
+  public CompletableFuture<ExecutionResult> instrumentExecutionResult(
+      ExecutionResult executionResult, InstrumentationExecutionParameters parameters) {
+    QueryCostState state = parameters.getInstrumentationState();
+    if (state.cost < 0) {
+      return CompletableFuture.completedFuture(executionResult);
+    }
+    return CompletableFuture.completedFuture(
+        ExecutionResultImpl.newExecutionResult()
+            .from(executionResult)
+            .addExtension("cost", costExtension(state.cost))
+            .build());
+  }
+
+  /**
+   * Sums the costs of the fields bottom-up: each field adds its cost to the one of its parent, the
+   * root fields to the {@code null} parent.
+   */
+  private long computeCost(QueryTraverser queryTraverser) {
+    var selectionCosts = new HashMap<QueryVisitorFieldEnvironment, Long>();
+    queryTraverser.visitPostOrder(
+        new QueryVisitorStub() {
+          @Override
+          public void visitField(QueryVisitorFieldEnvironment environment) {
+            if (environment.isTypeNameIntrospectionField()) {
+              return;
+            }
+            var coordinates =
+                environment.getFieldsContainer().getName() + "." + environment.getField().getName();
+            var cost =
+                saturatedMultiply(
+                    saturatedAdd(
+                        properties.getFieldCost(coordinates),
+                        selectionCosts.getOrDefault(environment, 0L)),
+                    pageSize(environment));
+            selectionCosts.merge(
+                environment.getParentEnvironment(), cost, QueryCostInstrumentation::saturatedAdd);
+          }
+        });
+    return selectionCosts.getOrDefault(null, 0L);
+  }
+
+  private static long pageSize(QueryVisitorFieldEnvironment environment) {
+    var pageSize = argument(environment, "first");
+    if (pageSize == null) {
+      pageSize = argument(environment, "last");
+    }
+    return pageSize instanceof Number ? Math.max(((Number) pageSize).longValue(), 1) : 1;
+  }
+
+  /** An explicit {@code null} counts as the argument's default, like the resolvers treat it. */
+  private static Object argument(QueryVisitorFieldEnvironment environment, String name) {
+    var value = environment.getArguments().get(name);
+    if (value == null) {
+      var argument = environment.getFieldDefinition().getArgument(name);
+      return argument == null ? null : argument.getDefaultValue();
+    }
+    return value;
+  }
+
+  private Map<String, Object> costExtension(long cost) {
+    var extension = new LinkedHashMap<String, Object>();
+    extension.put("requested", cost);
+    extension.put("maximum", properties.getMaximumCost());
+    return extension;
+  }
+
+  /** Costs are non-negative and saturate rather than overflow, e.g. for nested huge pages. */
+  private static long saturatedAdd(long a, long b) {
+    var sum = a + b;
+    return sum < 0 ? Long.MAX_VALUE : sum;
+  }
+
+  private static long saturatedMultiply(long a, long b) {
+    return b != 0 && a > Long.MAX_VALUE / b ? Long.MAX_VALUE : a * b;
+  }
+
+  /** The cost of one execution, {@code -1} until its operation is admitted. */
+  private static class QueryCostState implements InstrumentationState {
+    private long cost = -1;
+  }
+
+  /** Rejects an operation costing too much, reporting its cost in the error extensions. */
+  private static class QueryCostExceededException extends AbortExecutionException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Map<String, Object> extensions;
+
+    QueryCostExceededException(Map<String, Object> cost) {
+      super(
+          String.format(
+              "Operation costs %s, more than the maximum of %s",
+              cost.get("requested"), cost.get("maximum")));
+      this.extensions = Map.of("cost", cost);
+    }
+
+    @Override
+    public Map<String, Object> getExtensions() {
+      return extensions;
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package com.example.springbootgraphql.instrumentation;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * QueryCostProperties
+ *
+ * <p>Binds the {@code bank.query-cost} block of {@code application.yml} that weights fields and
+ * bounds the cost of an operation, see {@link QueryCostInstrumentation}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "bank.query-cost")
+public class QueryCostProperties {
+
+  /**
+   * Whether operations costing more than the {@code maximumCost} are rejected. The cost is computed
+   * and reported either way.
+   */
+  private boolean enabled = true;
+
+  /**
+   * The most an operation may cost.
+   */
+  private long maximumCost = 10_000;
+
+  /**
+   * The cost of a field without a cost of its own.
+   */
+  private long defaultFieldCost = 1;
+
+  /**
+   * The costs of fields by their {@code Type.field} coordinates, typically the ones resolved through
+   * a DataLoader or an executor.
+   */
+  private Map<String, Long> fieldCosts = new HashMap<>();
+
+  /**
+   * @param coordinates the {@code Type.field} coordinates of a field
+   * @return the cost of the field
+   */
+  public long getFieldCost(String coordinates) {
+    return fieldCosts.getOrDefault(coordinates, defaultFieldCost);
+  }
+}
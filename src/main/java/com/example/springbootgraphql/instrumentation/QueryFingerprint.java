@@ -0,0 +1,45 @@
+package com.example.springbootgraphql.instrumentation;
+
+import graphql.language.AstPrinter;
+import graphql.language.AstSignature;
+import graphql.language.Document;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import lombok.Value;
+
+/**
+ * QueryFingerprint
+ *
+ * <p>Identifies the shape of an operation regardless of how a client wrote it. The {@link
+ * AstSignature} of the operation drops the other operations of the document and aliases, renames
+ * the variables, replaces every literal argument value with a placeholder and sorts fields and
+ * arguments; the fingerprint is the SHA-256 hash of its compact printed form. Operations differing
+ * only in their variable names or values, inline argument values, aliases or formatting share a
+ * fingerprint. Passing an argument inline rather than as a variable is a different shape.
+ */
+@Value
+class QueryFingerprint {
+  String hash;
+  String operationName;
+
+  /** The normalized operation, as printed compactly. */
+  String signature;
+
+  static QueryFingerprint of(Document document, String operationName) {
+    var signature =
+        AstPrinter.printAstCompact(new AstSignature().signatureQuery(document, operationName));
+    return new QueryFingerprint(sha256Hex(signature), operationName, signature);
+  }
+
+  private static String sha256Hex(String text) {
+    try {
+      return HexFormat.of()
+          .formatHex(
+              MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
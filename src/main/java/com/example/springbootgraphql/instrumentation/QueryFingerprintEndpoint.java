@@ -0,0 +1,45 @@
+package com.example.springbootgraphql.instrumentation;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * QueryFingerprintEndpoint
+ *
+ * <p>The {@code graphqloperations} actuator endpoint, e.g. {@code GET
+ * /actuator/graphqloperations?limit=20}, lists the slowest operation shapes recorded by the {@link
+ * QueryFingerprintInstrumentation}: their fingerprint, normalized signature, call and error counts
+ * and mean, p50, p95 and p99 latencies.
+ */
+@Component
+@Endpoint(id = "graphqloperations")
+@RequiredArgsConstructor
+public class QueryFingerprintEndpoint {
+
+  /**
+   * Dependency {@link QueryFingerprintInstrumentation} injected by {@link RequiredArgsConstructor}.
+   */
+  private final QueryFingerprintInstrumentation instrumentation;
+
+  /**
+   * Dependency {@link QueryFingerprintProperties} injected by {@link RequiredArgsConstructor}.
+   */
+  private final QueryFingerprintProperties properties;
+
+  /**
+   * <p>The {@code slowestOperations} method lists the slowest fingerprints by p99 latency.
+   *
+   * @param limit the number of fingerprints to list, {@link
+   *     QueryFingerprintProperties#getDefaultLimit()} if absent
+   * @return the statistics of the slowest fingerprints
+   */
+  @ReadOperation
+  public List<OperationStats.Summary> slowestOperations(@Nullable Integer limit) {
+    return instrumentation.getSlowestOperations(
+        limit != null ? limit : properties.getDefaultLimit());
+  }
+}
@@ -0,0 +1,119 @@
+package com.example.springbootgraphql.instrumentation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.language.OperationDefinition;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * QueryFingerprintInstrumentation
+ *
+ * <p>Aggregates the call count, error count and latency histogram of the executed operations per
+ * {@link QueryFingerprint}, so the operation shapes eating the latency budget show up however
+ * their clients write them. The slowest are listed by the {@link QueryFingerprintEndpoint}.
+ *
+ * <p>Like the {@link RequestLoggingInstrumentation}, the latency runs from {@code beginExecution}
+ * until its {@code whenCompleted} callback. The fingerprint is taken in between, in {@code
+ * beginExecuteOperation}, once the document is parsed and validated, and kept in the state of the
+ * operation; operations failing before, e.g. on a syntax error, are not counted.
+ *
+ * <p>Fingerprints are cached by {@link OperationDefinition} identity: the {@link
+ * com.example.springbootgraphql.document.PreparsedDocumentCache PreparsedDocumentCache} hands out
+ * the same document for the same query text, so the signature of a cached query is computed only
+ * once.
+ */
+@Component
+@RequiredArgsConstructor
+public class QueryFingerprintInstrumentation extends SimpleInstrumentation {
+
+  /**
+   * Dependency {@link QueryFingerprintProperties} injected by {@link RequiredArgsConstructor}.
+   */
+  private final QueryFingerprintProperties properties;
+
+  private Cache<OperationDefinition, QueryFingerprint> fingerprints;
+  private Cache<String, OperationStats> stats;
+
+  /**
+   * <p>The {@code init} method builds the fingerprint and statistics caches.
+   */
+  @PostConstruct
+  public void init() {
+    fingerprints =
+        Caffeine.newBuilder().weakKeys().maximumSize(properties.getMaximumFingerprints()).build();
+    stats = Caffeine.newBuilder().maximumSize(properties.getMaximumFingerprints()).build();
+  }
+
+  @Override
+  public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+    return properties.isEnabled() ? new FingerprintState() : super.createState(parameters);
+  }
+
+  @Override
+  public InstrumentationContext<ExecutionResult> beginExecution(
+      InstrumentationExecutionParameters parameters) {
+    if (!(parameters.getInstrumentationState() instanceof FingerprintState)) {
+      return super.beginExecution(parameters);
+    }
+
+    FingerprintState state = parameters.getInstrumentationState();
+    var start = System.nanoTime();
+    return SimpleInstrumentationContext.whenCompleted(
+        (executionResult, throwable) -> {
+          var fingerprint = state.fingerprint;
+          if (fingerprint != null) {
+            stats
+                .get(fingerprint.getHash(), hash -> new OperationStats(fingerprint))
+                .record(
+                    System.nanoTime() - start,
+                    throwable != null || !executionResult.getErrors().isEmpty());
+          }
+        });
+  }
+
+  @Override
+  public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+      InstrumentationExecuteOperationParameters parameters) {
+    if (parameters.getInstrumentationState() instanceof FingerprintState) {
+      var document = parameters.getExecutionContext().getDocument();
+      FingerprintState state = parameters.getInstrumentationState();
+      state.fingerprint =
+          fingerprints.get(
+              parameters.getExecutionContext().getOperationDefinition(),
+              operation -> QueryFingerprint.of(document, operation.getName()));
+    }
+    return super.beginExecuteOperation(parameters);
+  }
+
+  /**
+   * <p>The {@code getSlowestOperations} method lists the fingerprints by descending p99 latency.
+   *
+   * @param limit the number of fingerprints to list
+   * @return the statistics of the {@code limit} slowest fingerprints
+   */
+  public List<OperationStats.Summary> getSlowestOperations(int limit) {
+    return stats.asMap().values().stream()
+        .map(OperationStats::summarize)
+        .sorted(Comparator.comparingDouble(OperationStats.Summary::getP99Ms).reversed())
+        .limit(Math.max(0, limit))
+        .collect(Collectors.toList());
+  }
+
+  /** The fingerprint of an operation, once it is known. */
+  private static class FingerprintState implements InstrumentationState {
+    private volatile QueryFingerprint fingerprint;
+  }
+}
@@ -0,0 +1,33 @@
+package com.example.springbootgraphql.instrumentation;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * QueryFingerprintProperties
+ *
+ * <p>Binds the {@code bank.query-fingerprint} block of {@code application.yml} that controls the
+ * statistics kept per operation shape, see {@link QueryFingerprintInstrumentation}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "bank.query-fingerprint")
+public class QueryFingerprintProperties {
+
+  /**
+   * Whether statistics are kept per fingerprint.
+   */
+  private boolean enabled = true;
+
+  /**
+   * The number of fingerprints with statistics. Beyond that the least recently executed ones are
+   * evicted, so clients sending ever new shapes cannot exhaust the memory.
+   */
+  private long maximumFingerprints = 1000;
+
+  /**
+   * The number of fingerprints the {@code graphqloperations} actuator endpoint lists by default.
+   */
+  private int defaultLimit = 10;
+}
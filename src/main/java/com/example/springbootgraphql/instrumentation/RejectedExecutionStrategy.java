@@ -0,0 +1,57 @@
+package com.example.springbootgraphql.instrumentation;
+
+import graphql.ExecutionResult;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.ExecutionStrategy;
+import graphql.execution.ExecutionStrategyParameters;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * RejectedExecutionStrategy
+ *
+ * <p>Answers an operation rejected by an instrumentation with its error, without running any
+ * resolver. graphql-java 16.1 returns the result of an {@link AbortExecutionException} thrown
+ * before the execution starts without completing a single instrumentation, so the operation would
+ * be missing from the request log and the fingerprint statistics and keep its MDC. Swapping the
+ * strategies of the {@link ExecutionContext} in {@code instrumentExecutionContext} instead lets the
+ * rejected operation complete like any other, with the same response as the abort.
+ */
+final class RejectedExecutionStrategy extends ExecutionStrategy {
+
+  private final AbortExecutionException rejection;
+
+  private RejectedExecutionStrategy(AbortExecutionException rejection) {
+    this.rejection = rejection;
+  }
+
+  /**
+   * @param executionContext the context of the operation
+   * @param rejection the error answering the operation
+   * @return the context executing every kind of operation as rejected
+   */
+  static ExecutionContext reject(
+      ExecutionContext executionContext, AbortExecutionException rejection) {
+    var strategy = new RejectedExecutionStrategy(rejection);
+    return executionContext.transform(
+        builder ->
+            builder
+                .queryStrategy(strategy)
+                .mutationStrategy(strategy)
+                .subscriptionStrategy(strategy));
+  }
+
+  /**
+   * @param executionContext the context of the operation
+   * @return {@code true} if an instrumentation rejected the operation already
+   */
+  static boolean isRejected(ExecutionContext executionContext) {
+    return executionContext.getQueryStrategy() instanceof RejectedExecutionStrategy;
+  }
+
+  @Override
+  public CompletableFuture<ExecutionResult> execute(
+      ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+    return CompletableFuture.completedFuture(rejection.toExecutionResult());
+  }
+}
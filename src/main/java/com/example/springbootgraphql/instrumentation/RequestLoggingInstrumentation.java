@@ -1,5 +1,8 @@
 package com.example.springbootgraphql.instrumentation;
 
+import com.example.springbootgraphql.context.CustomGraphQLContext;
+import com.example.springbootgraphql.requestlog.RequestLogEntry;
+import com.example.springbootgraphql.requestlog.RequestLogWriter;
 import graphql.ExecutionResult;
 import graphql.execution.instrumentation.InstrumentationContext;
 import graphql.execution.instrumentation.SimpleInstrumentation;
@@ -8,6 +11,7 @@ import graphql.execution.instrumentation.parameters.InstrumentationExecutionPara
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
@@ -17,6 +21,10 @@ import org.springframework.stereotype.Component;
  * RequestLoggingInstrumentation extends {@link SimpleInstrumentation} to allow us to look at the
  * query coming in and add any custom piece of code at various times
  *
+ * <p>The query is only logged at debug level on the request thread. Once the operation completes,
+ * a sample of the operations, every failed or slow one included, is handed over to the {@link
+ * RequestLogWriter} that writes the request log from a background thread.
+ *
  * @see graphql.execution.instrumentation.Instrumentation Instrumentation
  * @see org.springframework.boot.logging.logback default.xml, console-appender
  */
@@ -27,6 +35,7 @@ public class RequestLoggingInstrumentation extends SimpleInstrumentation {
 
   public static String CORRELATION_ID = "correlation_id";
   private final Clock clock;
+  private final RequestLogWriter requestLogWriter;
 
   /**
    * This is called right at the start of query execution and is the first step in the
@@ -41,7 +50,8 @@ public class RequestLoggingInstrumentation extends SimpleInstrumentation {
       InstrumentationExecutionParameters parameters) {
 
     /** 1: Logs the start time. */
-    var start = Instant.now(clock);
+    var timestamp = Instant.now(clock);
+    var start = System.nanoTime();
 
     /**
      * 2a: Get the unique {@code id} that will be or was used to execute this operation via an
@@ -63,19 +73,49 @@ public class RequestLoggingInstrumentation extends SimpleInstrumentation {
      * <p>Thus we are using the executionID because it is assigned from the graphql server.
      * Otherwise, you can take it from the request header!
      */
-    MDC.put(CORRELATION_ID, parameters.getExecutionInput().getExecutionId().toString());
+    var correlationId = parameters.getExecutionInput().getExecutionId().toString();
+    MDC.put(CORRELATION_ID, correlationId);
 
-    /** 3: Log the full query */
-    log.info("Query: {} with variables: {}", parameters.getQuery(), parameters.getVariables());
+    /** 3: Log the full query, or only the hash of a persisted query */
+    var persistedQueryHash = persistedQueryHash(parameters);
+    if (log.isDebugEnabled()) {
+      log.debug(
+          "Query: {} with variables: {}",
+          persistedQueryHash != null ? persistedQueryHash : parameters.getQuery(),
+          parameters.getVariables());
+    }
 
     return SimpleInstrumentationContext.whenCompleted(
         (executionResult, throwable) -> {
-          var duration = Duration.between(start, Instant.now(clock));
+          var durationNanos = System.nanoTime() - start;
+          var errorCount = executionResult != null ? executionResult.getErrors().size() : 0;
           if (throwable == null) {
-            log.info("Completed successfully in: {}", duration);
+            log.debug("Completed successfully in: {}", Duration.ofNanos(durationNanos));
           } else {
-            log.warn("Failed in {}", duration, throwable);
+            log.debug("Failed in {}", Duration.ofNanos(durationNanos), throwable);
+          }
+
+          /**
+           * 4: Hand the sampled operations over to the request log, which writes them off-thread.
+           * Failed operations are always sampled, so their failure is reported there rather than by
+           * a stack trace written on the request thread.
+           */
+          if (requestLogWriter.isSampled(durationNanos, throwable != null || errorCount > 0)) {
+            requestLogWriter.submit(
+                RequestLogEntry.builder()
+                    .timestamp(timestamp)
+                    .correlationId(correlationId)
+                    .userId(userIdOf(parameters))
+                    .operationName(parameters.getOperation())
+                    .query(persistedQueryHash == null ? parameters.getQuery() : null)
+                    .persistedQueryHash(persistedQueryHash)
+                    .variables(parameters.getVariables())
+                    .durationNanos(durationNanos)
+                    .errorCount(errorCount)
+                    .failure(throwable != null ? throwable.toString() : null)
+                    .build());
           }
+
           /**
            * If we have async resolvers, this callback can occur in the thread-pool and not the NIO
            * thread. In that case, the `LoggingListener` will be used as a fallback to clear the NIO
@@ -84,4 +124,18 @@ public class RequestLoggingInstrumentation extends SimpleInstrumentation {
           MDC.clear();
         });
   }
+
+  private static String persistedQueryHash(InstrumentationExecutionParameters parameters) {
+    var persistedQuery = parameters.getExecutionInput().getExtensions().get("persistedQuery");
+    return persistedQuery instanceof Map
+        ? String.valueOf(((Map<?, ?>) persistedQuery).get("sha256Hash"))
+        : null;
+  }
+
+  private static String userIdOf(InstrumentationExecutionParameters parameters) {
+    var context = parameters.getExecutionInput().getContext();
+    return context instanceof CustomGraphQLContext
+        ? ((CustomGraphQLContext) context).getUserId()
+        : null;
+  }
 }
@@ -0,0 +1,115 @@
+package com.example.springbootgraphql.instrumentation;
+
+import com.example.springbootgraphql.context.CustomGraphQLContext;
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationValidationParameters;
+import graphql.execution.instrumentation.tracing.TracingInstrumentation;
+import graphql.execution.instrumentation.tracing.TracingSupport;
+import graphql.language.Document;
+import graphql.validation.ValidationError;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * SampledTracingInstrumentation
+ *
+ * <p>Attaches the full Apollo tracing of graphql-java's {@link TracingInstrumentation} to the
+ * {@code tracing} extension of a response only for some operations, instead of the {@code
+ * graphql.servlet.tracing-enabled} one tracing every operation, which allocates a record per field
+ * and roughly doubles the payload. An operation is traced when:
+ *
+ * <ul>
+ *   <li>it falls into the {@link TracingProperties#getSampleRate()} sample, or
+ *   <li>its request carries the {@link CustomGraphQLContext#TRACE_HEADER} header set to {@code
+ *       true}, unless {@link TracingProperties#isHeaderEnabled()} is off
+ * </ul>
+ *
+ * <p>The decision is taken once per operation in {@link
+ * #createState(InstrumentationCreateStateParameters)}: a traced one gets the {@link TracingSupport}
+ * state of the delegate, every other step of an untraced one is a no-op. The latency of every
+ * resolver is recorded regardless by the {@link FieldTimingInstrumentation}.
+ */
+@Component
+@RequiredArgsConstructor
+public class SampledTracingInstrumentation extends SimpleInstrumentation {
+
+  /**
+   * Dependency {@link TracingProperties} injected by {@link RequiredArgsConstructor}.
+   */
+  private final TracingProperties properties;
+
+  private TracingInstrumentation delegate;
+
+  /**
+   * <p>The {@code init} method creates the delegate {@link TracingInstrumentation}.
+   */
+  @PostConstruct
+  public void init() {
+    delegate =
+        new TracingInstrumentation(
+            TracingInstrumentation.Options.newOptions()
+                .includeTrivialDataFetchers(properties.isIncludeTrivialFields()));
+  }
+
+  @Override
+  public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+    return shouldTrace(parameters.getExecutionInput().getContext())
+        ? delegate.createState()
+        : super.createState(parameters);
+  }
+
+  @Override
+  public CompletableFuture<ExecutionResult> instrumentExecutionResult(
+      ExecutionResult executionResult, InstrumentationExecutionParameters parameters) {
+    return isTraced(parameters.getInstrumentationState())
+        ? delegate.instrumentExecutionResult(executionResult, parameters)
+        : super.instrumentExecutionResult(executionResult, parameters);
+  }
+
+  @Override
+  public InstrumentationContext<Document> beginParse(
+      InstrumentationExecutionParameters parameters) {
+    return isTraced(parameters.getInstrumentationState())
+        ? delegate.beginParse(parameters)
+        : super.beginParse(parameters);
+  }
+
+  @Override
+  public InstrumentationContext<List<ValidationError>> beginValidation(
+      InstrumentationValidationParameters parameters) {
+    return isTraced(parameters.getInstrumentationState())
+        ? delegate.beginValidation(parameters)
+        : super.beginValidation(parameters);
+  }
+
+  @Override
+  public InstrumentationContext<Object> beginFieldFetch(
+      InstrumentationFieldFetchParameters parameters) {
+    return isTraced(parameters.getInstrumentationState())
+        ? delegate.beginFieldFetch(parameters)
+        : super.beginFieldFetch(parameters);
+  }
+
+  private boolean shouldTrace(Object context) {
+    if (properties.isHeaderEnabled()
+        && context instanceof CustomGraphQLContext
+        && ((CustomGraphQLContext) context).isTraceRequested()) {
+      return true;
+    }
+    return ThreadLocalRandom.current().nextDouble() < properties.getSampleRate();
+  }
+
+  private static boolean isTraced(InstrumentationState state) {
+    return state instanceof TracingSupport;
+  }
+}
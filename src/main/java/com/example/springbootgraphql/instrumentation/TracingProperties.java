@@ -0,0 +1,33 @@
+package com.example.springbootgraphql.instrumentation;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * TracingProperties
+ *
+ * <p>Binds the {@code bank.tracing} block of {@code application.yml} that selects the operations
+ * whose response carries the full Apollo tracing, see {@link SampledTracingInstrumentation}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "bank.tracing")
+public class TracingProperties {
+
+  /**
+   * The fraction of operations traced, between 0 and 1.
+   */
+  private double sampleRate = 0.01;
+
+  /**
+   * Whether a client may ask for the tracing of an operation with the {@code x-graphql-trace: true}
+   * header, regardless of the sample rate.
+   */
+  private boolean headerEnabled = true;
+
+  /**
+   * Whether fields read straight off their parent object are traced as well.
+   */
+  private boolean includeTrivialFields = false;
+}
@@ -0,0 +1,76 @@
+package com.example.springbootgraphql.instrumentation;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UserQuota
+ *
+ * <p>The request rate and concurrency quota of one user, checked with a single compare-and-set each
+ * and no lock, so users never contend with each other and one user's requests only on two words.
+ *
+ * <p>The rate is a token bucket kept as the generic cell rate algorithm: instead of a token count
+ * and a refill timestamp, a single theoretical arrival time advances by the emission interval on
+ * every admitted request. A request is admitted while that time is at most the burst tolerance
+ * ahead of now, i.e. while the bucket still has a token, and the distance otherwise is how long the
+ * next token takes.
+ */
+final class UserQuota {
+
+  private final long emissionIntervalNanos;
+  private final long burstToleranceNanos;
+  private final int maxInFlight;
+  private final AtomicLong theoreticalArrivalTime;
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  /**
+   * @param requestsPerSecond the sustained rate of requests
+   * @param burst the number of requests admitted at once after an idle period
+   * @param maxInFlight the number of requests admitted concurrently
+   * @param nowNanos the current {@link System#nanoTime()}
+   */
+  UserQuota(double requestsPerSecond, int burst, int maxInFlight, long nowNanos) {
+    this.emissionIntervalNanos = (long) (1_000_000_000L / requestsPerSecond);
+    this.burstToleranceNanos = emissionIntervalNanos * (Math.max(burst, 1) - 1);
+    this.maxInFlight = maxInFlight;
+    this.theoreticalArrivalTime = new AtomicLong(nowNanos);
+  }
+
+  /**
+   * Takes a token.
+   *
+   * @param nowNanos the current {@link System#nanoTime()}
+   * @return {@code 0} if a token was taken, otherwise the nanoseconds until the next one
+   */
+  long tryAcquire(long nowNanos) {
+    while (true) {
+      var arrivalTime = theoreticalArrivalTime.get();
+      var admittedFrom = arrivalTime - burstToleranceNanos;
+      if (nowNanos - admittedFrom < 0) {
+        return admittedFrom - nowNanos;
+      }
+      var next = Math.max(arrivalTime, nowNanos) + emissionIntervalNanos;
+      if (theoreticalArrivalTime.compareAndSet(arrivalTime, next)) {
+        return 0;
+      }
+    }
+  }
+
+  /**
+   * Enters a request, to be {@link #exit() exited} once it completed.
+   *
+   * @return {@code true} if fewer than the maximum requests were in flight
+   */
+  boolean tryEnter() {
+    if (inFlight.incrementAndGet() > maxInFlight) {
+      inFlight.decrementAndGet();
+      return false;
+    }
+    return true;
+  }
+
+  /** Exits an entered request. */
+  void exit() {
+    inFlight.decrementAndGet();
+  }
+}
@@ -0,0 +1,213 @@
+package com.example.springbootgraphql.instrumentation;
+
+import com.example.springbootgraphql.context.CustomGraphQLContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionResult;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.ref.Cleaner;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * UserQuotaInstrumentation
+ *
+ * <p>Limits the operations of each user, identified by the {@code user_id} header of the {@link
+ * CustomGraphQLContext}, so one noisy user cannot saturate the resolver pools shared by all:
+ *
+ * <ul>
+ *   <li>a token bucket bounds their rate, see {@link UserQuotaProperties#getRequestsPerSecond()}
+ *       and {@link UserQuotaProperties#getBurst()}
+ *   <li>a counter bounds their operations in flight, see {@link
+ *       UserQuotaProperties#getMaxInFlight()}
+ * </ul>
+ *
+ * <p>The {@link UserQuota}s are kept in a Caffeine cache, expiring after {@link
+ * UserQuotaProperties#getExpireAfterAccess()}, whose reads do not lock; each check is then a
+ * compare-and-set on the user's own quota. An operation over a quota is rejected by a {@link
+ * RejectedExecutionStrategy} before any resolver runs, with an error whose extensions hold a {@code
+ * code} of {@code RATE_LIMITED} or {@code CONCURRENCY_LIMITED} and a {@code retryAfter} hint in
+ * seconds. Rejections are counted as the {@code graphql.quota.rejections} meter tagged with the
+ * {@code reason}.
+ *
+ * <p>The quota an operation entered is kept in its instrumentation state and exited once, when the
+ * execution completes, also if a later instrumentation rejects it. An execution abandoned because
+ * a later instrumentation throws exits the quota once its state is garbage collected.
+ *
+ * <p>Ordered right after the {@link QueryCostInstrumentation}, so an operation rejected for its
+ * cost neither takes a token nor enters. Operations without a user ID, i.e. subscriptions over a
+ * websocket, are not limited.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class UserQuotaInstrumentation extends SimpleInstrumentation {
+
+  private static final Cleaner CLEANER = Cleaner.create();
+
+  /**
+   * Dependency {@link UserQuotaProperties} injected by {@link RequiredArgsConstructor}.
+   */
+  private final UserQuotaProperties properties;
+
+  /**
+   * Dependency {@link MeterRegistry} injected by {@link RequiredArgsConstructor}.
+   */
+  private final MeterRegistry meterRegistry;
+
+  private Cache<String, UserQuota> quotas;
+  private Counter rateRejections;
+  private Counter concurrencyRejections;
+
+  /**
+   * <p>The {@code init} method builds the quota cache and registers the meters.
+   */
+  @PostConstruct
+  public void init() {
+    quotas = Caffeine.newBuilder().expireAfterAccess(properties.getExpireAfterAccess()).build();
+    rateRejections = rejections("rate");
+    concurrencyRejections = rejections("concurrency");
+    Gauge.builder("graphql.quota.users", quotas, Cache::estimatedSize)
+        .description("The number of users with a quota")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+    return properties.isEnabled() ? new QuotaState() : super.createState(parameters);
+  }
+
+  @Override
+  public InstrumentationContext<ExecutionResult> beginExecution(
+      InstrumentationExecutionParameters parameters) {
+    if (!(parameters.getInstrumentationState() instanceof QuotaState)) {
+      return super.beginExecution(parameters);
+    }
+    QuotaState state = parameters.getInstrumentationState();
+    return SimpleInstrumentationContext.whenCompleted((result, throwable) -> state.exit());
+  }
+
+  @Override
+  public ExecutionContext instrumentExecutionContext(
+      ExecutionContext executionContext, InstrumentationExecutionParameters parameters) {
+    var context = executionContext.getContext();
+    if (!(parameters.getInstrumentationState() instanceof QuotaState)
+        || RejectedExecutionStrategy.isRejected(executionContext)
+        || !(context instanceof CustomGraphQLContext)
+        || ((CustomGraphQLContext) context).getUserId() == null) {
+      return executionContext;
+    }
+
+    var userId = ((CustomGraphQLContext) context).getUserId();
+    var quota =
+        quotas.get(
+            userId,
+            id ->
+                new UserQuota(
+                    properties.getRequestsPerSecond(),
+                    properties.getBurst(),
+                    properties.getMaxInFlight(),
+                    System.nanoTime()));
+
+    if (!quota.tryEnter()) {
+      concurrencyRejections.increment();
+      log.warn("Rejecting operation of {} over {} in flight", userId, properties.getMaxInFlight());
+      return RejectedExecutionStrategy.reject(
+          executionContext,
+          new QuotaExceededException(
+              String.format(
+                  "Too many concurrent operations, at most %d may execute at once",
+                  properties.getMaxInFlight()),
+              "CONCURRENCY_LIMITED",
+              1));
+    }
+    var waitNanos = quota.tryAcquire(System.nanoTime());
+    if (waitNanos > 0) {
+      quota.exit();
+      rateRejections.increment();
+      log.warn("Rejecting operation of {} over {}/s", userId, properties.getRequestsPerSecond());
+      return RejectedExecutionStrategy.reject(
+          executionContext,
+          new QuotaExceededException(
+              String.format(
+                  "Rate limit of %s operations per second exceeded",
+                  properties.getRequestsPerSecond()),
+              "RATE_LIMITED",
+              retryAfterSeconds(waitNanos)));
+    }
+    QuotaState state = parameters.getInstrumentationState();
+    state.enter(quota);
+    return executionContext;
+  }
+
+  /** Rounds up, so a client retrying after the hint finds a token. */
+  private static long retryAfterSeconds(long waitNanos) {
+    var nanosPerSecond = TimeUnit.SECONDS.toNanos(1);
+    return Math.max(1, (waitNanos + nanosPerSecond - 1) / nanosPerSecond);
+  }
+
+  private Counter rejections(String reason) {
+    return Counter.builder("graphql.quota.rejections")
+        .description("The operations rejected for exceeding the quota of their user")
+        .tag("reason", reason)
+        .register(meterRegistry);
+  }
+
+  /**
+   * The quota an execution entered, until it is exited. graphql-java 16.1 drops every callback of
+   * an execution when an instrumentation throws in {@code beginExecuteOperation}, so the quota is
+   * also exited by the {@link #CLEANER} once such an abandoned state is unreachable.
+   */
+  private static class QuotaState implements InstrumentationState {
+    private volatile Cleaner.Cleanable entered;
+
+    void enter(UserQuota quota) {
+      entered = CLEANER.register(this, quota::exit);
+    }
+
+    /** Exits the entered quota, at most once. */
+    void exit() {
+      var cleanable = entered;
+      if (cleanable != null) {
+        cleanable.clean();
+      }
+    }
+  }
+
+  /** Rejects an operation over a quota, hinting when to retry in the error extensions. */
+  private static class QuotaExceededException extends AbortExecutionException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Map<String, Object> extensions = new LinkedHashMap<>();
+
+    QuotaExceededException(String message, String code, long retryAfterSeconds) {
+      super(message);
+      extensions.put("code", code);
+      extensions.put("retryAfter", retryAfterSeconds);
+    }
+
+    @Override
+    public Map<String, Object> getExtensions() {
+      return extensions;
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package com.example.springbootgraphql.instrumentation;
+
+import java.time.Duration;
+import javax.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * UserQuotaProperties
+ *
+ * <p>Binds the {@code bank.user-quota} block of {@code application.yml} that bounds the requests of
+ * each user, see {@link UserQuotaInstrumentation}. The rate, burst and concurrency must be
+ * positive: a rate of zero would make the interval between two tokens overflow.
+ */
+@Data
+@Validated
+@Component
+@ConfigurationProperties(prefix = "bank.user-quota")
+public class UserQuotaProperties {
+
+  /**
+   * Whether the requests of each user are limited.
+   */
+  private boolean enabled = true;
+
+  /**
+   * The sustained number of operations per second of one user.
+   */
+  @Positive
+  private double requestsPerSecond = 50;
+
+  /**
+   * The number of operations one user may send at once after an idle period.
+   */
+  @Positive
+  private int burst = 100;
+
+  /**
+   * The number of operations of one user executing concurrently.
+   */
+  @Positive
+  private int maxInFlight = 20;
+
+  /**
+   * How long the quota of a user is kept after their last operation. A user returning after that
+   * starts with a full burst.
+   */
+  private Duration expireAfterAccess = Duration.ofMinutes(10);
+}
@@ -0,0 +1,52 @@
+package com.example.springbootgraphql.persistedquery;
+
+import graphql.ExecutionInput;
+import graphql.kickstart.execution.GraphQLRequest;
+import graphql.kickstart.execution.context.GraphQLContext;
+import graphql.kickstart.execution.input.GraphQLSingleInvocationInput;
+import graphql.schema.GraphQLSchema;
+
+/**
+ * PersistedQueryInvocationInput
+ *
+ * <p>A {@link GraphQLSingleInvocationInput} whose {@link ExecutionInput} carries the extensions of a
+ * {@link PersistedQueryRequest}, where {@link
+ * graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport ApolloPersistedQuerySupport}
+ * looks for the persisted query hash.
+ */
+public class PersistedQueryInvocationInput extends GraphQLSingleInvocationInput {
+
+  private final ExecutionInput executionInput;
+
+  private PersistedQueryInvocationInput(
+      PersistedQueryRequest request, GraphQLSchema schema, GraphQLContext context, Object root) {
+    super(request, schema, context, root);
+    executionInput =
+        super.getExecutionInput().transform(builder -> builder.extensions(request.getExtensions()));
+  }
+
+  /**
+   * Creates the invocation input of a request, keeping its extensions if it references a persisted
+   * query.
+   *
+   * @param request the GraphQL request
+   * @param schema the schema to execute the request against
+   * @param context the context of the request
+   * @param root the root object, may be {@code null}
+   * @return the invocation input
+   */
+  public static GraphQLSingleInvocationInput of(
+      GraphQLRequest request, GraphQLSchema schema, GraphQLContext context, Object root) {
+    if (request instanceof PersistedQueryRequest
+        && ((PersistedQueryRequest) request).hasPersistedQuery()) {
+      return new PersistedQueryInvocationInput(
+          (PersistedQueryRequest) request, schema, context, root);
+    }
+    return new GraphQLSingleInvocationInput(request, schema, context, root);
+  }
+
+  @Override
+  public ExecutionInput getExecutionInput() {
+    return executionInput;
+  }
+}
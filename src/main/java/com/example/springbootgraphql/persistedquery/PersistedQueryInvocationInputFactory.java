@@ -0,0 +1,45 @@
+package com.example.springbootgraphql.persistedquery;
+
+import graphql.kickstart.execution.GraphQLRequest;
+import graphql.kickstart.execution.input.GraphQLSingleInvocationInput;
+import graphql.kickstart.servlet.config.GraphQLSchemaServletProvider;
+import graphql.kickstart.servlet.context.GraphQLServletContextBuilder;
+import graphql.kickstart.servlet.core.GraphQLServletRootObjectBuilder;
+import graphql.kickstart.servlet.input.GraphQLInvocationInputFactory;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * PersistedQueryInvocationInputFactory
+ *
+ * <p>The servlet's {@link GraphQLInvocationInputFactory}, creating a {@link
+ * PersistedQueryInvocationInput} for the single POST requests that reference a persisted query.
+ * GET, batched and subscription requests are created as before: kickstart reads neither their
+ * extensions nor a GET request without a {@code query} parameter.
+ */
+public class PersistedQueryInvocationInputFactory extends GraphQLInvocationInputFactory {
+
+  private final GraphQLSchemaServletProvider schemaProvider;
+  private final GraphQLServletContextBuilder contextBuilder;
+  private final GraphQLServletRootObjectBuilder rootObjectBuilder;
+
+  public PersistedQueryInvocationInputFactory(
+      GraphQLSchemaServletProvider schemaProvider,
+      GraphQLServletContextBuilder contextBuilder,
+      GraphQLServletRootObjectBuilder rootObjectBuilder) {
+    super(() -> schemaProvider, () -> contextBuilder, () -> rootObjectBuilder);
+    this.schemaProvider = schemaProvider;
+    this.contextBuilder = contextBuilder;
+    this.rootObjectBuilder = rootObjectBuilder;
+  }
+
+  @Override
+  public GraphQLSingleInvocationInput create(
+      GraphQLRequest graphQLRequest, HttpServletRequest request, HttpServletResponse response) {
+    return PersistedQueryInvocationInput.of(
+        graphQLRequest,
+        schemaProvider.getSchema(request),
+        contextBuilder.build(request, response),
+        rootObjectBuilder.build(request));
+  }
+}
@@ -0,0 +1,35 @@
+package com.example.springbootgraphql.persistedquery;
+
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * PersistedQueryProperties
+ *
+ * <p>Binds the {@code bank.persisted-queries} block of {@code application.yml} that configures the
+ * automatic persisted queries served from the {@link PersistedQueryStore}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "bank.persisted-queries")
+public class PersistedQueryProperties {
+
+  /**
+   * Whether requests may reference a query by its SHA-256 hash instead of sending its text.
+   */
+  private boolean enabled = true;
+
+  /**
+   * The maximum number of parsed and validated queries kept, least recently and frequently used ones
+   * being evicted first. An evicted query is registered again by the next client sending its text.
+   */
+  private long maximumSize = 10_000;
+
+  /**
+   * Resource patterns of the query documents known at startup, so their hashes resolve before any
+   * client registered them.
+   */
+  private List<String> seedLocations = List.of("classpath:playground/*.graphql");
+}
@@ -0,0 +1,42 @@
+package com.example.springbootgraphql.persistedquery;
+
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import graphql.kickstart.execution.GraphQLRequest;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * PersistedQueryRequest
+ *
+ * <p>A {@link GraphQLRequest} that keeps the {@code extensions} of the request body, which the
+ * kickstart request drops, so the {@code persistedQuery} extension of an automatic persisted query
+ * reaches the {@link graphql.ExecutionInput ExecutionInput}. Bound in place of {@link
+ * GraphQLRequest} by the {@link com.example.springbootgraphql.config.PersistedQueryConfig
+ * PersistedQueryConfig}.
+ *
+ * <p>A request sending only the hash has no query text, which an {@link graphql.ExecutionInput
+ * ExecutionInput} does not allow; {@link PersistedQuerySupport#PERSISTED_QUERY_MARKER} stands in
+ * for it until the document is resolved from the hash.
+ */
+@Getter
+@Setter
+public class PersistedQueryRequest extends GraphQLRequest {
+
+  private Map<String, Object> extensions;
+
+  /**
+   * @return {@code true} if the request references a persisted query
+   */
+  public boolean hasPersistedQuery() {
+    return extensions != null && extensions.get("persistedQuery") instanceof Map;
+  }
+
+  @Override
+  public String getQuery() {
+    var query = super.getQuery();
+    return query == null && hasPersistedQuery()
+        ? PersistedQuerySupport.PERSISTED_QUERY_MARKER
+        : query;
+  }
+}
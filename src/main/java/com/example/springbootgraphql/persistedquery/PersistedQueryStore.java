@@ -0,0 +1,146 @@
+package com.example.springbootgraphql.persistedquery;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import graphql.ExecutionInput;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.persisted.PersistedQueryCache;
+import graphql.execution.preparsed.persisted.PersistedQueryCacheMiss;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+/**
+ * PersistedQueryStore
+ *
+ * <p>The {@link PersistedQueryCache} of the automatic persisted queries: a bounded cache of parsed
+ * and validated documents keyed by the SHA-256 hash of their text, so a repeat request sends only
+ * the hash and skips both the upload and the parse. The protocol is the Apollo one:
+ *
+ * <ul>
+ *   <li>a request with a known hash is served from the cache
+ *   <li>a request with an unknown hash and no query text gets a {@code PersistedQueryNotFound}
+ *       error, upon which the client sends the text along with the hash
+ *   <li>a request with the text and its hash registers the parsed document under the hash
+ * </ul>
+ *
+ * <p>The hash of a registered text is verified, so a client cannot bind a hash to another query.
+ * Only documents without parse and validation errors are kept.
+ *
+ * <p>The documents found at the {@link PersistedQueryProperties#getSeedLocations() seed locations}
+ * are known from startup; they are parsed on first use, since parsing needs an execution. Hit,
+ * miss and eviction statistics are bound to the Micrometer registry as the {@code cache.*} meters
+ * tagged {@code cache=persisted-queries}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(
+    prefix = "bank.persisted-queries",
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class PersistedQueryStore implements PersistedQueryCache {
+
+  static final String CACHE_NAME = "persisted-queries";
+
+  /**
+   * Dependency {@link PersistedQueryProperties} injected by {@link RequiredArgsConstructor}.
+   */
+  private final PersistedQueryProperties properties;
+
+  /**
+   * Dependency {@link MeterRegistry} injected by {@link RequiredArgsConstructor}.
+   */
+  private final MeterRegistry meterRegistry;
+
+  private final Map<String, String> knownQueries = new ConcurrentHashMap<>();
+  private Cache<String, PreparsedDocumentEntry> documents;
+
+  /**
+   * <p>The {@code init} method builds the cache, binds its statistics and reads the seed documents.
+   *
+   * @throws IOException if a seed document cannot be read
+   */
+  @PostConstruct
+  public void init() throws IOException {
+    documents =
+        Caffeine.newBuilder().maximumSize(properties.getMaximumSize()).recordStats().build();
+    CaffeineCacheMetrics.monitor(meterRegistry, documents, CACHE_NAME);
+
+    var resolver = new PathMatchingResourcePatternResolver();
+    for (var location : properties.getSeedLocations()) {
+      for (var resource : resolver.getResources(location)) {
+        try (var in = resource.getInputStream()) {
+          var query = StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+          knownQueries.put(sha256Hex(query), query);
+        }
+      }
+    }
+    log.info("Seeded {} persisted queries", knownQueries.size());
+  }
+
+  @Override
+  public PreparsedDocumentEntry getPersistedQueryDocument(
+      Object persistedQueryId, ExecutionInput executionInput, PersistedQueryCacheMiss onCacheMiss)
+      throws PersistedQueryNotFound {
+    var hash = persistedQueryId.toString();
+    var document = documents.getIfPresent(hash);
+    if (document != null) {
+      return document;
+    }
+
+    var query = executionInput.getQuery();
+    if (StringUtils.isBlank(query) || PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(query)) {
+      query = knownQueries.get(hash);
+      if (query == null) {
+        throw new PersistedQueryNotFound(persistedQueryId);
+      }
+    } else if (!hash.equalsIgnoreCase(sha256Hex(query))) {
+      return new PreparsedDocumentEntry(
+          GraphqlErrorBuilder.newError().message("PersistedQueryIdInvalid").build());
+    }
+
+    document = onCacheMiss.apply(query);
+    if (!document.hasErrors()) {
+      documents.put(hash, document);
+    }
+    return document;
+  }
+
+  /**
+   * @return a snapshot of the hit, miss and eviction statistics
+   */
+  public CacheStats getStats() {
+    return documents.stats();
+  }
+
+  private static String sha256Hex(String query) {
+    try {
+      return HexFormat.of()
+          .formatHex(
+              MessageDigest.getInstance("SHA-256")
+                  .digest(query.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not supported", e);
+    }
+  }
+}
@@ -1,46 +1,57 @@
 package com.example.springbootgraphql.publisher;
 
 import com.example.springbootgraphql.domain.bank.BankAccount;
-import graphql.schema.diff.reporting.DifferenceReporter;
 import java.util.UUID;
 import lombok.extern.slf4j.Slf4j;
 import org.reactivestreams.Publisher;
 import org.springframework.stereotype.Component;
-import reactor.core.publisher.DirectProcessor;
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.FluxProcessor;
-import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Sinks;
 
 /**
- * <p>The {@link BankAccountPublisher} class is a Spring component responsible for publishing bank account events using Reactor's {@link FluxProcessor}.
+ * <p>The {@link BankAccountPublisher} class is a Spring component responsible for publishing bank account events using a Reactor multicast {@link Sinks.Many}.
  * This class is annotated with {@link Slf4j} for logging and {@link Component} to indicate that it is a Spring-managed bean.
  * <p>Overall, the {@link BankAccountPublisher} class provides a way to publish and subscribe to bank account events, with logging for each event published.
  */
 @Slf4j
 @Component
 public class BankAccountPublisher {
-  private final FluxProcessor<BankAccount, BankAccount> processor;
-  private final FluxSink<BankAccount> sink;
+  private final Sinks.Many<BankAccount> sink;
+  private final Flux<BankAccount> events;
 
   /**
-   * The {@code BankAccountPublisher} constructor initializes the class's two main fields: {@code processor} and {@code sink}.
+   * The {@code BankAccountPublisher} constructor initializes the class's two main fields: {@code sink} and {@code events}.
    *
-   * <p>The {@code processor} is a {@link FluxProcessor} that handles the stream of {@link BankAccount} events, and the {@code sink} is a {@link FluxSink}
-   * that allows pushing events into the {@code processor}.
+   * <p>The {@code sink} is a {@link Sinks.Many} that allows pushing {@link BankAccount} events to the current subscribers, without buffering
+   * them for later ones, and the {@code events} are the {@link Flux} view every subscriber subscribes to. A subscriber that has not requested
+   * more events misses the ones published meanwhile, rather than failing or holding the others back.
    */
   public BankAccountPublisher() {
-    this.processor = DirectProcessor.<BankAccount>create().serialize();
-    this.sink = processor.sink();
+    this.sink = Sinks.many().multicast().directBestEffort();
+    this.events = sink.asFlux();
   }
 
   /**
    * <p>The {@code publish} method is used to publish a {@link BankAccount} event.
-   * It takes a {@link BankAccount} object as a parameter and pushes it into the {@code sink} using the {@code next} method.
+   * It takes a {@link BankAccount} object as a parameter and pushes it into the {@code sink} using the {@code tryEmitNext} method.
+   * Synchronized because a sink only accepts one emission at a time and mutations publish from concurrent request threads.
    *
    * @param bankAccount the {@link BankAccount} to publish
    */
-  public void publish(BankAccount bankAccount) {
-    sink.next(bankAccount);
+  public synchronized void publish(BankAccount bankAccount) {
+    var result = sink.tryEmitNext(bankAccount);
+    if (result.isFailure() && result != Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER) {
+      log.debug("Bank account {} not published: {}", bankAccount.getId(), result);
+    }
+  }
+
+  /**
+   * <p>The {@code getBankAccountEvents} method returns a {@code Publisher} that emits all {@link BankAccount} events
+   * without logging them, for in-process consumers such as caches.
+   * @return a Publisher of {@link BankAccount}
+   */
+  public Publisher<BankAccount> getBankAccountEvents() {
+    return events;
   }
 
   /**
@@ -49,9 +60,9 @@ public class BankAccountPublisher {
    * @return a Publisher of {@link BankAccount}
    */
   public Publisher<BankAccount> getBankAccountPublisher() {
-    return processor.map(
+    return events.map(
         bankAccount -> {
-          log.info("Publishing bank account {}", bankAccount);
+          log.debug("Publishing bank account {}", bankAccount);
           return bankAccount;
         });
   }
@@ -64,11 +75,11 @@ public class BankAccountPublisher {
    * @return a Publisher of {@link BankAccount}
    */
   public Publisher<BankAccount> getBankAccountPublisherFor(UUID id) {
-    return processor
+    return events
         .filter(bankAccount -> id.equals(bankAccount.getId()))
         .map(
             bankAccount -> {
-              log.info("Publishing individual subscription for bank account {}", bankAccount);
+              log.debug("Publishing individual subscription for bank account {}", bankAccount);
               return bankAccount;
             });
   }
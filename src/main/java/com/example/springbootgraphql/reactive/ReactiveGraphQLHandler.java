@@ -0,0 +1,141 @@
+package com.example.springbootgraphql.reactive;
+
+import com.example.springbootgraphql.config.security.GrantedAuthoritiesAuthenticationDetailsSource;
+import com.example.springbootgraphql.context.CustomGraphQLContextBuilder;
+import com.example.springbootgraphql.persistedquery.PersistedQueryInvocationInput;
+import graphql.ExecutionResult;
+import graphql.kickstart.execution.GraphQLInvoker;
+import graphql.kickstart.execution.GraphQLObjectMapper;
+import graphql.kickstart.execution.GraphQLRequest;
+import graphql.schema.GraphQLSchema;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.MDC;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * ReactiveGraphQLHandler
+ *
+ * <p>Executes the GraphQL requests posted to the reactive endpoint with the same {@link
+ * GraphQLSchema} and {@link GraphQLInvoker}, and therefore the same resolvers, instrumentations and
+ * DataLoader dispatching, as the kickstart servlet. The context is built from the reactive request
+ * headers by the {@link CustomGraphQLContextBuilder}.
+ *
+ * <p>No thread is held while the execution waits on asynchronous resolvers and DataLoaders: the
+ * synchronous start of the execution, which parses, validates and runs the instrumentations and
+ * the synchronous resolvers, runs on the {@link Schedulers#boundedElastic() bounded elastic}
+ * scheduler and the response is written when its {@link CompletableFuture} completes. The Netty
+ * event loop only reads the request and writes the response, so a slow operation delays neither
+ * the other connections of its loop nor is concurrency capped by a request thread pool.
+ *
+ * <p>The endpoint trusts the same sidecar headers as the servlet one: the {@code user_id} header is
+ * the pre-authenticated principal and the {@code user_roles} header its authorities. The security
+ * context is set on the worker thread for the synchronous start of the execution and reaches the
+ * asynchronous parts through the {@link com.example.springbootgraphql.util.ContextSnapshotExecutor
+ * ContextSnapshotExecutor}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReactiveGraphQLHandler {
+
+  /**
+   * Dependency {@link GraphQLSchema} injected by {@link RequiredArgsConstructor}.
+   */
+  private final GraphQLSchema graphQLSchema;
+
+  /**
+   * Dependency {@link GraphQLInvoker} injected by {@link RequiredArgsConstructor}.
+   */
+  private final GraphQLInvoker graphQLInvoker;
+
+  /**
+   * Dependency {@link GraphQLObjectMapper} injected by {@link RequiredArgsConstructor}.
+   */
+  private final GraphQLObjectMapper graphQLObjectMapper;
+
+  /**
+   * Dependency {@link CustomGraphQLContextBuilder} injected by {@link RequiredArgsConstructor}.
+   */
+  private final CustomGraphQLContextBuilder contextBuilder;
+
+  /**
+   * Executes the GraphQL request in the body of a reactive request.
+   *
+   * @param request the reactive request
+   * @return the response with the JSON execution result, forbidden without a {@code user_id}
+   *     header and a bad request if the body is not a GraphQL request
+   */
+  public Mono<ServerResponse> handle(ServerRequest request) {
+    var headers = request.headers().asHttpHeaders();
+    if (StringUtils.isBlank(headers.getFirst("user_id"))) {
+      return ServerResponse.status(HttpStatus.FORBIDDEN).build();
+    }
+
+    return request
+        .bodyToMono(String.class)
+        .map(this::readGraphQLRequest)
+        .flatMap(
+            graphQLRequest ->
+                Mono.fromCallable(() -> execute(graphQLRequest, headers))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMap(Mono::fromFuture))
+        .map(graphQLObjectMapper::serializeResultAsJson)
+        .flatMap(
+            json -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(json))
+        .switchIfEmpty(ServerResponse.badRequest().build())
+        .onErrorResume(
+            UncheckedIOException.class,
+            e -> {
+              log.debug("Invalid GraphQL request", e);
+              return ServerResponse.badRequest().build();
+            });
+  }
+
+  private GraphQLRequest readGraphQLRequest(String body) {
+    try {
+      return graphQLObjectMapper.readGraphQLRequest(body);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Starts the execution as the request's user on a worker thread. Only its synchronous part runs
+   * here, the security context and the MDC are cleared from the worker as soon as it returns.
+   */
+  private CompletableFuture<ExecutionResult> execute(
+      GraphQLRequest graphQLRequest, HttpHeaders headers) {
+    var securityContext = SecurityContextHolder.createEmptyContext();
+    securityContext.setAuthentication(
+        new PreAuthenticatedAuthenticationToken(
+            headers.getFirst("user_id"),
+            StringUtils.EMPTY,
+            GrantedAuthoritiesAuthenticationDetailsSource.getAuthoritiesFrom(
+                headers.getFirst("user_roles"))));
+
+    var input =
+        PersistedQueryInvocationInput.of(
+            graphQLRequest, graphQLSchema, contextBuilder.build(headers), null);
+    SecurityContextHolder.setContext(securityContext);
+    try {
+      return graphQLInvoker.executeAsync(input);
+    } finally {
+      SecurityContextHolder.clearContext();
+      MDC.clear();
+    }
+  }
+}
@@ -0,0 +1,32 @@
+package com.example.springbootgraphql.reactive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * ReactiveGraphQLProperties
+ *
+ * <p>Binds the {@code bank.reactive} block of {@code application.yml} that configures the reactive
+ * GraphQL endpoint served by the {@link ReactiveGraphQLServer}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "bank.reactive")
+public class ReactiveGraphQLProperties {
+
+  /**
+   * Whether the reactive endpoint is served at all.
+   */
+  private boolean enabled = true;
+
+  /**
+   * The port of the reactive server, separate from the servlet one. Zero picks a free port.
+   */
+  private int port = 8081;
+
+  /**
+   * The path GraphQL requests are posted to.
+   */
+  private String path = "/graphql";
+}
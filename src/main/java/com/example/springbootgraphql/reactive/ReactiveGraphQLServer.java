@@ -0,0 +1,65 @@
+package com.example.springbootgraphql.reactive;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * ReactiveGraphQLServer
+ *
+ * <p>Serves the {@link ReactiveGraphQLHandler} from a Reactor Netty server of its own, alongside the
+ * servlet container serving the kickstart endpoint, the playground and the subscriptions. The
+ * application stays a servlet application; only this port is non-blocking.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(
+    prefix = "bank.reactive",
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class ReactiveGraphQLServer {
+
+  private final ReactiveGraphQLProperties properties;
+  private final ReactiveGraphQLHandler handler;
+
+  private DisposableServer server;
+
+  /** Binds the server and routes GraphQL posts to the handler. */
+  @PostConstruct
+  public void start() {
+    var routes =
+        RouterFunctions.route(RequestPredicates.POST(properties.getPath()), handler::handle);
+    server =
+        HttpServer.create()
+            .port(properties.getPort())
+            .handle(new ReactorHttpHandlerAdapter(RouterFunctions.toHttpHandler(routes)))
+            .bindNow();
+    log.info(
+        "Reactive GraphQL endpoint listening on port {} at {}", server.port(), properties.getPath());
+  }
+
+  /**
+   * @return the port the server is bound to
+   */
+  public int getPort() {
+    return server.port();
+  }
+
+  /** Stops accepting requests and closes the server. */
+  @PreDestroy
+  public void stop() {
+    if (server != null) {
+      server.disposeNow();
+    }
+  }
+}
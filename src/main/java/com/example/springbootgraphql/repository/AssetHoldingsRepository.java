@@ -0,0 +1,117 @@
+package com.example.springbootgraphql.repository;
+
+import static java.util.UUID.fromString;
+
+import com.example.springbootgraphql.domain.bank.Asset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+
+/**
+ * InMemory Mock of AssetHoldingsRepository.
+ *
+ * <p>The {@link AssetHoldingsRepository} class is a Spring component that holds the {@link Asset}s of every bank account
+ * in an index keyed by bank account ID. The holdings of one bank account are kept sorted by asset ID, so a bank account
+ * with thousands of assets is read one page at a time: a page seeks past its {@code after} asset in O(log n) and reads
+ * only the assets it returns, rather than materializing the whole holding.
+ *
+ * <p>Pages are read in batches across bank accounts through {@link #getAssetPages(Collection)}, which is what the
+ * asset DataLoader calls for all the bank accounts resolved in the same query.
+ */
+@Component
+public class AssetHoldingsRepository {
+
+  /**
+   * <p>{@code holdings} maps each bank account ID to its assets, sorted by asset ID.
+   * Bank accounts without assets have no entry.
+   */
+  private final ConcurrentMap<UUID, ConcurrentNavigableMap<UUID, Asset>> holdings =
+      new ConcurrentHashMap<>();
+
+  /**
+   * <p>The {@code init} method seeds the {@code holdings} with the assets of the predefined bank accounts.
+   */
+  @PostConstruct
+  public void init() {
+    var bankAccountId = fromString("c6aa269a-812b-49d5-b178-a739a1ed74cc");
+    List.of(
+            fromString("0b8e6d5c-3f4a-4b2e-9c1d-7e6f5a4b3c2d"),
+            fromString("5d2c1b0a-9e8f-4a7b-8c6d-5e4f3a2b1c0d"),
+            fromString("a1b2c3d4-e5f6-4a7b-8c9d-0e1f2a3b4c5d"))
+        .forEach(assetId -> add(bankAccountId, Asset.builder().id(assetId).build()));
+  }
+
+  /**
+   * <p>The {@code add} method adds an {@link Asset} to the holdings of a bank account, replacing the asset with the
+   * same ID, if any.
+   *
+   * @param bankAccountId the {@link UUID} of the bank account holding the asset
+   * @param asset the {@link Asset} to add
+   */
+  public void add(UUID bankAccountId, Asset asset) {
+    holdings
+        .computeIfAbsent(bankAccountId, id -> new ConcurrentSkipListMap<>())
+        .put(asset.getId(), asset);
+  }
+
+  /**
+   * <p>The {@code remove} method removes an {@link Asset} from the holdings of a bank account.
+   *
+   * @param bankAccountId the {@link UUID} of the bank account holding the asset
+   * @param assetId the {@link UUID} of the asset
+   * @return {@code true} if the bank account held the asset
+   */
+  public boolean remove(UUID bankAccountId, UUID assetId) {
+    var holding = holdings.get(bankAccountId);
+    return holding != null && holding.remove(assetId) != null;
+  }
+
+  /**
+   * <p>The {@code getAssetPages} method reads the requested pages of the holdings of any number of bank accounts in
+   * one call. Each page seeks past its {@code after} asset, if any, and reads at most {@code first + 1} assets: the
+   * extra one only tells whether there is a next page.
+   *
+   * @param requests the {@link AssetPageRequest}s to read
+   * @return a map of each request to its {@link AssetPage}
+   */
+  public Map<AssetPageRequest, AssetPage> getAssetPages(Collection<AssetPageRequest> requests) {
+    var pages = new HashMap<AssetPageRequest, AssetPage>(requests.size() * 4 / 3 + 1);
+    for (var request : requests) {
+      pages.put(request, getAssetPage(request));
+    }
+    return pages;
+  }
+
+  private AssetPage getAssetPage(AssetPageRequest request) {
+    var holding = holdings.get(request.getBankAccountId());
+    if (holding == null) {
+      return new AssetPage(List.of(), false, false);
+    }
+
+    var after = request.getAfter();
+    int first = request.getFirst();
+    var page =
+        (after == null ? holding : holding.tailMap(after, false))
+            .values().stream().limit(first + 1L).collect(Collectors.toUnmodifiableList());
+    boolean hasNextPage = page.size() > first;
+    if (hasNextPage) {
+      page = page.subList(0, first);
+    }
+
+    boolean hasPreviousPage =
+        after != null
+            && (page.isEmpty()
+                ? holding.floorKey(after) != null
+                : holding.lowerKey(page.get(0).getId()) != null);
+    return new AssetPage(page, hasPreviousPage, hasNextPage);
+  }
+}
@@ -0,0 +1,29 @@
+package com.example.springbootgraphql.repository;
+
+import com.example.springbootgraphql.domain.bank.Asset;
+import java.util.List;
+import lombok.Value;
+
+/**
+ * Represents one page of the assets held by a bank account, read by the {@link
+ * AssetHoldingsRepository}.
+ *
+ * <p>This class is immutable. The assets are in ID order and both flags are exact.
+ */
+@Value
+public class AssetPage {
+  /**
+   * The assets in the page.
+   */
+  List<Asset> assets;
+
+  /**
+   * Whether there are assets before the first one in the page.
+   */
+  boolean hasPreviousPage;
+
+  /**
+   * Whether there are assets after the last one in the page.
+   */
+  boolean hasNextPage;
+}
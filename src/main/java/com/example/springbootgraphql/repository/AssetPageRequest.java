@@ -0,0 +1,29 @@
+package com.example.springbootgraphql.repository;
+
+import java.util.UUID;
+import lombok.Value;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents a request for one forward page of the assets held by a bank account.
+ *
+ * <p>This class is immutable and is the key of the asset DataLoader, so identical pages requested
+ * in the same query are read once.
+ */
+@Value
+public class AssetPageRequest {
+  /**
+   * The unique identifier of the bank account holding the assets.
+   */
+  UUID bankAccountId;
+
+  /**
+   * The ID of the asset to page forwards from, or {@code null} to start from the first asset.
+   */
+  @Nullable UUID after;
+
+  /**
+   * The number of assets in the page.
+   */
+  int first;
+}
@@ -0,0 +1,84 @@
+package com.example.springbootgraphql.repository;
+
+import com.example.springbootgraphql.domain.bank.BankAccount;
+import com.example.springbootgraphql.domain.bank.BankAccountOrderBy;
+import com.example.springbootgraphql.domain.bank.Currency;
+import java.time.Instant;
+import lombok.Builder;
+import lombok.Value;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents the filters and the order of a page read from {@link BankAccountRepository}.
+ *
+ * <p>This class is immutable and uses the Builder pattern for object creation. Creation times are
+ * compared to the millisecond, the precision of the creation time index.
+ */
+@Builder
+@Value
+public class BankAccountCriteria {
+
+  /**
+   * Every bank account, in ID order.
+   */
+  public static final BankAccountCriteria ALL = BankAccountCriteria.builder().build();
+
+  /**
+   * Only bank accounts in this currency, if set.
+   */
+  @Nullable Currency currency;
+
+  /**
+   * Only bank accounts created after this time, exclusive, if set.
+   */
+  @Nullable Instant createdAfter;
+
+  /**
+   * Only bank accounts created before this time, exclusive, if set.
+   */
+  @Nullable Instant createdBefore;
+
+  /**
+   * The order of the page.
+   */
+  @Builder.Default BankAccountOrderBy orderBy = BankAccountOrderBy.ID;
+
+  /**
+   * @return {@code true} if no filter is set
+   */
+  public boolean isUnfiltered() {
+    return currency == null && createdAfter == null && createdBefore == null;
+  }
+
+  /**
+   * @param bankAccount the {@link BankAccount} to test
+   * @return {@code true} if the bank account matches every filter
+   */
+  public boolean matches(BankAccount bankAccount) {
+    if (currency != null && currency != bankAccount.getCurrency()) {
+      return false;
+    }
+    long createdAt = createdAtMillis(bankAccount);
+    return (createdAfter == null || createdAt > createdAfter.toEpochMilli())
+        && (createdBefore == null || createdAt < createdBefore.toEpochMilli());
+  }
+
+  /**
+   * @param bankAccount a {@link BankAccount}
+   * @return the position of the bank account in this {@code orderBy}
+   */
+  public BankAccountKey keyOf(BankAccount bankAccount) {
+    return new BankAccountKey(
+        orderBy == BankAccountOrderBy.CREATED_AT ? createdAtMillis(bankAccount) : 0,
+        bankAccount.getId());
+  }
+
+  /**
+   * @param bankAccount a {@link BankAccount}
+   * @return its creation time in epoch milliseconds, {@link Long#MIN_VALUE} if it has none
+   */
+  public static long createdAtMillis(BankAccount bankAccount) {
+    var createdAt = bankAccount.getCreatedAt();
+    return createdAt == null ? Long.MIN_VALUE : createdAt.toInstant().toEpochMilli();
+  }
+}
@@ -0,0 +1,294 @@
+package com.example.springbootgraphql.repository;
+
+import com.example.springbootgraphql.domain.bank.BankAccount;
+import com.example.springbootgraphql.domain.bank.BankAccountOrderBy;
+import com.example.springbootgraphql.domain.bank.Currency;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * BankAccountIndexes
+ *
+ * <p>The secondary indexes of {@link BankAccountRepository}, each a sorted set of {@link
+ * BankAccountKey} so that a filtered page is a range scan:
+ *
+ * <dl>
+ *   <dt>by currency
+ *   <dd>the IDs of the bank accounts in each {@link Currency}, for the ID order; an ID ordered page
+ *       of a narrow creation time range is read from the creation time indexes instead
+ *   <dt>by creation time
+ *   <dd>the (creation time, ID) of every bank account
+ *   <dt>by currency and creation time
+ *   <dd>the (creation time, ID) of the bank accounts in each {@link Currency}
+ * </dl>
+ *
+ * <p>Next to the indexes it counts the bank accounts, overall and per {@link Currency}, so the
+ * total count of an unfiltered or currency filtered connection is O(1). The bank accounts are also
+ * counted per creation day, overall and per {@link Currency}, so a creation time filtered count
+ * adds up the days fully inside the range and only scans the index on the two partially covered
+ * days at its edges. That costs the number of days in the range plus the bank accounts created on
+ * its edge days, rather than the number of bank accounts in the range.
+ *
+ * <p>Like the store, the indexes are updated by a single writer and read concurrently. A reader
+ * may briefly see a key that no longer matches its bank account, so the repository checks every
+ * key against the stored bank account.
+ */
+class BankAccountIndexes {
+
+  private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+  private final Map<Currency, NavigableSet<BankAccountKey>> byCurrency = perCurrency();
+  private final NavigableSet<BankAccountKey> byCreatedAt = new ConcurrentSkipListSet<>();
+  private final Map<Currency, NavigableSet<BankAccountKey>> byCurrencyAndCreatedAt =
+      perCurrency();
+  private final AtomicLong count = new AtomicLong();
+  private final Map<Currency, AtomicLong> countByCurrency = countPerCurrency();
+  private final NavigableMap<Long, AtomicLong> countByDay = new ConcurrentSkipListMap<>();
+  private final Map<Currency, NavigableMap<Long, AtomicLong>> countByCurrencyAndDay =
+      countPerCurrencyAndDay();
+
+  /**
+   * Indexes {@code current}, replacing the keys of {@code previous}. The new keys are added before
+   * the stale ones are removed, so a reader never misses the bank account.
+   *
+   * @param previous the {@link BankAccount} replaced, or {@code null} if it is new
+   * @param current the {@link BankAccount} stored
+   */
+  void update(@Nullable BankAccount previous, BankAccount current) {
+    add(current);
+    long createdAt = BankAccountCriteria.createdAtMillis(current);
+    if (previous == null) {
+      count.incrementAndGet();
+      increment(current, 1);
+      incrementDay(current, createdAt, 1);
+      return;
+    }
+    long previousCreatedAt = BankAccountCriteria.createdAtMillis(previous);
+    if (previous.getCurrency() != current.getCurrency()) {
+      increment(current, 1);
+      increment(previous, -1);
+    }
+    if (previous.getCurrency() != current.getCurrency()
+        || Math.floorDiv(previousCreatedAt, DAY) != Math.floorDiv(createdAt, DAY)) {
+      incrementDay(current, createdAt, 1);
+      incrementDay(previous, previousCreatedAt, -1);
+    }
+    if (previous.getCurrency() != current.getCurrency()) {
+      remove(byCurrency, previous, 0);
+      remove(byCurrencyAndCreatedAt, previous, previousCreatedAt);
+    } else if (previousCreatedAt != createdAt) {
+      remove(byCurrencyAndCreatedAt, previous, previousCreatedAt);
+    }
+    if (previousCreatedAt != createdAt) {
+      byCreatedAt.remove(new BankAccountKey(previousCreatedAt, previous.getId()));
+    }
+  }
+
+  /**
+   * Removes the keys of a deleted bank account.
+   *
+   * @param previous the {@link BankAccount} deleted
+   */
+  void remove(BankAccount previous) {
+    long createdAt = BankAccountCriteria.createdAtMillis(previous);
+    byCreatedAt.remove(new BankAccountKey(createdAt, previous.getId()));
+    remove(byCurrency, previous, 0);
+    remove(byCurrencyAndCreatedAt, previous, createdAt);
+    count.decrementAndGet();
+    increment(previous, -1);
+    incrementDay(previous, createdAt, -1);
+  }
+
+  /**
+   * <p>The {@code count} method counts the bank accounts matching the {@code criteria}. Without
+   * creation time filters it reads a counter. With them it adds up the per day counters of the days
+   * fully inside the range and counts the creation time index on the partially covered days at its
+   * edges, so it costs the number of days in the range rather than the bank accounts in it.
+   *
+   * @param criteria the {@link BankAccountCriteria} to count
+   * @return the number of matching bank accounts
+   */
+  long count(BankAccountCriteria criteria) {
+    var currency = criteria.getCurrency();
+    var createdAfter = criteria.getCreatedAfter();
+    var createdBefore = criteria.getCreatedBefore();
+    if (createdAfter == null && createdBefore == null) {
+      return currency == null ? count.get() : countByCurrency.get(currency).get();
+    }
+
+    // The first whole day in the range and the day the whole days end before
+    long firstDay =
+        createdAfter == null
+            ? Long.MIN_VALUE
+            : Math.floorDiv(createdAfter.toEpochMilli(), DAY) + 1;
+    long endDay =
+        createdBefore == null ? Long.MAX_VALUE : Math.floorDiv(createdBefore.toEpochMilli(), DAY);
+    if (firstDay >= endDay) {
+      return byCreatedAt(criteria).size();
+    }
+
+    var index = currency == null ? byCreatedAt : byCurrencyAndCreatedAt.get(currency);
+    var days = currency == null ? countByDay : countByCurrencyAndDay.get(currency);
+    long total = 0;
+    for (var day : days.subMap(firstDay, true, endDay, false).values()) {
+      total += day.get();
+    }
+    if (createdAfter != null) {
+      total += range(index, createdAfter.toEpochMilli() + 1, firstDay * DAY).size();
+    }
+    if (createdBefore != null) {
+      total += range(index, endDay * DAY, createdBefore.toEpochMilli()).size();
+    }
+    return total;
+  }
+
+  /**
+   * <p>The {@code select} method picks the index for the {@code criteria} and narrows it to the
+   * creation time range when the index is in creation time order.
+   *
+   * <p>An ID ordered page without a creation time filter is read from the currency's index, or
+   * from the store without a currency filter. With a creation time filter it is read from the keys
+   * of the creation time range, {@link #count(BankAccountCriteria) counted} first and re-sorted by
+   * ID, when that costs less than checking the creation time of each bank account in ID order:
+   * the scan reads about {@code limit} times the scanned bank accounts per matching one, the range
+   * reads the matching ones.
+   *
+   * @param criteria the {@link BankAccountCriteria} of the page
+   * @param limit the number of bank accounts the page reads at most
+   * @return the keys of the bank accounts that may match, or {@code null} to read the store
+   */
+  @Nullable
+  NavigableSet<BankAccountKey> select(BankAccountCriteria criteria, int limit) {
+    if (criteria.getOrderBy() != BankAccountOrderBy.ID) {
+      return byCreatedAt(criteria);
+    }
+
+    var currency = criteria.getCurrency();
+    if (criteria.getCreatedAfter() != null || criteria.getCreatedBefore() != null) {
+      long matching = count(criteria);
+      long scanned = currency == null ? count.get() : countByCurrency.get(currency).get();
+      if (matching * matching <= scanned * limit) {
+        return byId(byCreatedAt(criteria));
+      }
+    }
+    return currency == null ? null : byCurrency.get(currency);
+  }
+
+  /** The ID order keys of the creation time order {@code keys}. */
+  private static NavigableSet<BankAccountKey> byId(NavigableSet<BankAccountKey> keys) {
+    var byId = new TreeSet<BankAccountKey>();
+    for (var key : keys) {
+      byId.add(new BankAccountKey(0, key.getId()));
+    }
+    return byId;
+  }
+
+  /** The creation time index of the {@code criteria}'s currency, narrowed to its range. */
+  private NavigableSet<BankAccountKey> byCreatedAt(BankAccountCriteria criteria) {
+    var currency = criteria.getCurrency();
+    var index = currency == null ? byCreatedAt : byCurrencyAndCreatedAt.get(currency);
+    var createdAfter = criteria.getCreatedAfter();
+    var createdBefore = criteria.getCreatedBefore();
+    if (createdAfter != null
+        && createdBefore != null
+        && createdAfter.toEpochMilli() + 1 >= createdBefore.toEpochMilli()) {
+      return Collections.emptyNavigableSet();
+    }
+    if (createdAfter != null) {
+      index =
+          index.tailSet(
+              new BankAccountKey(createdAfter.toEpochMilli() + 1, BankAccountKey.MIN_ID), true);
+    }
+    if (createdBefore != null) {
+      index =
+          index.headSet(
+              new BankAccountKey(createdBefore.toEpochMilli(), BankAccountKey.MIN_ID), false);
+    }
+    return index;
+  }
+
+  /** The keys created from {@code fromMillis} inclusive to {@code toMillis} exclusive. */
+  private static NavigableSet<BankAccountKey> range(
+      NavigableSet<BankAccountKey> index, long fromMillis, long toMillis) {
+    return index.subSet(
+        new BankAccountKey(fromMillis, BankAccountKey.MIN_ID),
+        true,
+        new BankAccountKey(toMillis, BankAccountKey.MIN_ID),
+        false);
+  }
+
+  private void add(BankAccount bankAccount) {
+    long createdAt = BankAccountCriteria.createdAtMillis(bankAccount);
+    byCreatedAt.add(new BankAccountKey(createdAt, bankAccount.getId()));
+    var currency = bankAccount.getCurrency();
+    if (currency != null) {
+      byCurrency.get(currency).add(new BankAccountKey(0, bankAccount.getId()));
+      byCurrencyAndCreatedAt.get(currency).add(new BankAccountKey(createdAt, bankAccount.getId()));
+    }
+  }
+
+  private static void remove(
+      Map<Currency, NavigableSet<BankAccountKey>> index, BankAccount bankAccount, long sortKey) {
+    var currency = bankAccount.getCurrency();
+    if (currency != null) {
+      index.get(currency).remove(new BankAccountKey(sortKey, bankAccount.getId()));
+    }
+  }
+
+  private void increment(BankAccount bankAccount, int delta) {
+    var currency = bankAccount.getCurrency();
+    if (currency != null) {
+      countByCurrency.get(currency).addAndGet(delta);
+    }
+  }
+
+  private void incrementDay(BankAccount bankAccount, long createdAt, int delta) {
+    long day = Math.floorDiv(createdAt, DAY);
+    incrementDay(countByDay, day, delta);
+    var currency = bankAccount.getCurrency();
+    if (currency != null) {
+      incrementDay(countByCurrencyAndDay.get(currency), day, delta);
+    }
+  }
+
+  /** Drops the counter of a day once it is back to zero. Safe because there is a single writer. */
+  private static void incrementDay(NavigableMap<Long, AtomicLong> days, long day, int delta) {
+    var counter = days.computeIfAbsent(day, key -> new AtomicLong());
+    if (counter.addAndGet(delta) == 0) {
+      days.remove(day, counter);
+    }
+  }
+
+  private static Map<Currency, AtomicLong> countPerCurrency() {
+    var counts = new EnumMap<Currency, AtomicLong>(Currency.class);
+    for (var currency : Currency.values()) {
+      counts.put(currency, new AtomicLong());
+    }
+    return Collections.unmodifiableMap(counts);
+  }
+
+  private static Map<Currency, NavigableMap<Long, AtomicLong>> countPerCurrencyAndDay() {
+    var counts = new EnumMap<Currency, NavigableMap<Long, AtomicLong>>(Currency.class);
+    for (var currency : Currency.values()) {
+      counts.put(currency, new ConcurrentSkipListMap<>());
+    }
+    return Collections.unmodifiableMap(counts);
+  }
+
+  private static Map<Currency, NavigableSet<BankAccountKey>> perCurrency() {
+    var index = new EnumMap<Currency, NavigableSet<BankAccountKey>>(Currency.class);
+    for (var currency : Currency.values()) {
+      index.put(currency, new ConcurrentSkipListSet<>());
+    }
+    return Collections.unmodifiableMap(index);
+  }
+}
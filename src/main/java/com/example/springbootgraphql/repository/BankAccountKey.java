@@ -0,0 +1,38 @@
+package com.example.springbootgraphql.repository;
+
+import java.util.Comparator;
+import java.util.UUID;
+import lombok.Value;
+
+/**
+ * Represents the position of a bank account in one of the orders of {@link BankAccountRepository}.
+ *
+ * <p>Keys are ordered by their {@code sortKey}, then by their ID. For the ID order every key has the
+ * sort key {@code 0}, for the creation time order it is {@link BankAccountCriteria#createdAtMillis}.
+ */
+@Value
+public class BankAccountKey implements Comparable<BankAccountKey> {
+
+  private static final Comparator<BankAccountKey> ORDER =
+      Comparator.comparingLong(BankAccountKey::getSortKey).thenComparing(BankAccountKey::getId);
+
+  /**
+   * The smallest {@link UUID} in {@link UUID#compareTo(UUID)} order.
+   */
+  static final UUID MIN_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+
+  /**
+   * The sort key of the bank account.
+   */
+  long sortKey;
+
+  /**
+   * The ID of the bank account.
+   */
+  UUID id;
+
+  @Override
+  public int compareTo(BankAccountKey other) {
+    return ORDER.compare(this, other);
+  }
+}
@@ -0,0 +1,29 @@
+package com.example.springbootgraphql.repository;
+
+import com.example.springbootgraphql.domain.bank.BankAccount;
+import java.util.List;
+import lombok.Value;
+
+/**
+ * Represents one page of bank accounts read by the {@link BankAccountRepository}.
+ *
+ * <p>This class is immutable. The bank accounts are always in ascending order, whichever direction
+ * the page was read in, and both flags are exact.
+ */
+@Value
+public class BankAccountPage {
+  /**
+   * The bank accounts in the page.
+   */
+  List<BankAccount> bankAccounts;
+
+  /**
+   * Whether there are bank accounts before the first one in the page.
+   */
+  boolean hasPreviousPage;
+
+  /**
+   * Whether there are bank accounts after the last one in the page.
+   */
+  boolean hasNextPage;
+}
@@ -5,11 +5,22 @@ import static java.util.UUID.fromString;
 import com.example.springbootgraphql.domain.bank.BankAccount;
 import com.example.springbootgraphql.domain.bank.Client;
 import com.example.springbootgraphql.domain.bank.Currency;
+import com.example.springbootgraphql.repository.journal.AccountJournal;
+import com.example.springbootgraphql.repository.journal.SnapshotStore;
+import com.example.springbootgraphql.repository.store.BankAccountStore;
 import java.time.ZonedDateTime;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.stereotype.Component;
 
 /**
@@ -17,17 +28,22 @@ import org.springframework.stereotype.Component;
  *
  * <p>The {@link BankAccountRepository} class is a Spring component that provides an in-memory implementation of a repository
  * for {@link BankAccount} objects. This class is annotated with {@link Component}, indicating that it is a Spring-managed bean.
+ * Writes are made durable through the {@link AccountJournal}, which is replayed on top of the latest snapshot when the
+ * bean is initialized.
  *
  * <p>This class provides an in-memory implementation of the BankAccountRepository.
- * It includes methods to retrieve bank accounts and bank accounts after a specific ID.
+ * It includes methods to store, delete and count bank accounts, retrieve them in ID order and read them a page at a time, forwards or backwards,
+ * filtered by currency and creation time and ordered by ID or creation time.
  */
 @Component
+@RequiredArgsConstructor
 public class BankAccountRepository {
 
   /**
-   * <p>{@code bankAccounts} is a private final list of {@link BankAccount} objects,
-   * which is initialized with a set of predefined bank accounts.
-   * These accounts are sorted by their ID using a {@link Comparator} and collected into an unmodifiable list.
+   * <p>{@code bankAccounts} is the {@link BankAccountStore} holding the {@link BankAccount} records
+   * keyed by their ID, which is seeded with a set of predefined bank accounts.
+   * The store keeps the accounts sorted by {@link UUID#compareTo(UUID)}, so inserts cost O(log n) and a cursor seek
+   * is an O(log n) view rather than a copy of the tail. Injected by {@link RequiredArgsConstructor}.
    *
    * <ul>TODO
    * <li>How to attach the node to the correlation_id? or to the actual client?
@@ -35,50 +51,305 @@ public class BankAccountRepository {
    * <li>or could this be where we attach MDC or balance or other service logic at node level
    * <li>or is this the block service on a different stack
    */
-  private final List<BankAccount> bankAccounts =
-      List.of(
-              BankAccount.builder()
-                  .id(fromString("c6aa269a-812b-49d5-b178-a739a1ed74cc"))
-                  .currency(Currency.PHP)
-                  .createdAt(ZonedDateTime.parse("2019-05-03T12:12:00+00:00"))
-                  .build(),
-              BankAccount.builder()
-                  .id(fromString("410f5919-e50b-4790-aae3-65d2d4b21c77"))
-                  .currency(Currency.CHF)
-                  .createdAt(ZonedDateTime.parse("2020-12-03T10:15:30+00:00"))
-                  .build(),
-              BankAccount.builder()
-                  .id(fromString("024bb503-5c0f-4d60-aa44-db19d87042f4"))
-                  .currency(Currency.CHF)
-                  .createdAt(ZonedDateTime.parse("2020-12-03T10:15:31+00:00"))
-                  .build(),
-              BankAccount.builder()
-                  .id(fromString("48e4a484-af2c-4366-8cd4-25330597473f"))
-                  .currency(Currency.USD)
-                  .createdAt(ZonedDateTime.parse("2007-08-07T19:01:22+04:00"))
-                  .build())
-          .stream()
-          .sorted(Comparator.comparing(BankAccount::getId))
-          .collect(Collectors.toUnmodifiableList());
-
-  /**
-   * <p>The {@code getBankAccounts} method returns the list of bank accounts.
-   * This method does not take any parameters and simply returns the {@code bankAccounts} list.
-   * @return a list of {@link BankAccount} objects
-   */
-  public List<BankAccount> getBankAccounts() {
-    return bankAccounts;
-  }
-
-  /**
-   * <p>The {@code getBankAccountsAfter} method retrieves the list of bank accounts that come after a specific ID.
-   * It takes a {@link UUID} as a parameter and uses a stream to filter and collect the bank accounts that have an ID greater than the provided ID
-   * @param id the {@link UUID} to filter by
-   * @return a list of {@link BankAccount} objects
-   */
-  public List<BankAccount> getBankAccountsAfter(UUID id) {
-    return bankAccounts.stream()
-        .dropWhile(bankAccount -> bankAccount.getId().compareTo(id) != 1)
-        .collect(Collectors.toUnmodifiableList());
+  private final BankAccountStore bankAccounts;
+
+  /**
+   * Dependency {@link AccountJournal} injected by {@link RequiredArgsConstructor}.
+   * Every write is appended to it before it becomes visible in {@code bankAccounts}.
+   */
+  private final AccountJournal accountJournal;
+
+  /**
+   * Serializes writes so that the journal order always matches the order in which they are applied in memory.
+   * Reads never take it.
+   */
+  private final Object writeLock = new Object();
+
+  /**
+   * Dependency {@link SnapshotStore} injected by {@link RequiredArgsConstructor}.
+   */
+  private final SnapshotStore snapshotStore;
+
+  /**
+   * The journal sequence of the last snapshot written or loaded.
+   */
+  private volatile long snapshotSequence;
+
+  /**
+   * The {@link BankAccountIndexes} answering filtered and creation time ordered pages, updated with
+   * {@code bankAccounts} under the write lock.
+   */
+  private final BankAccountIndexes indexes = new BankAccountIndexes();
+
+  /**
+   * <p>The {@code init} method loads the latest snapshot from the {@link SnapshotStore} and then replays the
+   * {@link AccountJournal} writes made after it. Only when there is neither a snapshot nor a journal, on the very first
+   * start or with journaling disabled, the {@code bankAccounts} index is seeded with the predefined bank accounts.
+   * The seeds are saved like any other write, so from then on they are part of the persisted state and a deleted
+   * seed stays deleted across restarts.
+   */
+  @PostConstruct
+  public void init() {
+    snapshotSequence = snapshotStore.load(this::apply);
+    if (accountJournal.recover(snapshotSequence, this::apply, this::applyDelete) > 0) {
+      return;
+    }
+
+    List.of(
+            BankAccount.builder()
+                .id(fromString("c6aa269a-812b-49d5-b178-a739a1ed74cc"))
+                .currency(Currency.PHP)
+                .createdAt(ZonedDateTime.parse("2019-05-03T12:12:00+00:00"))
+                .build(),
+            BankAccount.builder()
+                .id(fromString("410f5919-e50b-4790-aae3-65d2d4b21c77"))
+                .currency(Currency.CHF)
+                .createdAt(ZonedDateTime.parse("2020-12-03T10:15:30+00:00"))
+                .build(),
+            BankAccount.builder()
+                .id(fromString("024bb503-5c0f-4d60-aa44-db19d87042f4"))
+                .currency(Currency.CHF)
+                .createdAt(ZonedDateTime.parse("2020-12-03T10:15:31+00:00"))
+                .build(),
+            BankAccount.builder()
+                .id(fromString("48e4a484-af2c-4366-8cd4-25330597473f"))
+                .currency(Currency.USD)
+                .createdAt(ZonedDateTime.parse("2007-08-07T19:01:22+04:00"))
+                .build())
+        .forEach(this::save);
+  }
+
+  /**
+   * <p>The {@code snapshot} method writes the current {@code bankAccounts} to the given {@link SnapshotStore}
+   * without blocking writers. Only reading the journal sequence takes the write lock: every write up to that sequence
+   * is already applied, and writes made while the index is being iterated are replayed again from the journal on load.
+   *
+   * @param store the {@link SnapshotStore} to write to
+   * @return {@code true} if a snapshot was written, {@code false} if nothing was journaled since the last one
+   */
+  public boolean snapshot(SnapshotStore store) {
+    long sequence;
+    synchronized (writeLock) {
+      sequence = accountJournal.getLastSequence();
+    }
+    if (sequence == snapshotSequence) {
+      return false;
+    }
+    store.write(sequence, bankAccounts.values());
+    snapshotSequence = sequence;
+    return true;
+  }
+
+  /**
+   * <p>The {@code save} method inserts or replaces a {@link BankAccount} in the index, keyed by its ID.
+   * The write is appended to the {@link AccountJournal} first, so it survives a restart according to the configured
+   * {@link com.example.springbootgraphql.repository.journal.FsyncPolicy FsyncPolicy}. A bank account the
+   * {@link BankAccountStore} cannot hold is rejected before it is journaled, so it never breaks the replay.
+   *
+   * @param bankAccount the {@link BankAccount} to store
+   * @return the stored {@link BankAccount}
+   * @throws IllegalArgumentException if the {@link BankAccountStore} cannot hold the bank account or the
+   *     {@link AccountJournal} cannot encode it, before anything is written
+   */
+  public BankAccount save(BankAccount bankAccount) {
+    bankAccounts.validate(bankAccount);
+    synchronized (writeLock) {
+      accountJournal.append(bankAccount);
+      apply(bankAccount);
+    }
+    return bankAccount;
+  }
+
+  /**
+   * <p>The {@code delete} method removes the {@link BankAccount} with the given ID, if any. Like {@link #save}, the
+   * delete is appended to the {@link AccountJournal} first.
+   *
+   * @param id the {@link UUID} of the bank account
+   * @return {@code true} if a bank account was deleted
+   */
+  public boolean delete(UUID id) {
+    synchronized (writeLock) {
+      if (bankAccounts.get(id) == null) {
+        return false;
+      }
+      accountJournal.appendDelete(id);
+      applyDelete(id);
+    }
+    return true;
+  }
+
+  /**
+   * <p>The {@code count} method counts the bank accounts matching the {@code criteria} without reading them:
+   * unfiltered and currency filtered counts are counters maintained on every insert and delete, creation time
+   * filtered counts add up per day counters, which costs the number of days in the range. See
+   * {@link BankAccountIndexes#count}.
+   *
+   * @param criteria the filters to count, the order being irrelevant
+   * @return the number of matching bank accounts
+   */
+  public long count(BankAccountCriteria criteria) {
+    return indexes.count(criteria);
+  }
+
+  /** Stores the bank account and updates the {@code indexes}. Only called by the single writer. */
+  private void apply(BankAccount bankAccount) {
+    var previous = bankAccounts.get(bankAccount.getId());
+    bankAccounts.put(bankAccount);
+    indexes.update(previous, bankAccount);
+  }
+
+  /** Removes the bank account and its {@code indexes} keys. Only called by the single writer. */
+  private void applyDelete(UUID id) {
+    var previous = bankAccounts.get(id);
+    if (previous != null) {
+      bankAccounts.remove(id);
+      indexes.remove(previous);
+    }
+  }
+
+  /**
+   * <p>The {@code findById} method looks up a single {@link BankAccount} by its ID.
+   *
+   * @param id the {@link UUID} of the bank account
+   * @return the {@link BankAccount}, or an empty {@link Optional} if there is none with that ID
+   */
+  public Optional<BankAccount> findById(UUID id) {
+    return Optional.ofNullable(bankAccounts.get(id));
+  }
+
+  /**
+   * <p>The {@code getBankAccounts} method returns all bank accounts in ID order.
+   * This method does not take any parameters and returns a live, read-only view of the {@code bankAccounts} index,
+   * so nothing is copied until the caller iterates it.
+   * @return a collection of {@link BankAccount} objects
+   */
+  public Collection<BankAccount> getBankAccounts() {
+    return bankAccounts.values();
+  }
+
+  /**
+   * <p>The {@code getBankAccountsAfter} method reads one page of bank accounts matching the {@code criteria}
+   * forwards in their order. It seeks past the {@code after} key, if any, and reads at most {@code first + 1}
+   * matching bank accounts: the extra one only tells whether there is a next page.
+   *
+   * <p>Unfiltered ID ordered pages seek in the {@link BankAccountStore}, so the cost of a page depends on its size
+   * and not on the number of stored accounts. Filtered and creation time ordered pages are a range scan of the
+   * index picked by {@link BankAccountIndexes#select(BankAccountCriteria, int)}, which costs the same as long as
+   * the index covers the filters. An ID ordered page with creation time filters either re-sorts the keys of a
+   * narrow creation time range by ID or checks the creation time per bank account while scanning a wide one, so
+   * it costs at most about the square root of the page size times the accounts scanned.
+   *
+   * @param criteria the filters and the order of the page
+   * @param after the {@link BankAccountKey} to seek past, or {@code null} to start from the first bank account
+   * @param first the number of bank accounts in the page
+   * @return a {@link BankAccountPage} of at most {@code first} bank accounts
+   */
+  public BankAccountPage getBankAccountsAfter(
+      BankAccountCriteria criteria, @Nullable BankAccountKey after, int first) {
+    var page = take(ascending(criteria, after, first + 1), first);
+    boolean hasNextPage = page.size() > first;
+    if (hasNextPage) {
+      page = page.subList(0, first);
+    }
+
+    boolean hasPreviousPage =
+        after != null
+            && (page.isEmpty()
+                ? contains(criteria, after) || isNotEmpty(descending(criteria, after, 1))
+                : isNotEmpty(descending(criteria, criteria.keyOf(page.get(0)), 1)));
+    return new BankAccountPage(page, hasPreviousPage, hasNextPage);
+  }
+
+  /**
+   * <p>The {@code getBankAccountsBefore} method reads one page of bank accounts matching the {@code criteria}
+   * backwards, iterating in descending order from the {@code before} key, if any. Like
+   * {@link #getBankAccountsAfter(BankAccountCriteria, BankAccountKey, int)} it reads at most {@code last + 1}
+   * matching bank accounts, so a backward page costs the same as a forward one. The returned page is in ascending
+   * order.
+   *
+   * @param criteria the filters and the order of the page
+   * @param before the {@link BankAccountKey} to seek before, or {@code null} to end at the last bank account
+   * @param last the number of bank accounts in the page
+   * @return a {@link BankAccountPage} of at most {@code last} bank accounts
+   */
+  public BankAccountPage getBankAccountsBefore(
+      BankAccountCriteria criteria, @Nullable BankAccountKey before, int last) {
+    var page = new ArrayList<>(take(descending(criteria, before, last + 1), last));
+    boolean hasPreviousPage = page.size() > last;
+    if (hasPreviousPage) {
+      page.remove(last);
+    }
+    Collections.reverse(page);
+
+    boolean hasNextPage =
+        before != null
+            && (page.isEmpty()
+                ? contains(criteria, before) || isNotEmpty(ascending(criteria, before, 1))
+                : isNotEmpty(ascending(criteria, criteria.keyOf(page.get(page.size() - 1)), 1)));
+    return new BankAccountPage(
+        Collections.unmodifiableList(page), hasPreviousPage, hasNextPage);
+  }
+
+  /**
+   * The bank accounts matching the {@code criteria} after {@code key}, in ascending order, of which
+   * at most {@code limit} are read.
+   */
+  private Stream<BankAccount> ascending(
+      BankAccountCriteria criteria, @Nullable BankAccountKey key, int limit) {
+    var index = indexes.select(criteria, limit);
+    if (index == null) {
+      var values = key == null ? bankAccounts.values() : bankAccounts.valuesAfter(key.getId());
+      return filter(criteria, values.stream());
+    }
+    return resolve(criteria, key == null ? index : index.tailSet(key, false));
+  }
+
+  /**
+   * The bank accounts matching the {@code criteria} before {@code key}, in descending order, of
+   * which at most {@code limit} are read.
+   */
+  private Stream<BankAccount> descending(
+      BankAccountCriteria criteria, @Nullable BankAccountKey key, int limit) {
+    var index = indexes.select(criteria, limit);
+    if (index == null) {
+      var values =
+          key == null ? bankAccounts.descendingValues() : bankAccounts.valuesBefore(key.getId());
+      return filter(criteria, values.stream());
+    }
+    return resolve(
+        criteria, key == null ? index.descendingSet() : index.headSet(key, false).descendingSet());
+  }
+
+  private static Stream<BankAccount> filter(BankAccountCriteria criteria, Stream<BankAccount> values) {
+    return criteria.isUnfiltered() ? values : values.filter(criteria::matches);
+  }
+
+  /** Looks the index keys up in the store, skipping keys that no longer match their bank account. */
+  private Stream<BankAccount> resolve(BankAccountCriteria criteria, Collection<BankAccountKey> keys) {
+    return keys.stream()
+        .map(key -> find(criteria, key))
+        .filter(Objects::nonNull);
+  }
+
+  private boolean contains(BankAccountCriteria criteria, BankAccountKey key) {
+    return find(criteria, key) != null;
+  }
+
+  private @Nullable BankAccount find(BankAccountCriteria criteria, BankAccountKey key) {
+    var bankAccount = bankAccounts.get(key.getId());
+    return bankAccount != null
+            && criteria.matches(bankAccount)
+            && criteria.keyOf(bankAccount).equals(key)
+        ? bankAccount
+        : null;
+  }
+
+  /** Reads at most {@code count + 1} bank accounts, the look-ahead telling whether there are more. */
+  private static List<BankAccount> take(Stream<BankAccount> values, int count) {
+    return values.limit(count + 1L).collect(Collectors.toUnmodifiableList());
+  }
+
+  private static boolean isNotEmpty(Stream<BankAccount> values) {
+    return values.findAny().isPresent();
   }
 }
@@ -0,0 +1,260 @@
+package com.example.springbootgraphql.repository.journal;
+
+import com.example.springbootgraphql.domain.bank.BankAccount;
+import com.example.springbootgraphql.util.ExecutorFactory;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * AccountJournal
+ *
+ * <p>An append-only journal of {@link BankAccount} writes made of memory-mapped {@link
+ * JournalSegment} files. Every write gets a monotonically increasing sequence, is appended to the
+ * active segment and is forced to disk according to the configured {@link FsyncPolicy}. When the
+ * active segment is full the journal rolls to a new one named after its first sequence.
+ *
+ * <p>On startup the {@link com.example.springbootgraphql.repository.BankAccountRepository
+ * BankAccountRepository} calls {@link #recover(long, Consumer, Consumer)} to replay the journal into
+ * memory; appends are only accepted after that.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountJournal {
+
+  private static final byte PUT = 1;
+  private static final byte DELETE = 2;
+
+  private final JournalProperties properties;
+  private final ExecutorFactory executorFactory;
+
+  private final Object lock = new Object();
+  private final ByteBuffer scratch = ByteBuffer.allocate(1024);
+  private final List<JournalSegment> segments = new ArrayList<>();
+  private volatile JournalSegment active;
+  private volatile long lastSequence;
+  private ScheduledFuture<?> fsyncTask;
+
+  /**
+   * Replays every journaled write with a sequence greater than {@code afterSequence} in order and
+   * opens the journal for appends. Does nothing when journaling is disabled.
+   *
+   * @param afterSequence the sequence already reflected by the caller's state, {@code 0} for none
+   * @param consumer receives each replayed {@link BankAccount}
+   * @param deleteConsumer receives the ID of each replayed delete
+   * @return the sequence of the last journaled write
+   */
+  public long recover(
+      long afterSequence, Consumer<BankAccount> consumer, Consumer<UUID> deleteConsumer) {
+    if (!properties.isEnabled()) {
+      return afterSequence;
+    }
+    synchronized (lock) {
+      try {
+        var directory = properties.getDirectory();
+        Files.createDirectories(directory);
+        var replayed = new AtomicLong();
+        long sequence = afterSequence;
+        for (var path : listSegments(directory)) {
+          var segment = JournalSegment.open(path);
+          long last =
+              segment.recover(
+                  recordSequence -> recordSequence > afterSequence,
+                  (payload, recordSequence) -> {
+                    byte type = payload.get();
+                    if (type == PUT) {
+                      consumer.accept(BankAccountRecordCodec.decode(payload));
+                    } else if (type == DELETE) {
+                      deleteConsumer.accept(new UUID(payload.getLong(), payload.getLong()));
+                    }
+                    replayed.incrementAndGet();
+                  });
+          sequence = Math.max(sequence, last);
+          segments.add(segment);
+        }
+        lastSequence = sequence;
+        active = segments.isEmpty() ? roll() : segments.get(segments.size() - 1);
+        log.info("Replayed {} journal records up to sequence {}", replayed, sequence);
+      } catch (IOException e) {
+        throw new UncheckedIOException("Unable to recover the account journal", e);
+      }
+    }
+    if (properties.getFsyncPolicy() == FsyncPolicy.INTERVAL) {
+      var interval = properties.getFsyncInterval().toMillis();
+      fsyncTask =
+          executorFactory
+              .getScheduler(ExecutorFactory.JOURNAL_FSYNC_SCHEDULER)
+              .scheduleWithFixedDelay(this::force, interval, interval, TimeUnit.MILLISECONDS);
+    }
+    return lastSequence;
+  }
+
+  /**
+   * Appends a write of the given {@link BankAccount} to the journal.
+   *
+   * @param bankAccount the {@link BankAccount} being written
+   * @return the sequence assigned to the write, or {@code 0} when journaling is disabled
+   */
+  public long append(BankAccount bankAccount) {
+    if (!properties.isEnabled()) {
+      return 0;
+    }
+    synchronized (lock) {
+      scratch.clear();
+      scratch.put(PUT);
+      BankAccountRecordCodec.encode(bankAccount, scratch);
+      return appendScratch();
+    }
+  }
+
+  /**
+   * Appends a delete of the bank account with the given ID to the journal.
+   *
+   * @param id the {@link UUID} of the bank account being deleted
+   * @return the sequence assigned to the delete, or {@code 0} when journaling is disabled
+   */
+  public long appendDelete(UUID id) {
+    if (!properties.isEnabled()) {
+      return 0;
+    }
+    synchronized (lock) {
+      scratch.clear();
+      scratch.put(DELETE);
+      scratch.putLong(id.getMostSignificantBits());
+      scratch.putLong(id.getLeastSignificantBits());
+      return appendScratch();
+    }
+  }
+
+  /** Appends the record in {@code scratch} with the next sequence. Called holding the lock. */
+  private long appendScratch() {
+    if (active == null) {
+      throw new IllegalStateException("The account journal has not been recovered");
+    }
+    scratch.flip();
+
+    long sequence = lastSequence + 1;
+    if (!active.append(sequence, scratch)) {
+      active = roll();
+      if (!active.append(sequence, scratch)) {
+        throw new IllegalStateException("Journal record exceeds the segment size");
+      }
+    }
+    lastSequence = sequence;
+    if (properties.getFsyncPolicy() == FsyncPolicy.PER_WRITE) {
+      active.force();
+    }
+    return sequence;
+  }
+
+  /**
+   * Deletes every segment whose records all have a sequence up to and including {@code
+   * upToSequence}. The active segment is never deleted.
+   *
+   * @param upToSequence the sequence already covered by a snapshot
+   * @return the number of deleted segments
+   */
+  public int compact(long upToSequence) {
+    List<JournalSegment> compacted;
+    synchronized (lock) {
+      int covered = 0;
+      // A segment is fully covered when the segment after it starts no later than upToSequence + 1
+      while (covered + 1 < segments.size()
+          && segments.get(covered + 1).getBaseSequence() <= upToSequence + 1) {
+        covered++;
+      }
+      var head = segments.subList(0, covered);
+      compacted = new ArrayList<>(head);
+      head.clear();
+    }
+    for (var segment : compacted) {
+      try {
+        Files.deleteIfExists(segment.getPath());
+      } catch (IOException e) {
+        log.warn("Unable to delete compacted journal segment {}", segment.getPath(), e);
+      }
+    }
+    if (!compacted.isEmpty()) {
+      log.info("Compacted {} journal segments up to sequence {}", compacted.size(), upToSequence);
+    }
+    return compacted.size();
+  }
+
+  /**
+   * @return the sequence of the last journaled write
+   */
+  public long getLastSequence() {
+    return lastSequence;
+  }
+
+  /** Forces the active segment to disk. Runs on the fsync scheduler for the interval policy. */
+  private void force() {
+    var segment = active;
+    if (segment != null) {
+      segment.force();
+    }
+  }
+
+  /**
+   * Forces the active segment, if any, and maps a new one starting at the next sequence.
+   *
+   * @return the new active segment
+   * @throws UncheckedIOException if the segment cannot be created
+   */
+  private JournalSegment roll() {
+    if (active != null && properties.getFsyncPolicy() != FsyncPolicy.OS) {
+      active.force();
+    }
+    try {
+      var segment =
+          JournalSegment.create(
+              properties.getDirectory(),
+              lastSequence + 1,
+              Math.toIntExact(properties.getSegmentSize().toBytes()));
+      segments.add(segment);
+      log.info("Rolled account journal to {}", segment.getPath());
+      return segment;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to create a journal segment", e);
+    }
+  }
+
+  private static List<Path> listSegments(Path directory) throws IOException {
+    try (var files = Files.list(directory)) {
+      return files
+          .filter(
+              path -> {
+                var name = path.getFileName().toString();
+                return name.startsWith(JournalSegment.PREFIX) && name.endsWith(JournalSegment.SUFFIX);
+              })
+          .sorted()
+          .collect(Collectors.toList());
+    }
+  }
+
+  /** Cancels the interval fsync and forces the active segment on shutdown. */
+  @PreDestroy
+  public void close() {
+    if (fsyncTask != null) {
+      fsyncTask.cancel(false);
+    }
+    synchronized (lock) {
+      force();
+    }
+  }
+}
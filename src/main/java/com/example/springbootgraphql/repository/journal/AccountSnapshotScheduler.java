@@ -0,0 +1,71 @@
+package com.example.springbootgraphql.repository.journal;
+
+import com.example.springbootgraphql.repository.BankAccountRepository;
+import com.example.springbootgraphql.util.ExecutorFactory;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * AccountSnapshotScheduler
+ *
+ * <p>Periodically snapshots the {@link BankAccountRepository} on a background thread and then
+ * compacts the {@link AccountJournal} segments the retained snapshots already cover. Writers are
+ * only held up for the moment it takes to read the current journal sequence, so a restart costs one
+ * snapshot load plus replaying the short journal tail written since.
+ *
+ * <p>The snapshots run on the {@link ExecutorFactory#SNAPSHOT_SCHEDULER}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountSnapshotScheduler {
+
+  private final JournalProperties properties;
+  private final BankAccountRepository bankAccountRepository;
+  private final AccountJournal accountJournal;
+  private final SnapshotStore snapshotStore;
+  private final ExecutorFactory executorFactory;
+
+  private ScheduledFuture<?> task;
+
+  /** Schedules the periodic snapshot if journaling is enabled and an interval is configured. */
+  @PostConstruct
+  public void start() {
+    var interval = properties.getSnapshotInterval().toMillis();
+    if (!properties.isEnabled() || interval <= 0) {
+      return;
+    }
+    task =
+        executorFactory
+            .getScheduler(ExecutorFactory.SNAPSHOT_SCHEDULER)
+            .scheduleWithFixedDelay(this::snapshot, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Writes a snapshot if anything was journaled since the last one, then compacts the journal up to
+   * the oldest snapshot that is still retained.
+   */
+  public synchronized void snapshot() {
+    try {
+      if (bankAccountRepository.snapshot(snapshotStore)) {
+        snapshotStore.getOldestRetainedSequence().ifPresent(accountJournal::compact);
+      }
+    } catch (RuntimeException e) {
+      // Keep the schedule alive, the next run retries with a newer sequence
+      log.error("Snapshot failed", e);
+    }
+  }
+
+  /** Cancels the periodic snapshot, waiting for a running one to finish. */
+  @PreDestroy
+  public synchronized void stop() {
+    if (task != null) {
+      task.cancel(false);
+    }
+  }
+}
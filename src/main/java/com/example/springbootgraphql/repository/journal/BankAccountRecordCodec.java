@@ -0,0 +1,131 @@
+package com.example.springbootgraphql.repository.journal;
+
+import com.example.springbootgraphql.domain.bank.BankAccount;
+import com.example.springbootgraphql.domain.bank.Currency;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * BankAccountRecordCodec
+ *
+ * <p>Encodes the persisted fields of a {@link BankAccount} into a compact binary record and back.
+ * The {@code client} and {@code assets} fields are resolved by their own resolvers and are not part
+ * of the stored account state.
+ *
+ * <p>Layout: {@code id msb (8) | id lsb (8) | flags (1) | currency ordinal (1)} followed by the
+ * optional {@code createdAt} (epoch second, nano, zone id), {@code createdOn} (epoch day) and
+ * {@code balance} (scale, unscaled bytes) sections flagged as present. The zone id and the
+ * unscaled bytes are at most 255 bytes long, so a record fits the 1 KiB buffers of the journal and
+ * the snapshots.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BankAccountRecordCodec {
+
+  private static final int HAS_CURRENCY = 1;
+  private static final int HAS_CREATED_AT = 1 << 1;
+  private static final int HAS_CREATED_ON = 1 << 2;
+  private static final int HAS_BALANCE = 1 << 3;
+
+  /** The lengths of the variable sections are written as one unsigned byte. */
+  private static final int MAX_SECTION_LENGTH = 0xFF;
+
+  private static final Currency[] CURRENCIES = Currency.values();
+
+  /**
+   * Writes the record for the given {@link BankAccount} at the buffer's position.
+   *
+   * @param bankAccount the {@link BankAccount} to encode
+   * @param buffer the {@link ByteBuffer} to write into, advanced past the record
+   * @throws java.nio.BufferOverflowException if the record does not fit the remaining buffer
+   * @throws IllegalArgumentException if the zone id or the unscaled balance is longer than 255
+   *     bytes, before anything is written
+   */
+  public static void encode(BankAccount bankAccount, ByteBuffer buffer) {
+    var id = bankAccount.getId();
+    var currency = bankAccount.getCurrency();
+    var createdAt = bankAccount.getCreatedAt();
+    var createdOn = bankAccount.getCreatedOn();
+    var balance = bankAccount.getBalance();
+
+    var zone =
+        createdAt != null
+            ? sectionOf(createdAt.getZone().getId().getBytes(StandardCharsets.US_ASCII), "Zone id")
+            : null;
+    var unscaled =
+        balance != null ? sectionOf(balance.unscaledValue().toByteArray(), "Balance") : null;
+
+    int flags =
+        (currency != null ? HAS_CURRENCY : 0)
+            | (createdAt != null ? HAS_CREATED_AT : 0)
+            | (createdOn != null ? HAS_CREATED_ON : 0)
+            | (balance != null ? HAS_BALANCE : 0);
+
+    buffer.putLong(id.getMostSignificantBits());
+    buffer.putLong(id.getLeastSignificantBits());
+    buffer.put((byte) flags);
+    buffer.put(currency != null ? (byte) currency.ordinal() : 0);
+    if (createdAt != null) {
+      buffer.putLong(createdAt.toEpochSecond());
+      buffer.putInt(createdAt.getNano());
+      buffer.put((byte) zone.length);
+      buffer.put(zone);
+    }
+    if (createdOn != null) {
+      buffer.putLong(createdOn.toEpochDay());
+    }
+    if (balance != null) {
+      buffer.putInt(balance.scale());
+      buffer.put((byte) unscaled.length);
+      buffer.put(unscaled);
+    }
+  }
+
+  /**
+   * Reads a record written by {@link #encode(BankAccount, ByteBuffer)} at the buffer's position.
+   *
+   * @param buffer the {@link ByteBuffer} to read from, advanced past the record
+   * @return the decoded {@link BankAccount}
+   */
+  public static BankAccount decode(ByteBuffer buffer) {
+    var builder = BankAccount.builder().id(new UUID(buffer.getLong(), buffer.getLong()));
+    int flags = buffer.get();
+    int currency = buffer.get();
+    if ((flags & HAS_CURRENCY) != 0) {
+      builder.currency(CURRENCIES[currency]);
+    }
+    if ((flags & HAS_CREATED_AT) != 0) {
+      var instant = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+      var zone = new byte[buffer.get() & 0xFF];
+      buffer.get(zone);
+      builder.createdAt(
+          ZonedDateTime.ofInstant(instant, ZoneId.of(new String(zone, StandardCharsets.US_ASCII))));
+    }
+    if ((flags & HAS_CREATED_ON) != 0) {
+      builder.createdOn(LocalDate.ofEpochDay(buffer.getLong()));
+    }
+    if ((flags & HAS_BALANCE) != 0) {
+      int scale = buffer.getInt();
+      var unscaled = new byte[buffer.get() & 0xFF];
+      buffer.get(unscaled);
+      builder.balance(new BigDecimal(new BigInteger(unscaled), scale));
+    }
+    return builder.build();
+  }
+
+  private static byte[] sectionOf(byte[] bytes, String field) {
+    if (bytes.length > MAX_SECTION_LENGTH) {
+      throw new IllegalArgumentException(
+          field + " takes " + bytes.length + " bytes, a record holds " + MAX_SECTION_LENGTH);
+    }
+    return bytes;
+  }
+}
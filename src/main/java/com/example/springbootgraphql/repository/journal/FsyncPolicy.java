@@ -0,0 +1,17 @@
+package com.example.springbootgraphql.repository.journal;
+
+/**
+ * Enum representing when the {@link AccountJournal} forces its memory-mapped segments to disk.
+ *
+ * <p>This enum includes the following policies:
+ * <ul>
+ *   <li>PER_WRITE - force after every append, nothing acknowledged is ever lost</li>
+ *   <li>INTERVAL - force on a fixed interval, at most one interval of writes is lost on a crash</li>
+ *   <li>OS - never force explicitly, the OS page cache decides when dirty pages are written</li>
+ * </ul>
+ */
+public enum FsyncPolicy {
+  PER_WRITE, // Durable per write, lowest throughput
+  INTERVAL, // Durable per interval
+  OS // Durable whenever the OS flushes, highest throughput
+}
@@ -0,0 +1,52 @@
+package com.example.springbootgraphql.repository.journal;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * JournalProperties
+ *
+ * <p>Binds the {@code bank.journal} block of {@code application.yml} that configures where the
+ * {@link AccountJournal} keeps its segments, how often it forces them to disk and how often the
+ * {@link SnapshotStore} snapshots the account state.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "bank.journal")
+public class JournalProperties {
+
+  /**
+   * Whether account writes are journaled at all. When disabled the repository is purely in-memory.
+   */
+  private boolean enabled = true;
+
+  /**
+   * The directory holding the journal segment files.
+   */
+  private Path directory = Path.of("data", "journal");
+
+  /**
+   * The size each memory-mapped segment file is pre-allocated to before rolling to the next one.
+   */
+  private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+  /**
+   * When appended records are forced to disk.
+   */
+  private FsyncPolicy fsyncPolicy = FsyncPolicy.INTERVAL;
+
+  /**
+   * How often the active segment is forced when {@link FsyncPolicy#INTERVAL} is used.
+   */
+  private Duration fsyncInterval = Duration.ofSeconds(1);
+
+  /**
+   * How often a snapshot of the account state is written and the journal compacted behind it. A
+   * zero interval disables periodic snapshots.
+   */
+  private Duration snapshotInterval = Duration.ofMinutes(5);
+}
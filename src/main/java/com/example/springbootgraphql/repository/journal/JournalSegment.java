@@ -0,0 +1,151 @@
+package com.example.springbootgraphql.repository.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongPredicate;
+import java.util.function.ObjLongConsumer;
+import java.util.zip.CRC32;
+import lombok.Getter;
+
+/**
+ * JournalSegment
+ *
+ * <p>A single pre-allocated, memory-mapped journal file. Records are appended as {@code length (4)
+ * | crc32 (4) | sequence (8) | payload} and a zero length marks the end of the written region, so
+ * a segment is recovered by scanning from its header until the first empty or corrupt record.
+ *
+ * <p>Segments are not thread safe; the {@link AccountJournal} serializes every append.
+ */
+class JournalSegment {
+
+  static final String PREFIX = "journal-";
+  static final String SUFFIX = ".seg";
+
+  private static final int MAGIC = 0x42414a31; // "BAJ1"
+  private static final int HEADER_SIZE = Integer.BYTES + Long.BYTES;
+  private static final int RECORD_HEADER_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES;
+
+  @Getter private final Path path;
+  @Getter private final long baseSequence;
+  private final MappedByteBuffer buffer;
+  private final CRC32 crc = new CRC32();
+
+  private JournalSegment(Path path, long baseSequence, MappedByteBuffer buffer) {
+    this.path = path;
+    this.baseSequence = baseSequence;
+    this.buffer = buffer;
+  }
+
+  /**
+   * Creates and maps a new segment whose first record will carry {@code baseSequence}.
+   *
+   * @param directory the journal directory
+   * @param baseSequence the sequence of the first record in the segment
+   * @param size the number of bytes to pre-allocate
+   * @return the mapped segment, positioned after its header
+   * @throws IOException if the file cannot be created or mapped
+   */
+  static JournalSegment create(Path directory, long baseSequence, int size) throws IOException {
+    var path = directory.resolve(String.format("%s%020d%s", PREFIX, baseSequence, SUFFIX));
+    var segment = new JournalSegment(path, baseSequence, map(path, size, true));
+    segment.buffer.putInt(MAGIC).putLong(baseSequence);
+    return segment;
+  }
+
+  /**
+   * Maps an existing segment for recovery. Call {@link #recover} before appending to it.
+   *
+   * @param path the segment file
+   * @return the mapped segment
+   * @throws IOException if the file cannot be mapped or is not a journal segment
+   */
+  static JournalSegment open(Path path) throws IOException {
+    var buffer = map(path, 0, false);
+    if (buffer.capacity() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+      throw new IOException("Not a journal segment: " + path);
+    }
+    return new JournalSegment(path, buffer.getLong(), buffer);
+  }
+
+  private static MappedByteBuffer map(Path path, int size, boolean create) throws IOException {
+    var options =
+        create
+            ? new StandardOpenOption[] {
+              StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE
+            }
+            : new StandardOpenOption[] {StandardOpenOption.READ, StandardOpenOption.WRITE};
+    try (var channel = FileChannel.open(path, options)) {
+      return channel.map(FileChannel.MapMode.READ_WRITE, 0, create ? size : channel.size());
+    }
+  }
+
+  /**
+   * Scans the segment from its header, handing every intact record to {@code consumer}, and leaves
+   * the write position just after the last intact record so a torn tail is overwritten.
+   *
+   * @param include decides by sequence whether a record is handed to the consumer
+   * @param consumer receives the payload of each included record and its sequence
+   * @return the sequence of the last intact record, or {@code baseSequence - 1} if there is none
+   */
+  long recover(LongPredicate include, ObjLongConsumer<ByteBuffer> consumer) {
+    long lastSequence = baseSequence - 1;
+    buffer.position(HEADER_SIZE);
+    while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+      int start = buffer.position();
+      int length = buffer.getInt();
+      if (length <= 0 || length > buffer.remaining() - Integer.BYTES - Long.BYTES) {
+        buffer.position(start);
+        break;
+      }
+      int checksum = buffer.getInt();
+      long sequence = buffer.getLong();
+      var payload = buffer.slice();
+      payload.limit(length);
+      crc.reset();
+      crc.update(payload.duplicate());
+      if ((int) crc.getValue() != checksum) {
+        buffer.position(start);
+        break;
+      }
+      if (include.test(sequence)) {
+        consumer.accept(payload, sequence);
+      }
+      lastSequence = sequence;
+      buffer.position(buffer.position() + length);
+    }
+    return lastSequence;
+  }
+
+  /**
+   * Appends one record.
+   *
+   * @param sequence the record's sequence
+   * @param payload the encoded record, from its position to its limit
+   * @return {@code false} if the segment has no room left for the record
+   */
+  boolean append(long sequence, ByteBuffer payload) {
+    int length = payload.remaining();
+    if (buffer.remaining() < RECORD_HEADER_SIZE + length) {
+      return false;
+    }
+    crc.reset();
+    crc.update(payload.duplicate());
+    // Write the payload before the length so a crash never exposes a length without its payload
+    int start = buffer.position();
+    buffer.position(start + RECORD_HEADER_SIZE);
+    buffer.put(payload);
+    buffer.putLong(start + Integer.BYTES + Integer.BYTES, sequence);
+    buffer.putInt(start + Integer.BYTES, (int) crc.getValue());
+    buffer.putInt(start, length);
+    return true;
+  }
+
+  /** Forces any changes made to this segment to the storage device. */
+  void force() {
+    buffer.force();
+  }
+}
@@ -0,0 +1,193 @@
+package com.example.springbootgraphql.repository.journal;
+
+import com.example.springbootgraphql.domain.bank.BankAccount;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * SnapshotStore
+ *
+ * <p>Writes and loads compact binary snapshots of the account state next to the {@link
+ * AccountJournal} segments. A snapshot is {@code magic (4) | sequence (8)} followed by {@code
+ * length (2) | record} entries encoded by {@link BankAccountRecordCodec}, a zero length, and a
+ * trailing crc32 of everything before it.
+ *
+ * <p>Snapshots are written to a temporary file and atomically renamed, so a crash mid-write never
+ * leaves a partial {@code .snap} file behind. The newest {@link #RETAINED} snapshots are kept, so
+ * one that turns out to be unreadable can fall back to the previous one.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SnapshotStore {
+
+  static final int RETAINED = 2;
+
+  private static final String PREFIX = "snapshot-";
+  private static final String SUFFIX = ".snap";
+  private static final int MAGIC = 0x42415331; // "BAS1"
+  private static final int BUFFER_SIZE = 1 << 16;
+  private static final int MAX_RECORD_SIZE = 1024;
+
+  private final JournalProperties properties;
+
+  /**
+   * Writes a snapshot of {@code bankAccounts} as of journal sequence {@code sequence}.
+   *
+   * <p>The accounts may keep changing while they are iterated; every write after {@code sequence}
+   * is replayed from the journal on load, so the snapshot only has to contain every write up to it.
+   *
+   * @param sequence the last journal sequence reflected by {@code bankAccounts}
+   * @param bankAccounts the accounts to write
+   * @return the number of accounts written
+   */
+  public long write(long sequence, Iterable<BankAccount> bankAccounts) {
+    var directory = properties.getDirectory();
+    var target = directory.resolve(String.format("%s%020d%s", PREFIX, sequence, SUFFIX));
+    var temporary = directory.resolve(target.getFileName() + ".tmp");
+    var crc = new CRC32();
+    var buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    long count = 0;
+
+    try (var channel =
+        FileChannel.open(
+            temporary,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE)) {
+      buffer.putInt(MAGIC).putLong(sequence);
+      for (var bankAccount : bankAccounts) {
+        if (buffer.remaining() < Short.BYTES + MAX_RECORD_SIZE) {
+          flush(channel, buffer, crc);
+        }
+        int start = buffer.position();
+        buffer.position(start + Short.BYTES);
+        BankAccountRecordCodec.encode(bankAccount, buffer);
+        buffer.putShort(start, (short) (buffer.position() - start - Short.BYTES));
+        count++;
+      }
+      buffer.putShort((short) 0);
+      flush(channel, buffer, crc);
+      buffer.putInt((int) crc.getValue()).flip();
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(true);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to write snapshot " + target, e);
+    }
+
+    try {
+      Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+      var snapshots = listSnapshots();
+      for (var old : snapshots.subList(Math.min(RETAINED, snapshots.size()), snapshots.size())) {
+        Files.deleteIfExists(old);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to publish snapshot " + target, e);
+    }
+    log.info("Wrote snapshot of {} bank accounts at sequence {}", count, sequence);
+    return count;
+  }
+
+  /**
+   * Loads the newest readable snapshot.
+   *
+   * @param consumer receives each {@link BankAccount} in the snapshot
+   * @return the journal sequence of the loaded snapshot, or {@code 0} if there is none
+   */
+  public long load(Consumer<BankAccount> consumer) {
+    if (!properties.isEnabled() || !Files.isDirectory(properties.getDirectory())) {
+      return 0;
+    }
+    for (var path : listSnapshots()) {
+      try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+        var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        if (!isIntact(buffer)) {
+          log.warn("Skipping corrupt snapshot {}", path);
+          continue;
+        }
+        buffer.position(Integer.BYTES);
+        long sequence = buffer.getLong();
+        long count = 0;
+        for (int length = buffer.getShort(); length > 0; length = buffer.getShort()) {
+          var record = buffer.slice();
+          record.limit(length);
+          consumer.accept(BankAccountRecordCodec.decode(record));
+          buffer.position(buffer.position() + length);
+          count++;
+        }
+        log.info("Loaded snapshot of {} bank accounts at sequence {}", count, sequence);
+        return sequence;
+      } catch (IOException e) {
+        log.warn("Skipping unreadable snapshot {}", path, e);
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * @return the journal sequence of the oldest retained snapshot, which is the newest sequence the
+   *     journal can be compacted up to while still being able to fall back to that snapshot
+   */
+  public OptionalLong getOldestRetainedSequence() {
+    var snapshots = listSnapshots();
+    if (snapshots.isEmpty()) {
+      return OptionalLong.empty();
+    }
+    var name = snapshots.get(snapshots.size() - 1).getFileName().toString();
+    return OptionalLong.of(
+        Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())));
+  }
+
+  private static void flush(FileChannel channel, ByteBuffer buffer, CRC32 crc) throws IOException {
+    buffer.flip();
+    crc.update(buffer.duplicate());
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  private static boolean isIntact(ByteBuffer buffer) {
+    int size = buffer.limit();
+    if (size < Integer.BYTES + Long.BYTES + Short.BYTES + Integer.BYTES
+        || buffer.getInt(0) != MAGIC) {
+      return false;
+    }
+    var crc = new CRC32();
+    crc.update(buffer.duplicate().limit(size - Integer.BYTES));
+    return (int) crc.getValue() == buffer.getInt(size - Integer.BYTES);
+  }
+
+  /** @return the snapshot files, newest first */
+  private List<Path> listSnapshots() {
+    try (var files = Files.list(properties.getDirectory())) {
+      return files
+          .filter(
+              path -> {
+                var name = path.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+              })
+          .sorted(Comparator.reverseOrder())
+          .collect(Collectors.toList());
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to list snapshots", e);
+    }
+  }
+}
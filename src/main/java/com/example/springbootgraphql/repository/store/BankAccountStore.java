@@ -0,0 +1,77 @@
+package com.example.springbootgraphql.repository.store;
+
+import com.example.springbootgraphql.domain.bank.BankAccount;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * BankAccountStore
+ *
+ * <p>The record storage behind the {@link com.example.springbootgraphql.repository.BankAccountRepository
+ * BankAccountRepository}, keeping {@link BankAccount} records sorted by their ID.
+ *
+ * <p>Collections returned by a store are lazy, read-only views: a store may materialize a {@link
+ * BankAccount} only when the view is iterated up to it. The repository serializes every write, so
+ * implementations only have to support concurrent readers alongside a single writer.
+ *
+ * <p>The implementation is selected with {@code bank.repository.storage}:
+ * <ul>
+ *   <li>on-heap - {@link OnHeapBankAccountStore}, the default</li>
+ *   <li>off-heap - {@link OffHeapBankAccountStore}, columnar direct memory for large account sets</li>
+ * </ul>
+ */
+public interface BankAccountStore {
+
+  /**
+   * Checks that the store can hold the bank account. The repository calls it before journaling a
+   * write, so a write the store would reject never reaches the journal. Accepts every account by
+   * default.
+   *
+   * @param bankAccount the {@link BankAccount} about to be stored
+   * @throws IllegalArgumentException if the store cannot hold the bank account
+   */
+  default void validate(BankAccount bankAccount) {}
+
+  /**
+   * Inserts or replaces the record with the account's ID.
+   *
+   * @param bankAccount the {@link BankAccount} to store
+   */
+  void put(BankAccount bankAccount);
+
+  /**
+   * Removes the record with the given ID, if any.
+   *
+   * @param id the {@link UUID} of the bank account
+   */
+  void remove(UUID id);
+
+  /**
+   * @param id the {@link UUID} of the bank account
+   * @return the stored {@link BankAccount}, or {@code null} if there is none with that ID
+   */
+  BankAccount get(UUID id);
+
+  /**
+   * @return every stored {@link BankAccount} in ID order
+   */
+  Collection<BankAccount> values();
+
+  /**
+   * @param id the {@link UUID} to seek past
+   * @return the stored {@link BankAccount} records with an ID greater than {@code id}, in ID order
+   */
+  Collection<BankAccount> valuesAfter(UUID id);
+
+  /**
+   * @return every stored {@link BankAccount} in descending ID order
+   */
+  Collection<BankAccount> descendingValues();
+
+  /**
+   * @param id the {@link UUID} to seek before
+   * @return the stored {@link BankAccount} records with an ID less than {@code id}, in descending ID
+   *     order
+   */
+  Collection<BankAccount> valuesBefore(UUID id);
+}
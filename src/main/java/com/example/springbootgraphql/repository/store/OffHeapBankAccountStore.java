@@ -0,0 +1,345 @@
+package com.example.springbootgraphql.repository.store;
+
+import com.example.springbootgraphql.domain.bank.BankAccount;
+import com.example.springbootgraphql.domain.bank.Currency;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * OffHeapBankAccountStore
+ *
+ * <p>A {@link BankAccountStore} that keeps {@link BankAccount} fields in columnar direct memory, so
+ * tens of millions of accounts do not turn into tens of millions of GC-tracked object graphs. Each
+ * row holds:
+ *
+ * <ul>
+ *   <li>the ID as two longs
+ *   <li>the currency as a byte ordinal
+ *   <li>{@code createdAt} as epoch millis plus a short index into a zone dictionary
+ *   <li>{@code createdOn} as an epoch day
+ *   <li>the balance in minor units
+ * </ul>
+ *
+ * <p>Rows live in fixed-size {@link Chunk}s of one direct buffer per column. A {@link
+ * ConcurrentSkipListMap} from ID to row number keeps the ID order for cursor seeks; {@link
+ * BankAccount} views are materialized only when a returned collection is iterated up to them.
+ *
+ * <p>Rows are never updated in place: a replaced account gets a new row and the index is pointed at
+ * it, so concurrent readers always see either the old or the new row in full. A removed account is
+ * only dropped from the index. Once the superseded and removed rows outnumber the live ones, the
+ * live rows are copied into a new {@link Generation} of chunks, in ID order, which then replaces
+ * the current one. Readers keep reading the generation they started with, which is never written
+ * again, and its direct memory is freed when the last of them lets go of it. Every write costs an
+ * amortized constant number of row copies, and the store never holds more than twice its live rows
+ * plus one chunk.
+ *
+ * <p>Balances are kept in minor units of a long, so a balance with more than {@link
+ * #MINOR_UNIT_SCALE} decimals or beyond the range of a long is rejected by {@link
+ * #validate(BankAccount)}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bank.repository", name = "storage", havingValue = "off-heap")
+public class OffHeapBankAccountStore implements BankAccountStore {
+
+  private static final int CHUNK_SHIFT = 16;
+  private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+  private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+  /** All supported currencies have two decimal places. */
+  private static final int MINOR_UNIT_SCALE = 2;
+
+  private static final byte HAS_CURRENCY = 1;
+  private static final byte HAS_CREATED_AT = 1 << 1;
+  private static final byte HAS_CREATED_ON = 1 << 2;
+  private static final byte HAS_BALANCE = 1 << 3;
+
+  private static final Currency[] CURRENCIES = Currency.values();
+
+  private final List<ZoneId> zones = new CopyOnWriteArrayList<>();
+  private final Map<ZoneId, Short> zoneIds = new ConcurrentHashMap<>();
+  private volatile Generation generation = new Generation();
+
+  /** The superseded and removed rows of the current generation. Only used by the writer. */
+  private int deadRows;
+
+  @Override
+  public void validate(BankAccount bankAccount) {
+    if (bankAccount.getBalance() != null) {
+      minorUnits(bankAccount.getBalance());
+    }
+    if (bankAccount.getCreatedOn() != null) {
+      epochDay(bankAccount.getCreatedOn());
+    }
+  }
+
+  @Override
+  public synchronized void put(BankAccount bankAccount) {
+    var current = generation;
+    int row = current.allocate();
+    var chunk = current.chunks[row >>> CHUNK_SHIFT];
+    write(chunk, row & CHUNK_MASK, bankAccount);
+    // Publishing the row number through the index makes the row's columns visible to readers
+    if (current.index.put(bankAccount.getId(), row) != null) {
+      deadRows++;
+      compactIfSparse();
+    }
+  }
+
+  @Override
+  public synchronized void remove(UUID id) {
+    if (generation.index.remove(id) != null) {
+      deadRows++;
+      compactIfSparse();
+    }
+  }
+
+  @Override
+  public BankAccount get(UUID id) {
+    var current = generation;
+    var row = current.index.get(id);
+    return row == null ? null : read(current, row);
+  }
+
+  @Override
+  public Collection<BankAccount> values() {
+    var current = generation;
+    return view(current, current.index.values());
+  }
+
+  @Override
+  public Collection<BankAccount> valuesAfter(UUID id) {
+    var current = generation;
+    return view(current, current.index.tailMap(id, false).values());
+  }
+
+  @Override
+  public Collection<BankAccount> descendingValues() {
+    var current = generation;
+    return view(current, current.index.descendingMap().values());
+  }
+
+  @Override
+  public Collection<BankAccount> valuesBefore(UUID id) {
+    var current = generation;
+    return view(current, current.index.headMap(id, false).descendingMap().values());
+  }
+
+  /** @return the rows allocated in the current generation, live or not */
+  int allocatedRows() {
+    return generation.rows;
+  }
+
+  /** Compacts once the dead rows fill at least a chunk and outnumber the live ones. */
+  private void compactIfSparse() {
+    var current = generation;
+    if (deadRows >= CHUNK_SIZE && deadRows > current.rows - deadRows) {
+      var compacted = new Generation();
+      for (var entry : current.index.entrySet()) {
+        int row = compacted.allocate();
+        copy(current, entry.getValue(), compacted, row);
+        compacted.index.put(entry.getKey(), row);
+      }
+      generation = compacted;
+      deadRows = 0;
+    }
+  }
+
+  private static void copy(Generation source, int sourceRow, Generation target, int targetRow) {
+    var from = source.chunks[sourceRow >>> CHUNK_SHIFT];
+    var to = target.chunks[targetRow >>> CHUNK_SHIFT];
+    int i = sourceRow & CHUNK_MASK;
+    int j = targetRow & CHUNK_MASK;
+    to.idMostSignificantBits.put(j, from.idMostSignificantBits.get(i));
+    to.idLeastSignificantBits.put(j, from.idLeastSignificantBits.get(i));
+    to.currencies.put(j, from.currencies.get(i));
+    to.flags.put(j, from.flags.get(i));
+    to.createdAtMillis.put(j, from.createdAtMillis.get(i));
+    to.createdAtZones.put(j, from.createdAtZones.get(i));
+    to.createdOnDays.put(j, from.createdOnDays.get(i));
+    to.balanceMinorUnits.put(j, from.balanceMinorUnits.get(i));
+  }
+
+  private void write(Chunk chunk, int offset, BankAccount bankAccount) {
+    var currency = bankAccount.getCurrency();
+    var createdAt = bankAccount.getCreatedAt();
+    var createdOn = bankAccount.getCreatedOn();
+    var balance = bankAccount.getBalance();
+
+    chunk.idMostSignificantBits.put(offset, bankAccount.getId().getMostSignificantBits());
+    chunk.idLeastSignificantBits.put(offset, bankAccount.getId().getLeastSignificantBits());
+    chunk.currencies.put(offset, currency != null ? (byte) currency.ordinal() : 0);
+    chunk.createdAtMillis.put(offset, createdAt != null ? createdAt.toInstant().toEpochMilli() : 0);
+    chunk.createdAtZones.put(offset, createdAt != null ? zoneIdOf(createdAt.getZone()) : 0);
+    chunk.createdOnDays.put(offset, createdOn != null ? epochDay(createdOn) : 0);
+    chunk.balanceMinorUnits.put(offset, balance != null ? minorUnits(balance) : 0);
+    chunk.flags.put(
+        offset,
+        (byte)
+            ((currency != null ? HAS_CURRENCY : 0)
+                | (createdAt != null ? HAS_CREATED_AT : 0)
+                | (createdOn != null ? HAS_CREATED_ON : 0)
+                | (balance != null ? HAS_BALANCE : 0)));
+  }
+
+  /**
+   * @param balance a balance
+   * @return the balance in minor units
+   * @throws IllegalArgumentException if it has more than {@link #MINOR_UNIT_SCALE} decimals or does
+   *     not fit in a long
+   */
+  private static long minorUnits(BigDecimal balance) {
+    try {
+      return balance.setScale(MINOR_UNIT_SCALE).unscaledValue().longValueExact();
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException(
+          "Balance " + balance + " is not a whole number of minor units of a long", e);
+    }
+  }
+
+  private static int epochDay(LocalDate date) {
+    try {
+      return Math.toIntExact(date.toEpochDay());
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException("Date " + date + " is out of range", e);
+    }
+  }
+
+  private BankAccount read(Generation generation, int row) {
+    var chunk = generation.chunks[row >>> CHUNK_SHIFT];
+    int offset = row & CHUNK_MASK;
+    int flags = chunk.flags.get(offset);
+
+    var builder =
+        BankAccount.builder()
+            .id(
+                new UUID(
+                    chunk.idMostSignificantBits.get(offset),
+                    chunk.idLeastSignificantBits.get(offset)));
+    if ((flags & HAS_CURRENCY) != 0) {
+      builder.currency(CURRENCIES[chunk.currencies.get(offset)]);
+    }
+    if ((flags & HAS_CREATED_AT) != 0) {
+      builder.createdAt(
+          ZonedDateTime.ofInstant(
+              Instant.ofEpochMilli(chunk.createdAtMillis.get(offset)),
+              zones.get(chunk.createdAtZones.get(offset))));
+    }
+    if ((flags & HAS_CREATED_ON) != 0) {
+      builder.createdOn(LocalDate.ofEpochDay(chunk.createdOnDays.get(offset)));
+    }
+    if ((flags & HAS_BALANCE) != 0) {
+      builder.balance(BigDecimal.valueOf(chunk.balanceMinorUnits.get(offset), MINOR_UNIT_SCALE));
+    }
+    return builder.build();
+  }
+
+  private short zoneIdOf(ZoneId zone) {
+    return zoneIds.computeIfAbsent(
+        zone,
+        newZone -> {
+          zones.add(newZone);
+          return (short) (zones.size() - 1);
+        });
+  }
+
+  /**
+   * Wraps row numbers in a read-only collection that materializes each row while it is iterated.
+   * The spliterator is overridden because the default one sizes the collection up front, which
+   * would walk the whole index range.
+   */
+  private Collection<BankAccount> view(Generation generation, Collection<Integer> rowNumbers) {
+    return new AbstractCollection<>() {
+      @Override
+      public Iterator<BankAccount> iterator() {
+        var iterator = rowNumbers.iterator();
+        return new Iterator<>() {
+          @Override
+          public boolean hasNext() {
+            return iterator.hasNext();
+          }
+
+          @Override
+          public BankAccount next() {
+            return read(generation, iterator.next());
+          }
+        };
+      }
+
+      @Override
+      public Spliterator<BankAccount> spliterator() {
+        return Spliterators.spliteratorUnknownSize(
+            iterator(), Spliterator.ORDERED | Spliterator.NONNULL);
+      }
+
+      @Override
+      public int size() {
+        return rowNumbers.size();
+      }
+    };
+  }
+
+  /**
+   * The index and the chunks rows are appended to until the next compaction. Only the writer
+   * appends to it, and only while it is the current generation.
+   */
+  private static final class Generation {
+    private final ConcurrentNavigableMap<UUID, Integer> index = new ConcurrentSkipListMap<>();
+    private volatile Chunk[] chunks = new Chunk[0];
+    private volatile int rows;
+
+    /** @return the next row number, growing the chunks if they are full */
+    private int allocate() {
+      int row = rows;
+      if ((row & CHUNK_MASK) == 0 && row >>> CHUNK_SHIFT == chunks.length) {
+        var grown = Arrays.copyOf(chunks, chunks.length + 1);
+        grown[chunks.length] = new Chunk();
+        chunks = grown;
+      }
+      rows = row + 1;
+      return row;
+    }
+  }
+
+  /** One direct buffer per column for {@link #CHUNK_SIZE} rows. */
+  private static final class Chunk {
+    private final LongBuffer idMostSignificantBits = longs();
+    private final LongBuffer idLeastSignificantBits = longs();
+    private final ByteBuffer currencies = bytes(Byte.BYTES);
+    private final ByteBuffer flags = bytes(Byte.BYTES);
+    private final LongBuffer createdAtMillis = longs();
+    private final ShortBuffer createdAtZones = bytes(Short.BYTES).asShortBuffer();
+    private final IntBuffer createdOnDays = bytes(Integer.BYTES).asIntBuffer();
+    private final LongBuffer balanceMinorUnits = longs();
+
+    private static LongBuffer longs() {
+      return bytes(Long.BYTES).asLongBuffer();
+    }
+
+    private static ByteBuffer bytes(int width) {
+      return ByteBuffer.allocateDirect(CHUNK_SIZE * width).order(ByteOrder.nativeOrder());
+    }
+  }
+}
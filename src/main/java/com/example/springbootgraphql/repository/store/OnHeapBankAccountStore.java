@@ -0,0 +1,65 @@
+package com.example.springbootgraphql.repository.store;
+
+import com.example.springbootgraphql.domain.bank.BankAccount;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * OnHeapBankAccountStore
+ *
+ * <p>The default {@link BankAccountStore}: a {@link ConcurrentSkipListMap} of {@link BankAccount}
+ * objects keyed by their ID, so inserts cost O(log n) and a cursor seek via {@link
+ * ConcurrentNavigableMap#tailMap(Object, boolean)} or {@link
+ * ConcurrentNavigableMap#headMap(Object, boolean)} is an O(log n) view rather than a copy.
+ */
+@Component
+@ConditionalOnProperty(
+    prefix = "bank.repository",
+    name = "storage",
+    havingValue = "on-heap",
+    matchIfMissing = true)
+public class OnHeapBankAccountStore implements BankAccountStore {
+
+  private final ConcurrentNavigableMap<UUID, BankAccount> bankAccounts = new ConcurrentSkipListMap<>();
+
+  @Override
+  public void put(BankAccount bankAccount) {
+    bankAccounts.put(bankAccount.getId(), bankAccount);
+  }
+
+  @Override
+  public void remove(UUID id) {
+    bankAccounts.remove(id);
+  }
+
+  @Override
+  public BankAccount get(UUID id) {
+    return bankAccounts.get(id);
+  }
+
+  @Override
+  public Collection<BankAccount> values() {
+    return Collections.unmodifiableCollection(bankAccounts.values());
+  }
+
+  @Override
+  public Collection<BankAccount> valuesAfter(UUID id) {
+    return Collections.unmodifiableCollection(bankAccounts.tailMap(id, false).values());
+  }
+
+  @Override
+  public Collection<BankAccount> descendingValues() {
+    return Collections.unmodifiableCollection(bankAccounts.descendingMap().values());
+  }
+
+  @Override
+  public Collection<BankAccount> valuesBefore(UUID id) {
+    return Collections.unmodifiableCollection(
+        bankAccounts.headMap(id, false).descendingMap().values());
+  }
+}
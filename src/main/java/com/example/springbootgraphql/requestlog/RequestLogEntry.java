@@ -0,0 +1,33 @@
+package com.example.springbootgraphql.requestlog;
+
+import java.time.Instant;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * RequestLogEntry
+ *
+ * <p>One operation of the request log. An entry only references what the request thread already
+ * holds: the query text is truncated and the variables serialized by the {@link RequestLogWriter}
+ * thread, never by the request thread.
+ */
+@Value
+@Builder
+public class RequestLogEntry {
+  Instant timestamp;
+  String correlationId;
+  String userId;
+  String operationName;
+
+  /** The query text, or {@code null} for a persisted query sent by hash. */
+  String query;
+
+  String persistedQueryHash;
+  Map<String, Object> variables;
+  long durationNanos;
+  int errorCount;
+
+  /** The exception the operation failed with, its class and message, if any. */
+  String failure;
+}
@@ -0,0 +1,55 @@
+package com.example.springbootgraphql.requestlog;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * RequestLogProperties
+ *
+ * <p>Binds the {@code bank.request-log} block of {@code application.yml} that controls which
+ * operations are written to the request log and how, see {@link RequestLogWriter}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "bank.request-log")
+public class RequestLogProperties {
+
+  /**
+   * Whether operations are written to the request log.
+   */
+  private boolean enabled = true;
+
+  /**
+   * The fraction of successful operations logged, between 0 and 1. Failed operations and those
+   * slower than {@code slowThreshold} are always logged.
+   */
+  private double sampleRate = 0.1;
+
+  /**
+   * The duration above which an operation is always logged.
+   */
+  private Duration slowThreshold = Duration.ofSeconds(1);
+
+  /**
+   * The number of characters of the query text logged, the rest is cut off.
+   */
+  private int maxQueryLength = 2000;
+
+  /**
+   * The number of characters of the JSON variables logged, the rest is cut off.
+   */
+  private int maxVariablesLength = 1000;
+
+  /**
+   * The number of entries waiting for the writer, rounded up to a power of two. Entries logged
+   * while it is full are dropped and counted as {@code graphql.request.log.dropped}.
+   */
+  private int bufferSize = 8192;
+
+  /**
+   * How long the writer sleeps once it has written every waiting entry.
+   */
+  private Duration idleWait = Duration.ofMillis(10);
+}
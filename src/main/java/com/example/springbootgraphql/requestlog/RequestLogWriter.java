@@ -0,0 +1,178 @@
+package com.example.springbootgraphql.requestlog;
+
+import static com.example.springbootgraphql.instrumentation.RequestLoggingInstrumentation.CORRELATION_ID;
+
+import com.example.springbootgraphql.util.ExecutorFactory;
+import com.example.springbootgraphql.util.MpscRingBuffer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+
+/**
+ * RequestLogWriter
+ *
+ * <p>Writes the {@link RequestLogEntry}s of sampled operations as one JSON line each to the {@code
+ * graphql.request-log} logger, from the background thread of the {@link
+ * ExecutorFactory#REQUEST_LOG_SCHEDULER}. Request threads only {@link
+ * #submit(RequestLogEntry)} entries into a {@link MpscRingBuffer}, which neither locks nor waits:
+ * the appender, its lock and its I/O are only ever touched by the writer thread. The writer also
+ * truncates the query text and the variables to {@link RequestLogProperties#getMaxQueryLength()}
+ * and {@link RequestLogProperties#getMaxVariablesLength()} characters.
+ *
+ * <p>When the writer falls behind and the buffer is full, new entries are dropped rather than
+ * slowing requests down, counted as {@code graphql.request.log.dropped}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RequestLogWriter {
+
+  private static final Logger REQUEST_LOG = LoggerFactory.getLogger("graphql.request-log");
+  private static final int BATCH_SIZE = 256;
+
+  /**
+   * Dependency {@link RequestLogProperties} injected by {@link RequiredArgsConstructor}.
+   */
+  private final RequestLogProperties properties;
+
+  /**
+   * Dependency {@link ObjectMapper} injected by {@link RequiredArgsConstructor}.
+   */
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Dependency {@link MeterRegistry} injected by {@link RequiredArgsConstructor}.
+   */
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * Dependency {@link ExecutorFactory} injected by {@link RequiredArgsConstructor}.
+   */
+  private final ExecutorFactory executorFactory;
+
+  private MpscRingBuffer<RequestLogEntry> buffer;
+  private Counter dropped;
+  private ScheduledFuture<?> writerTask;
+
+  /**
+   * <p>The {@code init} method creates the buffer, registers the meters and schedules the writer
+   * task on the {@link ExecutorFactory#REQUEST_LOG_SCHEDULER}, which runs every {@link
+   * RequestLogProperties#getIdleWait()} once it has written every waiting entry.
+   */
+  @PostConstruct
+  public void init() {
+    buffer = new MpscRingBuffer<>(properties.getBufferSize());
+    dropped =
+        Counter.builder("graphql.request.log.dropped")
+            .description("The request log entries dropped because the writer fell behind")
+            .register(meterRegistry);
+    Gauge.builder("graphql.request.log.pending", buffer, MpscRingBuffer::size)
+        .description("The request log entries waiting for the writer")
+        .register(meterRegistry);
+
+    var idleWait = properties.getIdleWait().toNanos();
+    writerTask =
+        executorFactory
+            .getScheduler(ExecutorFactory.REQUEST_LOG_SCHEDULER)
+            .scheduleWithFixedDelay(this::drain, idleWait, idleWait, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * <p>The {@code stop} method cancels the writer task and writes the waiting entries.
+   */
+  @PreDestroy
+  public void stop() {
+    writerTask.cancel(false);
+    drain();
+  }
+
+  /**
+   * <p>The {@code isSampled} method decides whether an operation is logged: every failed or slow
+   * one, and {@link RequestLogProperties#getSampleRate()} of the others.
+   *
+   * @param durationNanos how long the operation took
+   * @param failed whether the operation failed or returned errors
+   * @return {@code true} if an entry should be {@link #submit(RequestLogEntry) submitted}
+   */
+  public boolean isSampled(long durationNanos, boolean failed) {
+    return properties.isEnabled()
+        && (failed
+            || durationNanos >= properties.getSlowThreshold().toNanos()
+            || ThreadLocalRandom.current().nextDouble() < properties.getSampleRate());
+  }
+
+  /**
+   * <p>The {@code submit} method hands an entry over to the writer thread without blocking.
+   *
+   * @param entry the entry to write
+   */
+  public void submit(RequestLogEntry entry) {
+    if (!buffer.offer(entry)) {
+      dropped.increment();
+    }
+  }
+
+  /**
+   * Writes every waiting entry. Synchronized because the buffer has a single consumer: the writer
+   * task, or the shutdown once it is cancelled. Request threads never take the lock.
+   */
+  private synchronized void drain() {
+    while (buffer.drain(this::write, BATCH_SIZE) > 0) {
+      // Keep writing until the buffer is empty, then wait for the next run
+    }
+  }
+
+  private void write(RequestLogEntry entry) {
+    var line = new LinkedHashMap<String, Object>();
+    line.put("timestamp", entry.getTimestamp().toString());
+    line.put("userId", entry.getUserId());
+    line.put("operationName", entry.getOperationName());
+    if (entry.getPersistedQueryHash() != null) {
+      line.put("persistedQuery", entry.getPersistedQueryHash());
+    } else {
+      line.put("query", truncate(entry.getQuery(), properties.getMaxQueryLength()));
+    }
+    line.put("durationMs", TimeUnit.NANOSECONDS.toMicros(entry.getDurationNanos()) / 1000.0);
+    line.put("errors", entry.getErrorCount());
+    if (entry.getFailure() != null) {
+      line.put("failure", entry.getFailure());
+    }
+
+    try {
+      if (entry.getVariables() != null && !entry.getVariables().isEmpty()) {
+        line.put(
+            "variables",
+            truncate(
+                objectMapper.writeValueAsString(entry.getVariables()),
+                properties.getMaxVariablesLength()));
+      }
+      MDC.put(CORRELATION_ID, entry.getCorrelationId());
+      REQUEST_LOG.info(objectMapper.writeValueAsString(line));
+    } catch (JsonProcessingException | RuntimeException e) {
+      log.warn("Unable to write the request log entry of {}", entry.getCorrelationId(), e);
+    } finally {
+      MDC.remove(CORRELATION_ID);
+    }
+  }
+
+  private static String truncate(String text, int maxLength) {
+    if (text == null || text.length() <= maxLength) {
+      return text;
+    }
+    return text.substring(0, maxLength) + "...(" + (text.length() - maxLength) + " more)";
+  }
+}
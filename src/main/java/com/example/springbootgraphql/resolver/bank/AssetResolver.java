@@ -1,55 +1,55 @@
 package com.example.springbootgraphql.resolver.bank;
 
+import com.example.springbootgraphql.connection.AssetConnection;
+import com.example.springbootgraphql.connection.CursorUtil;
+import com.example.springbootgraphql.context.dataloader.DataLoaderRegistryFactory;
 import com.example.springbootgraphql.domain.bank.Asset;
 import com.example.springbootgraphql.domain.bank.BankAccount;
-import com.example.springbootgraphql.util.CorrelationIdPropagationExecutor;
+import com.example.springbootgraphql.repository.AssetPage;
+import com.example.springbootgraphql.repository.AssetPageRequest;
+import graphql.GraphQLException;
 import graphql.kickstart.tools.GraphQLResolver;
+import graphql.relay.DefaultEdge;
+import graphql.relay.Edge;
+import graphql.schema.DataFetchingEnvironment;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.dataloader.DataLoader;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.stereotype.Component;
 
 /**
  * The AssetResolver implements {@link GraphQLResolver} with type {@link BankAccount} to resolve the
- * {@link Asset} field within a {@link BankAccount}.
+ * {@link Asset} connection within a {@link BankAccount}.
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class AssetResolver implements GraphQLResolver<BankAccount> {
 
+  /** The page size of an {@code assets} field without {@code first}, as in the schema. */
+  static final int DEFAULT_PAGE_SIZE = 10;
+
+  /** The largest page of assets a single {@code assets} field may request. */
+  static final int MAX_PAGE_SIZE = 100;
+
   /**
-   * executorService
-   *
-   * <p>The executor to use for asynchronous execution. {@link Executors#newFixedThreadPool(int)}
-   *
-   * <p>Creates a thread pool that reuses a fixed number of threads operating off a shared unbounded
-   * queue where:
-   *
-   * <ul>
-   *   <li>initialized value {@code int} is the maximum number of processors available to the JVM
-   *   <li>fetched by calling {@code availableProcessors()} on the runtime object associated with
-   *       the current Java app.
-   *   <li>accessed via {@code getRuntime()} on the app's single instance of the {@link Runtime
-   *       class} environment.
-   * </ul>
-   *
-   * @see java.util.concurrent.Executors
-   * @see Runtime
+   * Dependency {@link CursorUtil} injected by {@link RequiredArgsConstructor}.
    */
-  private static final Executor executorService =
-      CorrelationIdPropagationExecutor.wrap(
-          new DelegatingSecurityContextExecutorService(
-              Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors())));
+  private final CursorUtil cursorUtil;
 
   /**
    * assets
    *
-   * <p>Execute asynchronously by setting the return type to a CompletableFuture and executing the
-   * logic within another thread.
+   * <p>Loads one page of the bank account's assets through the {@link
+   * DataLoaderRegistryFactory#ASSET_DATA_LOADER}, so the pages of every bank account resolved in the
+   * same query are read in one batch. Holdings of thousands of assets are paged with {@code first}
+   * and {@code after} rather than returned in full. An explicit {@code first: null} falls back to
+   * the schema default of {@value #DEFAULT_PAGE_SIZE}, and {@code first} is capped at {@value
+   * #MAX_PAGE_SIZE}.
    *
    * <p>Method {@code assets} must match the field name `assets` in `bankAccount.graphqls`
    *
@@ -57,17 +57,39 @@ public class AssetResolver implements GraphQLResolver<BankAccount> {
    * resolver `assets` if it is included in the requested fields
    *
    * @param bankAccount the {@link BankAccount instance being resolved}
-   * @return a new {@link CompletableFuture} that is asynchronously completed by a task running in
-   *     the given {@code executorService} with the value obtained by calling the given {@code
-   *     Supplier – a function returning the value to be used to complete the returned
-   *     CompletableFuture} -- a list .
+   * @param first the number of assets to return, or {@code null} for the default page size
+   * @param after the cursor to page forwards from
+   * @param environment the data fetching environment
+   * @return a {@link CompletableFuture} completed with the {@link AssetConnection} once the batch
+   *     is loaded
    */
-  public CompletableFuture<List<Asset>> assets(BankAccount bankAccount) {
-    return CompletableFuture.supplyAsync(
-        () -> {
-          log.info("Getting assets for bank account id {}", bankAccount.getId());
-          return List.of();
-        },
-        executorService);
+  public CompletableFuture<AssetConnection> assets(
+      BankAccount bankAccount,
+      @Nullable Integer first,
+      @Nullable String after,
+      DataFetchingEnvironment environment) {
+    log.debug("Getting assets for bank account id {}", bankAccount.getId());
+    int pageSize = first == null ? DEFAULT_PAGE_SIZE : first;
+    if (pageSize < 0 || pageSize > MAX_PAGE_SIZE) {
+      throw new GraphQLException("first must be between 0 and " + MAX_PAGE_SIZE);
+    }
+
+    DataLoader<AssetPageRequest, AssetPage> dataLoader =
+        environment.getDataLoader(DataLoaderRegistryFactory.ASSET_DATA_LOADER);
+    return dataLoader
+        .load(
+            new AssetPageRequest(
+                bankAccount.getId(), after == null ? null : cursorUtil.decode(after), pageSize))
+        .thenApply(this::toConnection);
+  }
+
+  private AssetConnection toConnection(AssetPage page) {
+    List<Edge<Asset>> edges =
+        page.getAssets().stream()
+            .map(asset -> new DefaultEdge<>(asset, cursorUtil.createCursorWith(asset.getId())))
+            .collect(Collectors.toUnmodifiableList());
+    return new AssetConnection(
+        edges,
+        cursorUtil.createPageInfoFrom(edges, page.isHasPreviousPage(), page.isHasNextPage()));
   }
 }
@@ -4,6 +4,7 @@ import com.example.springbootgraphql.domain.bank.BankAccount;
 import com.example.springbootgraphql.domain.bank.Currency;
 import com.example.springbootgraphql.domain.bank.input.CreateBankAccountInput;
 import com.example.springbootgraphql.publisher.BankAccountPublisher;
+import com.example.springbootgraphql.repository.BankAccountRepository;
 import graphql.kickstart.tools.GraphQLMutationResolver;
 import java.time.Clock;
 import java.time.LocalDate;
@@ -72,6 +73,11 @@ public class BankAccountMutation implements GraphQLMutationResolver {
    * It is injected via {@link RequiredArgsConstructor}.
    */
   private final BankAccountPublisher bankAccountPublisher;
+  /**
+   * The {@code bankAccountRepository} field is a {@link BankAccountRepository} instance that stores and journals bank accounts.
+   * It is injected via {@link RequiredArgsConstructor}.
+   */
+  private final BankAccountRepository bankAccountRepository;
 
   /**
    * <p>The {@code createBankAccount} method creates a new bank account using the provided {@link CreateBankAccountInput}.
@@ -82,13 +88,14 @@ public class BankAccountMutation implements GraphQLMutationResolver {
    * @return the created bank account
    */
   public BankAccount createBankAccount(@Valid CreateBankAccountInput input) {
-    log.info("Creating bank account for {}", input);
+    log.debug("Creating bank account for {}", input);
     return getBankAccount(UUID.randomUUID());
   }
 
   /**
    * <p>The {@code updateBankAccount} method updates an existing bank account identified by its {@link UUID}.
-   * It logs the update process and calls the {@link BankAccountMutation#getBankAccount(UUID)} method to retrieve the updated {@link BankAccount} object.
+   * It logs the update process and re-saves the stored {@link BankAccount} via {@link BankAccountMutation#save(BankAccount)},
+   * falling back to the {@link BankAccountMutation#getBankAccount(UUID)} method if there is no account with that ID yet.
    *
    * <p>Notes: Schema Directive Validation (Chapter 32)
    *
@@ -98,25 +105,36 @@ public class BankAccountMutation implements GraphQLMutationResolver {
    * @return the updated bank account
    */
   public BankAccount updateBankAccount(UUID id, String name, int age) {
-    log.info("Updating bank account for {}. Name: {}, age: {}", id, name, age);
-    return getBankAccount(id);
+    log.debug("Updating bank account for {}. Name: {}, age: {}", id, name, age);
+    return bankAccountRepository.findById(id).map(this::save).orElseGet(() -> getBankAccount(id));
   }
 
   /**
-   * The private {@code getBankAccount} method generates a {@link BankAccount} object with the given {@link UUID}, current {@link BankAccountMutation#clock}, and predefined {@link Currency}.
-   * It then publishes the bank account event using the {@link BankAccountPublisher#publish(BankAccount)} method.
+   * The private {@code getBankAccount} method generates a {@link BankAccount} object with the given {@link UUID}, current {@link BankAccountMutation#clock}, and predefined {@link Currency},
+   * and stores it via {@link BankAccountMutation#save(BankAccount)}.
    *
    * @param id the {@link UUID} of the bank account to retrieve
    * @return the retrieved bank account
    */
   private BankAccount getBankAccount(UUID id) {
-    var bankAccount =
+    return save(
         BankAccount.builder()
             .id(id)
             .currency(Currency.PHP)
             .createdAt(ZonedDateTime.now(clock))
             .createdOn(LocalDate.now(clock))
-            .build();
+            .build());
+  }
+
+  /**
+   * The private {@code save} method persists the {@link BankAccount} through the {@link BankAccountRepository}
+   * and then publishes the bank account event using the {@link BankAccountPublisher#publish(BankAccount)} method.
+   *
+   * @param bankAccount the {@link BankAccount} to save
+   * @return the saved bank account
+   */
+  private BankAccount save(BankAccount bankAccount) {
+    bankAccountRepository.save(bankAccount);
 
     /** Subscription (Chapter 33) */
     bankAccountPublisher.publish(bankAccount);
@@ -36,7 +36,7 @@ public class UploadFileMutation implements GraphQLMutationResolver {
    * @return a randomly generated {@link UUID} representing the uploaded file
    */
   public UUID uploadFile(DataFetchingEnvironment environment) {
-    log.info("Uploading file");
+    log.debug("Uploading file");
 
     DefaultGraphQLServletContext context = environment.getContext();
 
@@ -51,7 +51,7 @@ public class UploadFileMutation implements GraphQLMutationResolver {
         .getFileParts()
         .forEach(
             part ->
-                log.info("Uploading: {} , size: {}", part.getSubmittedFileName(), part.getSize()));
+                log.debug("Uploading: {} , size: {}", part.getSubmittedFileName(), part.getSize()));
     return UUID.randomUUID();
   }
 }
@@ -1,15 +1,20 @@
 package com.example.springbootgraphql.resolver.bank.query;
 
+import com.example.springbootgraphql.repository.BankAccountCriteria;
+import com.example.springbootgraphql.repository.BankAccountKey;
+import com.example.springbootgraphql.repository.BankAccountPage;
 import com.example.springbootgraphql.repository.BankAccountRepository;
+import com.example.springbootgraphql.connection.BankAccountConnection;
 import com.example.springbootgraphql.connection.CursorUtil;
 import com.example.springbootgraphql.context.CustomGraphQLContext;
 import com.example.springbootgraphql.domain.bank.BankAccount;
+import com.example.springbootgraphql.domain.bank.BankAccountOrderBy;
 import com.example.springbootgraphql.domain.bank.Currency;
+import com.example.springbootgraphql.domain.bank.input.BankAccountFilter;
+import graphql.GraphQLException;
 import graphql.kickstart.tools.GraphQLQueryResolver;
-import graphql.relay.Connection;
-import graphql.relay.DefaultConnection;
+import graphql.relay.ConnectionCursor;
 import graphql.relay.DefaultEdge;
-import graphql.relay.DefaultPageInfo;
 import graphql.relay.Edge;
 import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.SelectedField;
@@ -65,11 +70,11 @@ public class BankAccountQueryResolver implements GraphQLQueryResolver {
    */
   @PreAuthorize("hasAuthority('get:bank_account')")
   public BankAccount bankAccount(UUID id, DataFetchingEnvironment environment) {
-    log.info("Retrieving bank account id: {}", id);
+    log.debug("Retrieving bank account id: {}", id);
 
     CustomGraphQLContext context = environment.getContext();
 
-    log.info("User ID: {}", context.getUserId());
+    log.debug("User ID: {}", context.getUserId());
 
     /**
      * requestedFields
@@ -85,12 +90,14 @@ public class BankAccountQueryResolver implements GraphQLQueryResolver {
      *   <dd>{@code if (environment.getSelectionSet().contains('specialField')) //do special stuff }
      *       </dl
      */
-    var requestedFields =
-        environment.getSelectionSet().getFields().stream()
-            .map(SelectedField::getName)
-            .collect(Collectors.toUnmodifiableSet());
+    if (log.isDebugEnabled()) {
+      var requestedFields =
+          environment.getSelectionSet().getFields().stream()
+              .map(SelectedField::getName)
+              .collect(Collectors.toUnmodifiableSet());
 
-    log.info("Requested Fields: {}", requestedFields);
+      log.debug("Requested Fields: {}", requestedFields);
+    }
 
     return BankAccount.builder()
         .id(id)
@@ -102,47 +109,107 @@ public class BankAccountQueryResolver implements GraphQLQueryResolver {
 
   /**
    * <p>The {@code bankAccounts} method returns a paginated list of {@link BankAccount} instances.
-   * It takes the number of items to return ({@code first}) and an optional {@code cursor} for pagination.
-   * The method creates edges for each bank account and constructs a {@link DefaultConnection} object
-   * with the edges and pagination information.
+   * It pages forwards with the number of items to return ({@code first}) and an optional {@code after} cursor,
+   * or backwards with {@code last} and an optional {@code before} cursor, through the bank accounts matching the
+   * optional {@code filter} in the {@code orderBy} order.
+   * The method asks the {@code bankAccountRepository} for one {@link BankAccountPage} in either direction, creates
+   * edges and cursors only for the bank accounts in it and constructs a {@link BankAccountConnection} object
+   * with the edges, the page's exact {@code hasPreviousPage} and {@code hasNextPage} and a {@code totalCount}
+   * counted by the repository only if selected.
+   * Cursors of a creation time ordered connection carry the creation time along with the ID.
    *
-   * @param first the number of items to return
-   * @param cursor the cursor for pagination
-   * @return a {@link Connection} of {@link BankAccount} instances.
+   * @param first the number of items to return when paging forwards
+   * @param after the cursor to page forwards from
+   * @param last the number of items to return when paging backwards
+   * @param before the cursor to page backwards from
+   * @param filter the {@link BankAccountFilter} the bank accounts must match
+   * @param orderBy the {@link BankAccountOrderBy} of the connection, ID if not given
+   * @return a {@link BankAccountConnection} of {@link BankAccount} instances.
    */
-  public Connection<BankAccount> bankAccounts(int first, @Nullable String cursor) {
+  public BankAccountConnection bankAccounts(
+      @Nullable Integer first,
+      @Nullable String after,
+      @Nullable Integer last,
+      @Nullable String before,
+      @Nullable BankAccountFilter filter,
+      @Nullable BankAccountOrderBy orderBy) {
+    var criteria = getCriteria(filter, orderBy);
+    var page = getBankAccountPage(criteria, first, after, last, before);
 
     List<Edge<BankAccount>> edges =
-        getBankAccounts(cursor).stream()
-            .map(
-                bankAccount ->
-                    new DefaultEdge<>(
-                        bankAccount, cursorUtil.createCursorWith(bankAccount.getId())))
-            .limit(first)
+        page.getBankAccounts().stream()
+            .map(bankAccount -> new DefaultEdge<>(bankAccount, createCursor(criteria, bankAccount)))
             .collect(Collectors.toUnmodifiableList());
 
-    var pageInfo =
-        new DefaultPageInfo(
-            cursorUtil.getFirstCursorFrom(edges),
-            cursorUtil.getLastCursorFrom(edges),
-            cursor != null,
-            edges.size() >= first);
-
-    return new DefaultConnection<>(edges, pageInfo);
+    return new BankAccountConnection(
+        edges,
+        cursorUtil.createPageInfoFrom(edges, page.isHasPreviousPage(), page.isHasNextPage()),
+        () -> bankAccountRepository.count(criteria));
   }
 
   /**
-   * <p>The {@code getBankAccounts} method returns a list of {@link BankAccount} instances.
-   * If the {@code cursor} is null, it retrieves all bank accounts from the {@code bankAccountRepository}.
-   * Otherwise, it retrieves the bank accounts via {@code bankAccountRepository} after the decoded {@code cursor}.
-   *
-   * @param cursor the cursor for pagination
-   * @return a list of {@link BankAccount} instances
+   * <p>The {@code getBankAccountPage} method validates the Relay arguments and reads the page from the
+   * {@code bankAccountRepository} forwards ({@code first}/{@code after}) or backwards ({@code last}/{@code before}).
+   * Mixing the two directions is rejected.
    */
-  public List<BankAccount> getBankAccounts(String cursor) {
-    if (cursor == null) {
-      return bankAccountRepository.getBankAccounts();
+  private BankAccountPage getBankAccountPage(
+      BankAccountCriteria criteria,
+      @Nullable Integer first,
+      @Nullable String after,
+      @Nullable Integer last,
+      @Nullable String before) {
+    if (first != null && (last != null || before != null)) {
+      throw new GraphQLException("first/after cannot be combined with last/before");
+    }
+    if (first != null) {
+      return bankAccountRepository.getBankAccountsAfter(
+          criteria, decodeKey(criteria, after), requireNonNegative("first", first));
+    }
+    if (last != null && after == null) {
+      return bankAccountRepository.getBankAccountsBefore(
+          criteria, decodeKey(criteria, before), requireNonNegative("last", last));
+    }
+    throw new GraphQLException("Either first/after or last/before must be provided");
+  }
+
+  private static BankAccountCriteria getCriteria(
+      @Nullable BankAccountFilter filter, @Nullable BankAccountOrderBy orderBy) {
+    var criteria =
+        BankAccountCriteria.builder().orderBy(orderBy == null ? BankAccountOrderBy.ID : orderBy);
+    if (filter != null) {
+      criteria
+          .currency(filter.getCurrency())
+          .createdAfter(filter.getCreatedAfter() == null ? null : filter.getCreatedAfter().toInstant())
+          .createdBefore(
+              filter.getCreatedBefore() == null ? null : filter.getCreatedBefore().toInstant());
+    }
+    return criteria.build();
+  }
+
+  private ConnectionCursor createCursor(BankAccountCriteria criteria, BankAccount bankAccount) {
+    return criteria.getOrderBy() == BankAccountOrderBy.ID
+        ? cursorUtil.createCursorWith(bankAccount.getId())
+        : cursorUtil.createCursorWith(
+            bankAccount.getId(), BankAccountCriteria.createdAtMillis(bankAccount));
+  }
+
+  /** Decodes a cursor into the repository key, rejecting cursors created for another order. */
+  private @Nullable BankAccountKey decodeKey(
+      BankAccountCriteria criteria, @Nullable String cursor) {
+    var key = cursorUtil.decodeKeyIfPresent(cursor);
+    if (key == null) {
+      return null;
+    }
+    if (key.isSorted() == (criteria.getOrderBy() == BankAccountOrderBy.ID)) {
+      throw new GraphQLException("Cursor does not match orderBy " + criteria.getOrderBy());
+    }
+    return new BankAccountKey(key.getSortKey(), key.getId());
+  }
+
+  private static int requireNonNegative(String argument, int value) {
+    if (value < 0) {
+      throw new GraphQLException(argument + " must not be negative");
     }
-    return bankAccountRepository.getBankAccountsAfter(cursorUtil.decode(cursor));
+    return value;
   }
 }
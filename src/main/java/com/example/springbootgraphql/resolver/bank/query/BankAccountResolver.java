@@ -35,7 +35,7 @@ public class BankAccountResolver implements GraphQLResolver<BankAccount> {
   public CompletableFuture<BigDecimal> balance(
       BankAccount bankAccount, DataFetchingEnvironment environment) {
 
-    log.info("Getting balance for {}", bankAccount.getId());
+    log.debug("Getting balance for {}", bankAccount.getId());
 
     DataLoader<UUID, BigDecimal> dataLoader =
         environment.getDataLoader(DataLoaderRegistryFactory.BALANCE_DATA_LOADER);
@@ -0,0 +1,124 @@
+package com.example.springbootgraphql.service;
+
+import com.example.springbootgraphql.domain.bank.BankAccount;
+import com.example.springbootgraphql.publisher.BankAccountPublisher;
+import com.example.springbootgraphql.service.ledger.Ledger;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+/**
+ * BalanceCache
+ *
+ * <p>A bounded cache of balances shared by all requests, in front of the {@link BalanceService}.
+ * The balance {@link org.dataloader.DataLoader DataLoader} is created per request, so its own
+ * cache only deduplicates within one request; this one keeps hot balances across requests.
+ *
+ * <p>Entries are evicted by size and by age, see {@link BalanceCacheProperties}, and invalidated:
+ *
+ * <ul>
+ *   <li>on every {@link BankAccount} event of the {@link BankAccountPublisher}
+ *   <li>on every posting to the {@link Ledger}
+ * </ul>
+ *
+ * <p>Hit, miss, load and eviction statistics are bound to the Micrometer registry as the {@code
+ * cache.*} meters tagged {@code cache=balances}.
+ */
+@Component
+@RequiredArgsConstructor
+public class BalanceCache {
+
+  static final String CACHE_NAME = "balances";
+
+  /**
+   * Dependency {@link BalanceService} injected by {@link RequiredArgsConstructor}.
+   */
+  private final BalanceService balanceService;
+
+  /**
+   * Dependency {@link BankAccountPublisher} injected by {@link RequiredArgsConstructor}.
+   */
+  private final BankAccountPublisher bankAccountPublisher;
+
+  /**
+   * Dependency {@link Ledger} injected by {@link RequiredArgsConstructor}.
+   */
+  private final Ledger ledger;
+
+  /**
+   * Dependency {@link BalanceCacheProperties} injected by {@link RequiredArgsConstructor}.
+   */
+  private final BalanceCacheProperties properties;
+
+  /**
+   * Dependency {@link MeterRegistry} injected by {@link RequiredArgsConstructor}.
+   */
+  private final MeterRegistry meterRegistry;
+
+  private Cache<UUID, BigDecimal> cache;
+  private Disposable bankAccountEvents;
+
+  /**
+   * <p>The {@code init} method builds the cache, binds its statistics and subscribes to the events
+   * invalidating it.
+   */
+  @PostConstruct
+  public void init() {
+    cache =
+        Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumSize())
+            .expireAfterWrite(properties.getExpireAfterWrite())
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+
+    bankAccountEvents =
+        Flux.from(bankAccountPublisher.getBankAccountEvents())
+            .subscribe(bankAccount -> cache.invalidate(bankAccount.getId()));
+    ledger.addListener(posting -> cache.invalidate(posting.getBankAccountId()));
+  }
+
+  /**
+   * Returns the cached balances and loads the missing ones from the {@link BalanceService} in one
+   * batch. Balances are the same for every user, so the cache is shared; authorization happens
+   * before a balance is requested.
+   *
+   * @param bankAccounts the bank accounts to fetch the balances of, by ID
+   * @param userId the user ID requesting the balances
+   * @return a map of bank account IDs to their corresponding balances
+   */
+  public Map<UUID, BigDecimal> getBalanceFor(Map<UUID, BankAccount> bankAccounts, String userId) {
+    return cache.getAll(
+        bankAccounts.keySet(),
+        missing -> {
+          var missingBankAccounts = new HashMap<UUID, BankAccount>();
+          missing.forEach(id -> missingBankAccounts.put(id, bankAccounts.get(id)));
+          return balanceService.getBalanceFor(missingBankAccounts, userId);
+        });
+  }
+
+  /**
+   * @return a snapshot of the hit, miss, load and eviction statistics
+   */
+  public CacheStats getStats() {
+    return cache.stats();
+  }
+
+  /** Stops listening to bank account events. */
+  @PreDestroy
+  public void close() {
+    bankAccountEvents.dispose();
+  }
+}
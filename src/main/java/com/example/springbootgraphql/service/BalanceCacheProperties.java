@@ -0,0 +1,30 @@
+package com.example.springbootgraphql.service;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * BalanceCacheProperties
+ *
+ * <p>Binds the {@code bank.balance-cache} block of {@code application.yml} that bounds the {@link
+ * BalanceCache}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "bank.balance-cache")
+public class BalanceCacheProperties {
+
+  /**
+   * The maximum number of balances cached, least recently and frequently used ones being evicted
+   * first.
+   */
+  private long maximumSize = 10_000;
+
+  /**
+   * How long a balance stays cached after it was loaded. Bounds the staleness of a balance whose
+   * invalidation raced with its load.
+   */
+  private Duration expireAfterWrite = Duration.ofSeconds(30);
+}
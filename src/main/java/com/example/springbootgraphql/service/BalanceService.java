@@ -1,6 +1,8 @@
 package com.example.springbootgraphql.service;
 
 import com.example.springbootgraphql.domain.bank.BankAccount;
+import com.example.springbootgraphql.service.ledger.Ledger;
+import com.example.springbootgraphql.service.ledger.Posting;
 import java.math.BigDecimal;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -9,23 +11,62 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.IntStream;
+import javax.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 /**
  * Service for handling balance-related operations.
  *
- * <p>This service provides methods to fetch balances for a set of bank accounts.
+ * <p>This service provides methods to fetch balances for a set of bank accounts and to post to
+ * them. Balances are kept by the {@link Ledger}, which is seeded with the opening balances of the
+ * predefined bank accounts.
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class BalanceService {
 
+  private static final String OPENING_BALANCE = "Opening balance";
+
+  /**
+   * Dependency {@link Ledger} injected by {@link RequiredArgsConstructor}.
+   */
+  private final Ledger ledger;
+
+  /**
+   * <p>The {@code init} method posts the opening balances of the predefined bank accounts.
+   */
+  @PostConstruct
+  public void init() {
+    ledger.post(
+        UUID.fromString("c6aa269a-812b-49d5-b178-a739a1ed74cc"), BigDecimal.ONE, OPENING_BALANCE);
+    ledger.post(
+        UUID.fromString("48e4a484-af2c-4366-8cd4-25330597473f"),
+        new BigDecimal("23431.22"),
+        OPENING_BALANCE);
+  }
+
+  /**
+   * Posts an amount to a bank account.
+   *
+   * @param bankAccountId the {@link UUID} of the bank account
+   * @param amount the amount to credit, or to debit if negative
+   * @param description a description of the posting
+   * @return the appended {@link Posting}
+   */
+  public Posting post(UUID bankAccountId, BigDecimal amount, String description) {
+    log.debug("Posting {} to bank account {}", amount, bankAccountId);
+    return ledger.post(bankAccountId, amount, description);
+  }
+
   /**
    * Fetches the balance for a set of bank accounts.
    *
    * <p>This method logs the bank account IDs and user ID, and returns a map of bank account IDs
-   * to their corresponding balances.
+   * to their corresponding balances, read from the {@link Ledger} in a single pass over the IDs.
+   * Bank accounts without postings have no balance.
    *
    * @param bankAccountIds a map of bank account IDs to BankAccount objects
    * @param userId the user ID for which to fetch the balances
@@ -33,10 +74,10 @@ public class BalanceService {
    */
   public Map<UUID, BigDecimal> getBalanceFor(Map<UUID, BankAccount> bankAccountIds, String userId) {
     // logs map of id to entire bankAccount object associated with that id
-    log.info("Requesting bank accounts: {} for user ID: {}", bankAccountIds, userId);
+    log.debug("Requesting bank accounts: {} for user ID: {}", bankAccountIds, userId);
     // original set of ids
     var ids = bankAccountIds.keySet();
-    log.info("Requesting bank account ids: {} for user ID: {}", ids, userId);
+    log.debug("Requesting bank account ids: {} for user ID: {}", ids, userId);
 
     /**
      * VisualVM JVM Profiling
@@ -54,10 +95,6 @@ public class BalanceService {
      * LinkedHashSet<BigDecimal>(size); IntStream.range(0, size).forEach(nextInt ->
      * littleCrazy.add(BigDecimal.valueOf(nextInt))); bigCrazy.addAll(littleCrazy);
      */
-    return Map.of(
-        UUID.fromString("c6aa269a-812b-49d5-b178-a739a1ed74cc"),
-        BigDecimal.ONE,
-        UUID.fromString("48e4a484-af2c-4366-8cd4-25330597473f"),
-        new BigDecimal("23431.22"));
+    return ledger.getBalances(ids);
   }
 }
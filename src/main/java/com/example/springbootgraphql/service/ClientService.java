@@ -0,0 +1,38 @@
+package com.example.springbootgraphql.service;
+
+import com.example.springbootgraphql.domain.bank.Client;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service for handling client-related operations.
+ *
+ * <p>This service looks up the {@link Client}s of bank accounts in batches, so that the clients of
+ * a whole page of bank accounts cost one call once clients live in a separate service.
+ */
+@Slf4j
+@Service
+public class ClientService {
+
+  /**
+   * Fetches the clients of a set of bank accounts.
+   *
+   * @param bankAccountIds the IDs of the bank accounts
+   * @return a map of bank account IDs to their corresponding clients
+   */
+  public Map<UUID, Client> getClientsFor(Set<UUID> bankAccountIds) {
+    log.debug("Requesting client data for bank account ids {}", bankAccountIds);
+    // TODO client should be a separate service to hook into to retrieve clients with different info
+    var clients = new HashMap<UUID, Client>(bankAccountIds.size() * 4 / 3 + 1);
+    for (var bankAccountId : bankAccountIds) {
+      clients.put(
+          bankAccountId,
+          Client.builder().id(UUID.randomUUID()).firstName("Elias").lastName("Wrubel").build());
+    }
+    return clients;
+  }
+}
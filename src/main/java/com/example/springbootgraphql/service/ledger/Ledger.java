@@ -0,0 +1,139 @@
+package com.example.springbootgraphql.service.ledger;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ledger
+ *
+ * <p>An in-process ledger of {@link Posting}s. Each bank account has an append-only queue of its
+ * postings and a {@link LongAdder} of its balance in minor units, so:
+ *
+ * <dl>
+ *   <dt>posting
+ *   <dd>is lock-free: concurrent postings to the same account add to different cells of the adder
+ *       instead of contending on one value
+ *   <dt>reading a balance
+ *   <dd>sums the adder's cells without replaying postings and without blocking posters
+ * </dl>
+ *
+ * <p>A balance read concurrently with postings includes each of them either fully or not at all.
+ * Listeners added with {@link #addListener(Consumer)} are called once a posting is reflected in the
+ * balance.
+ */
+@Component
+@RequiredArgsConstructor
+public class Ledger {
+
+  /** All supported currencies have two decimal places. */
+  private static final int MINOR_UNIT_SCALE = 2;
+
+  /**
+   * Dependency {@link Clock} injected by {@link RequiredArgsConstructor}.
+   */
+  private final Clock clock;
+
+  private final Map<UUID, Account> accounts = new ConcurrentHashMap<>();
+  private final AtomicLong sequence = new AtomicLong();
+  private final List<Consumer<Posting>> listeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * Adds a listener called on the posting thread after each posting.
+   *
+   * @param listener receives each appended {@link Posting}
+   */
+  public void addListener(Consumer<Posting> listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * Appends a posting to the bank account and adds its amount to the balance.
+   *
+   * @param bankAccountId the {@link UUID} of the bank account
+   * @param amount the amount to credit, or to debit if negative, with at most two decimal places
+   * @param description a description of the posting
+   * @return the appended {@link Posting}
+   * @throws IllegalArgumentException if the amount has more than two decimal places
+   */
+  public Posting post(UUID bankAccountId, BigDecimal amount, String description) {
+    long minorUnits;
+    try {
+      minorUnits = amount.setScale(MINOR_UNIT_SCALE).unscaledValue().longValueExact();
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException("Unsupported posting amount " + amount, e);
+    }
+    var posting =
+        new Posting(
+            sequence.incrementAndGet(),
+            bankAccountId,
+            amount.setScale(MINOR_UNIT_SCALE),
+            description,
+            clock.instant());
+    var account = accounts.computeIfAbsent(bankAccountId, id -> new Account());
+    account.postings.add(posting);
+    account.balance.add(minorUnits);
+    listeners.forEach(listener -> listener.accept(posting));
+    return posting;
+  }
+
+  /**
+   * @param bankAccountId the {@link UUID} of the bank account
+   * @return the balance of the bank account, or {@code null} if nothing was posted to it
+   */
+  public @Nullable BigDecimal getBalance(UUID bankAccountId) {
+    var account = accounts.get(bankAccountId);
+    return account == null ? null : account.getBalance();
+  }
+
+  /**
+   * Reads the balances of several bank accounts in a single pass over their IDs.
+   *
+   * @param bankAccountIds the {@link UUID}s of the bank accounts
+   * @return the balance of each bank account something was posted to
+   */
+  public Map<UUID, BigDecimal> getBalances(Collection<UUID> bankAccountIds) {
+    var balances = new HashMap<UUID, BigDecimal>(bankAccountIds.size() * 4 / 3 + 1);
+    for (var bankAccountId : bankAccountIds) {
+      var account = accounts.get(bankAccountId);
+      if (account != null) {
+        balances.put(bankAccountId, account.getBalance());
+      }
+    }
+    return balances;
+  }
+
+  /**
+   * @param bankAccountId the {@link UUID} of the bank account
+   * @return the postings of the bank account in the order they were appended
+   */
+  public List<Posting> getPostings(UUID bankAccountId) {
+    var account = accounts.get(bankAccountId);
+    return account == null ? List.of() : List.copyOf(account.postings);
+  }
+
+  /** The postings and the running balance of one bank account. */
+  private static final class Account {
+
+    private final Queue<Posting> postings = new ConcurrentLinkedQueue<>();
+    private final LongAdder balance = new LongAdder();
+
+    private BigDecimal getBalance() {
+      return BigDecimal.valueOf(balance.sum(), MINOR_UNIT_SCALE);
+    }
+  }
+}
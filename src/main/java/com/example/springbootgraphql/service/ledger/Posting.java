@@ -0,0 +1,40 @@
+package com.example.springbootgraphql.service.ledger;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.Value;
+
+/**
+ * Represents a posting appended to the {@link Ledger}.
+ *
+ * <p>This class is immutable. A posting credits the account with a positive amount or debits it
+ * with a negative one; postings are never updated or removed.
+ */
+@Value
+public class Posting {
+  /**
+   * The position of the posting in the ledger, increasing across all accounts.
+   */
+  long sequence;
+
+  /**
+   * The ID of the bank account posted to.
+   */
+  UUID bankAccountId;
+
+  /**
+   * The amount posted, with at most two decimal places.
+   */
+  BigDecimal amount;
+
+  /**
+   * A description of the posting.
+   */
+  String description;
+
+  /**
+   * The time the posting was appended.
+   */
+  Instant postedAt;
+}
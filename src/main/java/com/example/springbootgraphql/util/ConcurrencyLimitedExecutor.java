@@ -0,0 +1,143 @@
+package com.example.springbootgraphql.util;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * ConcurrencyLimitedExecutor
+ *
+ * <p>Bounds the number of tasks running at once on an {@link Executor} that has no bound of its
+ * own, such as a virtual thread per task executor. A task submitted at the limit is handled by the
+ * {@link ExecutorProperties.RejectionPolicy}: it fails or runs on the submitting thread.
+ *
+ * <p>{@link io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics ExecutorServiceMetrics}
+ * cannot bind such executors, so this one records the meters of a platform pool itself, under the
+ * same names and with the same {@code name} tag:
+ *
+ * <ul>
+ *   <li>{@code executor} and {@code executor.idle} - the time tasks run and wait for a thread
+ *   <li>{@code executor.completed} - the tasks run, including the ones run by the submitter
+ *   <li>{@code executor.active} - the running tasks
+ *   <li>{@code executor.queued} - the tasks handed to the delegate but not started yet
+ *   <li>{@code executor.queue.remaining} - the tasks that can still start before the limit, if any
+ * </ul>
+ */
+class ConcurrencyLimitedExecutor implements Executor {
+
+  private final Executor delegate;
+  private final ExecutorProperties.RejectionPolicy rejectionPolicy;
+  private final Semaphore permits;
+  private final AtomicInteger activeCount = new AtomicInteger();
+  private final AtomicInteger queuedCount = new AtomicInteger();
+  private final LongAdder completedCount = new LongAdder();
+  private final Timer executionTimer;
+  private final Timer idleTimer;
+
+  /**
+   * @param delegate the executor running the tasks
+   * @param maxConcurrency the number of tasks running at once, zero or less for no bound
+   * @param rejectionPolicy what happens to tasks submitted at the limit
+   * @param meterRegistry the registry of the executor meters
+   * @param name the {@code name} tag of the executor meters
+   */
+  ConcurrencyLimitedExecutor(
+      Executor delegate,
+      int maxConcurrency,
+      ExecutorProperties.RejectionPolicy rejectionPolicy,
+      MeterRegistry meterRegistry,
+      String name) {
+    this.delegate = delegate;
+    this.rejectionPolicy = rejectionPolicy;
+    this.permits = maxConcurrency > 0 ? new Semaphore(maxConcurrency) : null;
+    this.executionTimer = meterRegistry.timer("executor", "name", name);
+    this.idleTimer = meterRegistry.timer("executor.idle", "name", name);
+
+    FunctionCounter.builder("executor.completed", completedCount, LongAdder::sum)
+        .tag("name", name)
+        .description("The approximate total number of tasks that have completed execution")
+        .baseUnit("tasks")
+        .register(meterRegistry);
+    Gauge.builder("executor.active", activeCount, AtomicInteger::get)
+        .tag("name", name)
+        .description("The approximate number of threads that are actively executing tasks")
+        .baseUnit("threads")
+        .register(meterRegistry);
+    Gauge.builder("executor.queued", queuedCount, AtomicInteger::get)
+        .tag("name", name)
+        .description("The approximate number of tasks that are queued for execution")
+        .baseUnit("tasks")
+        .register(meterRegistry);
+    if (permits != null) {
+      Gauge.builder("executor.queue.remaining", permits, Semaphore::availablePermits)
+          .tag("name", name)
+          .description(
+              "The number of additional elements that this queue can ideally accept without "
+                  + "blocking")
+          .baseUnit("tasks")
+          .register(meterRegistry);
+    }
+  }
+
+  @Override
+  public void execute(@NotNull Runnable command) {
+    long submitted = System.nanoTime();
+    if (permits != null && !permits.tryAcquire()) {
+      if (rejectionPolicy == ExecutorProperties.RejectionPolicy.ABORT) {
+        throw new RejectedExecutionException("Concurrency limit reached");
+      }
+      run(command, submitted);
+      return;
+    }
+    queuedCount.incrementAndGet();
+    try {
+      delegate.execute(
+          () -> {
+            queuedCount.decrementAndGet();
+            try {
+              run(command, submitted);
+            } finally {
+              release();
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      queuedCount.decrementAndGet();
+      release();
+      throw e;
+    }
+  }
+
+  /**
+   * @return the number of tasks running
+   */
+  int getActiveCount() {
+    return activeCount.get();
+  }
+
+  private void run(Runnable command, long submitted) {
+    long start = System.nanoTime();
+    idleTimer.record(start - submitted, TimeUnit.NANOSECONDS);
+    activeCount.incrementAndGet();
+    try {
+      command.run();
+    } finally {
+      executionTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      activeCount.decrementAndGet();
+      completedCount.increment();
+    }
+  }
+
+  private void release() {
+    if (permits != null) {
+      permits.release();
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package com.example.springbootgraphql.util;
+
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import java.util.Map;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.MDC;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * ContextSnapshot
+ *
+ * <p>An immutable snapshot of the request context of a thread: its {@link MDC} entries, among which
+ * the {@code correlation_id}, and its {@link SecurityContext}. A snapshot is captured once on the
+ * submitting thread and installed around a task on the thread running it, see {@link
+ * ContextSnapshotExecutor}.
+ *
+ * <p>Capturing is cheap enough for every task on the DataLoader hot path:
+ *
+ * <ul>
+ *   <li>Logback's MDC map is copy-on-write, so it is referenced rather than copied
+ *   <li>the last snapshot of each thread is reused as long as its MDC map and security context are
+ *       unchanged, so the batches dispatched for one request share one snapshot
+ *   <li>a task running on a thread whose MDC map and security context are still the captured
+ *       instances, e.g. on the submitting thread under a caller-runs rejection policy, runs as is
+ * </ul>
+ *
+ * <p>On any other thread, including the capturing one once its context changed, the context is
+ * installed before the task and the thread's previous context is restored after it. Pool and
+ * virtual threads carry no context between tasks, so this usually means clearing it again.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ContextSnapshot {
+
+  private static final ThreadLocal<ContextSnapshot> lastCaptured = new ThreadLocal<>();
+
+  /** The MDC entries, never modified once captured. */
+  private final @Nullable Map<String, String> mdc;
+
+  /** The MDC keys and values, flattened once so installing them allocates no iterator. */
+  @Getter(AccessLevel.NONE)
+  private final String[] mdcEntries;
+
+  /** The security context. */
+  private final SecurityContext securityContext;
+
+  /**
+   * @return the snapshot of the current thread's context
+   */
+  public static ContextSnapshot capture() {
+    var mdc = currentMdc();
+    var securityContext = SecurityContextHolder.getContext();
+    var last = lastCaptured.get();
+    if (last != null && last.mdc == mdc && last.securityContext == securityContext) {
+      return last;
+    }
+
+    var snapshot = new ContextSnapshot(mdc, flatten(mdc), securityContext);
+    lastCaptured.set(snapshot);
+    return snapshot;
+  }
+
+  /**
+   * Runs the task with this context installed on the current thread, then restores the thread's
+   * previous context.
+   *
+   * @param task the task to run
+   */
+  public void run(Runnable task) {
+    var previousMdc = currentMdc();
+    // Reading the holder stores an empty context if there is none, which is set back afterwards
+    // rather than clearing the holder, so its thread local entry is kept for the next task
+    var previousSecurityContext = SecurityContextHolder.getContext();
+    if (previousMdc == mdc && previousSecurityContext == securityContext) {
+      task.run();
+      return;
+    }
+
+    for (int i = 0; i < mdcEntries.length; i += 2) {
+      MDC.put(mdcEntries[i], mdcEntries[i + 1]);
+    }
+    SecurityContextHolder.setContext(securityContext);
+    try {
+      task.run();
+    } finally {
+      SecurityContextHolder.setContext(previousSecurityContext);
+      // Restoring key by key rather than replacing the map keeps the thread's MDC map for the next
+      // task
+      for (int i = 0; i < mdcEntries.length; i += 2) {
+        var previous = previousMdc == null ? null : previousMdc.get(mdcEntries[i]);
+        if (previous == null) {
+          MDC.remove(mdcEntries[i]);
+        } else {
+          MDC.put(mdcEntries[i], previous);
+        }
+      }
+    }
+  }
+
+  private static String[] flatten(@Nullable Map<String, String> mdc) {
+    if (mdc == null || mdc.isEmpty()) {
+      return new String[0];
+    }
+    var entries = new String[mdc.size() * 2];
+    int i = 0;
+    for (var entry : mdc.entrySet()) {
+      entries[i++] = entry.getKey();
+      entries[i++] = entry.getValue();
+    }
+    return entries;
+  }
+
+  private static @Nullable Map<String, String> currentMdc() {
+    var adapter = MDC.getMDCAdapter();
+    return adapter instanceof LogbackMDCAdapter
+        ? ((LogbackMDCAdapter) adapter).getPropertyMap()
+        : MDC.getCopyOfContextMap();
+  }
+}
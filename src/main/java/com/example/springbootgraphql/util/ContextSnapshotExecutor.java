@@ -0,0 +1,36 @@
+package com.example.springbootgraphql.util;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * ContextSnapshotExecutor
+ *
+ * <p>Propagates the request context to the tasks of an {@link Executor}: each task runs with the
+ * {@link ContextSnapshot} of the thread that submitted it, so its logs carry the {@code
+ * correlation_id} and it is authorized as the request's user.
+ */
+@RequiredArgsConstructor
+public class ContextSnapshotExecutor implements Executor {
+
+  private final Executor delegate;
+
+  public static Executor wrap(Executor executor) {
+    return new ContextSnapshotExecutor(executor);
+  }
+
+  /**
+   * Captures the current {@link ContextSnapshot} and executes the command with it on the delegate.
+   *
+   * @param command the runnable task
+   * @throws RejectedExecutionException if this task cannot be accepted for execution
+   * @throws NullPointerException if command is null
+   */
+  @Override
+  public void execute(@NotNull Runnable command) {
+    var snapshot = ContextSnapshot.capture();
+    delegate.execute(() -> snapshot.run(command));
+  }
+}
@@ -1,18 +1,175 @@
 package com.example.springbootgraphql.util;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import lombok.AccessLevel;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
 
-@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
-public final class ExecutorFactory {
+/**
+ * ExecutorFactory
+ *
+ * <p>The registry of the application's named thread pools. Each pool is created on first use from
+ * its {@link ExecutorProperties.PoolPolicy}, in the configured {@link ExecutorProperties.ThreadMode}:
+ *
+ * <ul>
+ *   <li>{@code PLATFORM} - a bounded queue, a maximum number of threads and a rejection policy for
+ *       when both are exhausted, so a load spike slows submitters down or fails fast instead of
+ *       queueing without limit
+ *   <li>{@code VIRTUAL} - a virtual thread per task, so resolvers and batch loaders blocking on
+ *       lookups do not hold a platform thread, with the number of running tasks bounded by the
+ *       pool's {@code max-concurrency} and the same rejection policy
+ * </ul>
+ *
+ * <p>Every pool records the meters of {@link ExecutorServiceMetrics}, tagged with its {@code name}:
+ *
+ * <ul>
+ *   <li>{@code executor.queued} and {@code executor.queue.remaining} - the queue depth
+ *   <li>{@code executor.active} and {@code executor.pool.size} - the busy and live threads
+ *   <li>{@code executor} and {@code executor.idle} - the time tasks run and wait in the queue
+ *   <li>{@code executor.completed} - the tasks run
+ * </ul>
+ *
+ * <p>{@link ExecutorServiceMetrics} cannot bind virtual thread pools, so their {@link
+ * ConcurrencyLimitedExecutor} records the same meters: {@code executor.active} counts the running
+ * tasks, {@code executor.queued} the ones waiting for their virtual thread to start and {@code
+ * executor.queue.remaining} the permits left below {@code max-concurrency}. They have no pool
+ * size.
+ *
+ * <p>Background work that runs on a timer rather than per request, i.e. the journal fsync, the
+ * snapshots, the DataLoader batch windows and the request log writer, gets a named single-thread
+ * {@link ScheduledExecutorService} from {@link #getScheduler(String)}. Its daemon thread is
+ * registered with the same metrics and shut down with the pools.
+ *
+ * <p>The returned {@link Executor}s propagate the {@link ContextSnapshot} of the submitting thread,
+ * i.e. the MDC and the security context, to the pool threads, virtual or not. All pools are shut
+ * down gracefully when the application context closes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExecutorFactory {
 
-  public static Executor newExecutor() {
-    var processors = Runtime.getRuntime().availableProcessors();
-    var executorService = Executors.newFixedThreadPool(processors);
-    var securityDelegatingExecutor = new DelegatingSecurityContextExecutorService(executorService);
-    return CorrelationIdPropagationExecutor.wrap(securityDelegatingExecutor);
+  public static final String BALANCE_EXECUTOR = "balance";
+  public static final String CLIENT_EXECUTOR = "client";
+  public static final String JOURNAL_FSYNC_SCHEDULER = "journal-fsync";
+  public static final String SNAPSHOT_SCHEDULER = "snapshot";
+  public static final String DATA_LOADER_DISPATCH_SCHEDULER = "dataloader-dispatch";
+  public static final String REQUEST_LOG_SCHEDULER = "request-log";
+
+  private final ExecutorProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, ExecutorService> pools = new ConcurrentHashMap<>();
+  private final Map<String, Executor> executors = new ConcurrentHashMap<>();
+  private final Map<String, ScheduledExecutorService> schedulers = new ConcurrentHashMap<>();
+
+  /**
+   * @param name the pool name
+   * @return the {@link Executor} of the named pool, created on first use
+   */
+  public Executor getExecutor(String name) {
+    return executors.computeIfAbsent(name, this::newExecutor);
+  }
+
+  /**
+   * @param name the scheduler name
+   * @return the single-thread {@link ScheduledExecutorService} of the named scheduler, created on
+   *     first use
+   */
+  public ScheduledExecutorService getScheduler(String name) {
+    return schedulers.computeIfAbsent(name, this::newScheduler);
+  }
+
+  private ScheduledExecutorService newScheduler(String name) {
+    var threadFactory = newThreadFactory(name);
+    var scheduler =
+        new ScheduledThreadPoolExecutor(
+            1,
+            runnable -> {
+              var thread = threadFactory.newThread(runnable);
+              thread.setDaemon(true);
+              return thread;
+            });
+    scheduler.setRemoveOnCancelPolicy(true);
+    pools.put(name, scheduler);
+    log.info("Created scheduler {}", name);
+    return ExecutorServiceMetrics.monitor(meterRegistry, scheduler, name);
+  }
+
+  private Executor newExecutor(String name) {
+    var policy = properties.getPolicy(name);
+    log.info("Created {} executor {} with {}", properties.getMode(), name, policy);
+    return properties.getMode() == ExecutorProperties.ThreadMode.VIRTUAL
+        ? newVirtualExecutor(name, policy)
+        : newPlatformExecutor(name, policy);
+  }
+
+  private Executor newPlatformExecutor(String name, ExecutorProperties.PoolPolicy policy) {
+    int coreSize =
+        policy.getCoreSize() > 0
+            ? policy.getCoreSize()
+            : Runtime.getRuntime().availableProcessors();
+    var pool =
+        new ThreadPoolExecutor(
+            coreSize,
+            Math.max(coreSize, policy.getMaxSize()),
+            policy.getKeepAlive().toMillis(),
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(policy.getQueueCapacity()),
+            newThreadFactory(name),
+            policy.getRejectionPolicy().toHandler());
+    pools.put(name, pool);
+
+    var timedPool = ExecutorServiceMetrics.monitor(meterRegistry, pool, name);
+    return ContextSnapshotExecutor.wrap(timedPool);
+  }
+
+  private Executor newVirtualExecutor(String name, ExecutorProperties.PoolPolicy policy) {
+    var pool = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 1).factory());
+    pools.put(name, pool);
+
+    var limitedPool =
+        new ConcurrencyLimitedExecutor(
+            pool,
+            policy.getMaxConcurrency(),
+            policy.getRejectionPolicy(),
+            meterRegistry,
+            name);
+    return ContextSnapshotExecutor.wrap(limitedPool);
+  }
+
+  private static ThreadFactory newThreadFactory(String name) {
+    var threadCount = new AtomicInteger();
+    return runnable -> new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+  }
+
+  /**
+   * <p>The {@code close} method stops every pool from accepting tasks, waits up to the shutdown
+   * timeout for the queued and running ones and interrupts whatever is left.
+   */
+  @PreDestroy
+  public void close() throws InterruptedException {
+    pools.values().forEach(ExecutorService::shutdown);
+    long deadline = System.nanoTime() + properties.getShutdownTimeout().toNanos();
+    for (var pool : pools.entrySet()) {
+      var remaining = deadline - System.nanoTime();
+      if (!pool.getValue().awaitTermination(remaining, TimeUnit.NANOSECONDS)) {
+        log.warn("Executor {} did not terminate in time, interrupting its tasks", pool.getKey());
+        pool.getValue().shutdownNow();
+      }
+    }
   }
 }
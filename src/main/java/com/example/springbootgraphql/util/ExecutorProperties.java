@@ -0,0 +1,125 @@
+package com.example.springbootgraphql.util;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * ExecutorProperties
+ *
+ * <p>Binds the {@code bank.executor} block of {@code application.yml} that configures the thread
+ * pools of the {@link ExecutorFactory}: the {@link ThreadMode} of all pools and a {@link
+ * PoolPolicy} per pool name, falling back to the default one.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "bank.executor")
+public class ExecutorProperties {
+
+  /**
+   * How long shutdown waits for the queued and running tasks of each pool before interrupting
+   * them.
+   */
+  private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+  /**
+   * Whether the pools run their tasks on platform or virtual threads.
+   */
+  private ThreadMode mode = ThreadMode.PLATFORM;
+
+  /**
+   * The {@link PoolPolicy} of pools without one of their own.
+   */
+  private PoolPolicy defaults = new PoolPolicy();
+
+  /**
+   * The {@link PoolPolicy} of each pool, by name.
+   */
+  private Map<String, PoolPolicy> pools = new HashMap<>();
+
+  /**
+   * @param name the pool name
+   * @return the {@link PoolPolicy} of the pool
+   */
+  public PoolPolicy getPolicy(String name) {
+    return pools.getOrDefault(name, defaults);
+  }
+
+  /**
+   * PoolPolicy
+   *
+   * <p>The size, queue and rejection policy of one pool.
+   */
+  @Data
+  public static class PoolPolicy {
+
+    /**
+     * The number of threads kept alive. A value of zero or less uses the number of available
+     * processors.
+     */
+    private int coreSize;
+
+    /**
+     * The number of threads the pool grows to once its queue is full. A value less than the core
+     * size uses the core size.
+     */
+    private int maxSize;
+
+    /**
+     * The number of tasks queued before the pool grows and then rejects.
+     */
+    private int queueCapacity = 1000;
+
+    /**
+     * How long threads above the core size stay idle before they exit.
+     */
+    private Duration keepAlive = Duration.ofSeconds(60);
+
+    /**
+     * What happens to a task submitted to a saturated pool.
+     */
+    private RejectionPolicy rejectionPolicy = RejectionPolicy.CALLER_RUNS;
+
+    /**
+     * The number of tasks running at once in {@link ThreadMode#VIRTUAL} mode, further tasks being
+     * rejected. A value of zero or less leaves it unbounded. The size, queue and keep-alive settings
+     * only apply in {@link ThreadMode#PLATFORM} mode.
+     */
+    private int maxConcurrency;
+  }
+
+  /**
+   * ThreadMode
+   *
+   * <p>The kind of threads the pools run their tasks on.
+   */
+  public enum ThreadMode {
+    /** A bounded {@link ThreadPoolExecutor} of platform threads per pool. */
+    PLATFORM,
+    /** A new virtual thread per task, so tasks blocking on I/O do not hold a platform thread. */
+    VIRTUAL
+  }
+
+  /**
+   * RejectionPolicy
+   *
+   * <p>The {@link RejectedExecutionHandler} of a saturated pool.
+   */
+  public enum RejectionPolicy {
+    /** Fails the submission with a {@link java.util.concurrent.RejectedExecutionException}. */
+    ABORT,
+    /** Runs the task on the submitting thread, slowing the submitter down to the pool's pace. */
+    CALLER_RUNS;
+
+    RejectedExecutionHandler toHandler() {
+      return this == ABORT
+          ? new ThreadPoolExecutor.AbortPolicy()
+          : new ThreadPoolExecutor.CallerRunsPolicy();
+    }
+  }
+}
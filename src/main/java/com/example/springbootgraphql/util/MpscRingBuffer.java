@@ -0,0 +1,104 @@
+package com.example.springbootgraphql.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * MpscRingBuffer
+ *
+ * <p>A bounded, lock-free queue for many producer threads and a single consumer thread. A producer
+ * claims a slot with one compare-and-set on the tail and then publishes its element into it; the
+ * consumer takes elements in claim order and frees their slots. {@link #offer(Object)} never blocks
+ * nor waits for the consumer: when the buffer is full it fails, leaving the producer to drop the
+ * element.
+ *
+ * <p>The capacity is rounded up to a power of two, so a sequence maps to its slot with a mask.
+ *
+ * @param <E> the type of elements
+ */
+public class MpscRingBuffer<E> {
+
+  private final AtomicReferenceArray<E> slots;
+  private final int mask;
+
+  /** The next sequence to claim, advanced by the producers. */
+  private final AtomicLong tail = new AtomicLong();
+
+  /** The next sequence to take, advanced by the consumer only. */
+  private final AtomicLong head = new AtomicLong();
+
+  public MpscRingBuffer(int capacity) {
+    if (capacity < 1 || capacity > 1 << 30) {
+      throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+    }
+    var size = Integer.highestOneBit(capacity - 1) << 1;
+    slots = new AtomicReferenceArray<>(Math.max(1, size));
+    mask = slots.length() - 1;
+  }
+
+  /**
+   * Adds an element unless the buffer is full. Safe to call from any thread.
+   *
+   * @param element the element to add
+   * @return {@code false} if the buffer is full
+   */
+  public boolean offer(E element) {
+    if (element == null) {
+      throw new NullPointerException();
+    }
+    long sequence;
+    do {
+      sequence = tail.get();
+      if (sequence - head.get() >= slots.length()) {
+        return false;
+      }
+    } while (!tail.compareAndSet(sequence, sequence + 1));
+    slots.set((int) sequence & mask, element);
+    return true;
+  }
+
+  /**
+   * Takes the oldest element. Only the consumer thread may call this.
+   *
+   * @return the oldest element, or {@code null} if the buffer is empty or its oldest slot is
+   *     claimed but not published yet
+   */
+  public E poll() {
+    var sequence = head.get();
+    var index = (int) sequence & mask;
+    var element = slots.get(index);
+    if (element == null) {
+      return null;
+    }
+    slots.lazySet(index, null);
+    head.lazySet(sequence + 1);
+    return element;
+  }
+
+  /**
+   * Takes up to {@code limit} elements, oldest first. Only the consumer thread may call this.
+   *
+   * @param consumer receives each element taken
+   * @param limit the maximum number of elements to take
+   * @return the number of elements taken
+   */
+  public int drain(Consumer<? super E> consumer, int limit) {
+    var drained = 0;
+    E element;
+    while (drained < limit && (element = poll()) != null) {
+      consumer.accept(element);
+      drained++;
+    }
+    return drained;
+  }
+
+  /** @return the number of elements claimed and not taken yet, a snapshot */
+  public int size() {
+    return (int) Math.max(0, tail.get() - head.get());
+  }
+
+  public int capacity() {
+    return slots.length();
+  }
+}
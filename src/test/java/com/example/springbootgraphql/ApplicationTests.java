@@ -2,8 +2,12 @@ package com.example.springbootgraphql;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
 
-@SpringBootTest
+// The graphql test auto-configuration needs the TestRestTemplate of a running server
+@SpringBootTest(
+		webEnvironment = WebEnvironment.RANDOM_PORT,
+		properties = {"bank.journal.enabled=false", "bank.reactive.port=0"})
 class ApplicationTests {
 
 	@Test
@@ -0,0 +1,85 @@
+package com.example.springbootgraphql.connection;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares {@link CursorCodec} with the former string based cursors.
+ *
+ * <p>Run with {@code -prof gc} to compare the bytes allocated per operation as well, e.g. from the
+ * IDE or via {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.springbootgraphql.connection.CursorCodecBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CursorCodecBenchmark {
+
+  private UUID id;
+  private String legacyCursor;
+  private String cursor;
+  private String sortedCursor;
+
+  @Setup
+  public void setUp() {
+    id = UUID.fromString("c6aa269a-812b-49d5-b178-a4aad31a9a0d");
+    legacyCursor =
+        Base64.getEncoder().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    cursor = CursorCodec.encode(id);
+    sortedCursor = CursorCodec.encode(id, 1_633_046_400_000L);
+  }
+
+  @Benchmark
+  public String encodeLegacy() {
+    return Base64.getEncoder().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Benchmark
+  public String encode() {
+    return CursorCodec.encode(id);
+  }
+
+  @Benchmark
+  public String encodeSorted() {
+    return CursorCodec.encode(id, 1_633_046_400_000L);
+  }
+
+  @Benchmark
+  public UUID decodeLegacy() {
+    return UUID.fromString(new String(Base64.getDecoder().decode(legacyCursor)));
+  }
+
+  @Benchmark
+  public UUID decode() {
+    return CursorCodec.decode(cursor).getId();
+  }
+
+  @Benchmark
+  public CursorKey decodeSorted() {
+    return CursorCodec.decode(sortedCursor);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(CursorCodecBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
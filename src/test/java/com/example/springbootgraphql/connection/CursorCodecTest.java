@@ -0,0 +1,97 @@
+package com.example.springbootgraphql.connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import graphql.GraphQLException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CursorCodecTest {
+
+  private static final UUID ID = UUID.fromString("c6aa269a-812b-49d5-b178-a739a1ed74cc");
+
+  @Test
+  void id_cursors_round_trip() {
+    var cursor = CursorCodec.encode(ID);
+
+    assertThat(cursor).isEqualTo("AQDGqiaagStJ1bF4pzmh7XTM");
+    assertThat(CursorCodec.decode(cursor)).isEqualTo(new CursorKey(ID, false, 0));
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = {0, 1, -1, Long.MIN_VALUE, Long.MAX_VALUE, 1_633_176_000_000L})
+  void sorted_cursors_round_trip(long sortKey) {
+    var cursor = CursorCodec.encode(ID, sortKey);
+
+    assertThat(cursor).hasSize(35);
+    assertThat(CursorCodec.decode(cursor)).isEqualTo(new CursorKey(ID, true, sortKey));
+  }
+
+  @Test
+  void cursors_are_url_safe_base64_of_the_binary_layout() {
+    var bytes =
+        ByteBuffer.allocate(26)
+            .put((byte) CursorCodec.VERSION)
+            .put((byte) CursorCodec.SORT_KEY)
+            .putLong(ID.getMostSignificantBits())
+            .putLong(ID.getLeastSignificantBits())
+            .putLong(-42)
+            .array();
+
+    assertThat(CursorCodec.encode(ID, -42))
+        .isEqualTo(Base64.getUrlEncoder().withoutPadding().encodeToString(bytes));
+  }
+
+  @Test
+  void legacy_cursors_are_still_accepted() {
+    var cursor =
+        Base64.getEncoder().encodeToString(ID.toString().getBytes(StandardCharsets.UTF_8));
+
+    assertThat(CursorCodec.decode(cursor)).isEqualTo(new CursorKey(ID, false, 0));
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "",
+        "abc",
+        // One character short of an ID cursor
+        "AQDGqiaagStJ1bF4pzmh7XT",
+        // Outside the URL-safe alphabet
+        "AQDGqiaagStJ1bF4pzmh7XT+",
+        "AQDGqiaagStJ1bF4pzmh7XT=",
+        "AQDGqiaagStJ1bF4pzmh7XTé",
+        // Version 2
+        "AgDGqiaagStJ1bF4pzmh7XTM",
+        // Sort key flag on an ID cursor
+        "AQHGqiaagStJ1bF4pzmh7XTM",
+        // 48 characters that are not a legacy cursor
+        "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA"
+      })
+  void malformed_cursors_are_rejected(String cursor) {
+    assertThatThrownBy(() -> CursorCodec.decode(cursor))
+        .isInstanceOf(GraphQLException.class)
+        .hasMessage("Invalid cursor");
+  }
+
+  @Test
+  void a_sorted_cursor_without_its_flag_is_rejected() {
+    var bytes =
+        ByteBuffer.allocate(26)
+            .put((byte) CursorCodec.VERSION)
+            .put((byte) 0)
+            .putLong(ID.getMostSignificantBits())
+            .putLong(ID.getLeastSignificantBits())
+            .putLong(7)
+            .array();
+    var cursor = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+    assertThatThrownBy(() -> CursorCodec.decode(cursor)).isInstanceOf(GraphQLException.class);
+  }
+}
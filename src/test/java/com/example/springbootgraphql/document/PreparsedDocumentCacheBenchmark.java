@@ -0,0 +1,109 @@
+package com.example.springbootgraphql.document;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import graphql.schema.idl.UnExecutableSchemaGenerator;
+import graphql.validation.Validator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Compares parsing and validating the playground query against the bank schema on every request
+ * with serving it from the {@link PreparsedDocumentCache}.
+ *
+ * <p>Run e.g. from the IDE or via {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.springbootgraphql.document.PreparsedDocumentCacheBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PreparsedDocumentCacheBenchmark {
+
+  private Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate;
+  private ExecutionInput executionInput;
+  private PreparsedDocumentCache cache;
+
+  @Setup
+  public void setUp() throws IOException {
+    var resolver = new PathMatchingResourcePatternResolver();
+    var typeDefinitions = new TypeDefinitionRegistry();
+    for (var resource : resolver.getResources("classpath*:graphql/**/*.graphqls")) {
+      try (InputStream in = resource.getInputStream()) {
+        var sdl = StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+        if (!sdl.isBlank()) {
+          typeDefinitions.merge(new SchemaParser().parse(sdl));
+        }
+      }
+    }
+    GraphQLSchema schema = UnExecutableSchemaGenerator.makeUnExecutableSchema(typeDefinitions);
+
+    parseAndValidate =
+        input -> {
+          var document = new Parser().parseDocument(input.getQuery());
+          var errors = new Validator().validateDocument(schema, document);
+          return errors.isEmpty()
+              ? new PreparsedDocumentEntry(document)
+              : new PreparsedDocumentEntry(errors);
+        };
+
+    try (InputStream in =
+        resolver.getResource("classpath:playground/bank_account.graphql").getInputStream()) {
+      executionInput =
+          ExecutionInput.newExecutionInput()
+              .query(StreamUtils.copyToString(in, StandardCharsets.UTF_8))
+              .build();
+    }
+
+    cache =
+        new PreparsedDocumentCache(
+            new PreparsedDocumentCacheProperties(), new SimpleMeterRegistry());
+    cache.init();
+    if (cache.getDocument(executionInput, parseAndValidate).hasErrors()) {
+      throw new IllegalStateException("The playground query does not validate");
+    }
+  }
+
+  @Benchmark
+  public PreparsedDocumentEntry parseAndValidate() {
+    return parseAndValidate.apply(executionInput);
+  }
+
+  @Benchmark
+  public PreparsedDocumentEntry cached() {
+    return cache.getDocument(executionInput, parseAndValidate);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(PreparsedDocumentCacheBenchmark.class.getSimpleName())
+                .build())
+        .run();
+  }
+}
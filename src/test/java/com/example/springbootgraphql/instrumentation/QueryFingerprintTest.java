@@ -0,0 +1,78 @@
+package com.example.springbootgraphql.instrumentation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import graphql.parser.Parser;
+import org.junit.jupiter.api.Test;
+
+class QueryFingerprintTest {
+
+  private static final String QUERY =
+      "query accounts($first: Int) {"
+          + " bankAccounts(first: $first) { edges { node { id currency } } } }";
+
+  @Test
+  void literals_aliases_field_order_and_formatting_are_normalized() {
+    var fingerprint = fingerprint(QUERY, "accounts");
+
+    assertThat(
+            fingerprint(
+                "query accounts($size: Int) {\n"
+                    + "  page: bankAccounts(first: $size) {\n"
+                    + "    edges { node { currency id } }\n"
+                    + "  }\n"
+                    + "}",
+                "accounts"))
+        .isEqualTo(fingerprint);
+    assertThat(fingerprint.getHash()).hasSize(64).matches("[0-9a-f]+");
+  }
+
+  @Test
+  void inline_argument_values_are_normalized() {
+    var fingerprint =
+        fingerprint(
+            "query accounts { bankAccounts(first: 10) { edges { node { id currency } } } }",
+            "accounts");
+
+    assertThat(
+            fingerprint(
+                "query accounts { bankAccounts(first: 25) { edges { node { id currency } } } }",
+                "accounts"))
+        .isEqualTo(fingerprint);
+  }
+
+  @Test
+  void other_operations_of_the_document_are_ignored() {
+    var fingerprint = fingerprint(QUERY, "accounts");
+
+    assertThat(fingerprint(QUERY + " query other { bankAccount(id: \"1\") { id } }", "accounts"))
+        .isEqualTo(fingerprint);
+  }
+
+  @Test
+  void different_shapes_have_different_fingerprints() {
+    var fingerprint = fingerprint(QUERY, "accounts");
+
+    assertThat(
+            fingerprint(
+                "query accounts($first: Int) {"
+                    + " bankAccounts(first: $first) { edges { node { id } } } }",
+                "accounts"))
+        .isNotEqualTo(fingerprint);
+    assertThat(
+            fingerprint(
+                "query accounts($last: Int) {"
+                    + " bankAccounts(last: $last) { edges { node { id currency } } } }",
+                "accounts"))
+        .isNotEqualTo(fingerprint);
+  }
+
+  @Test
+  void the_operation_name_is_kept() {
+    assertThat(fingerprint(QUERY, "accounts").getOperationName()).isEqualTo("accounts");
+  }
+
+  private static QueryFingerprint fingerprint(String query, String operationName) {
+    return QueryFingerprint.of(new Parser().parseDocument(query), operationName);
+  }
+}
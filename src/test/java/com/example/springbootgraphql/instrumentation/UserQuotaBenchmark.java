@@ -0,0 +1,83 @@
+package com.example.springbootgraphql.instrumentation;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the {@link UserQuota} check of an operation, entering, taking a token and exiting, from
+ * 8 threads: {@code sharedUser} has all threads check the quota of one user, the worst case of
+ * contention, and {@code ownUser} gives each thread a user of its own. The rate is high enough for
+ * every check to be admitted.
+ *
+ * <p>Run e.g. from the IDE or via {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.springbootgraphql.instrumentation.UserQuotaBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class UserQuotaBenchmark {
+
+  private static final double UNLIMITED_RATE = 1e9;
+
+  @State(Scope.Benchmark)
+  public static class SharedUser {
+    UserQuota quota;
+
+    @Setup
+    public void setUp() {
+      quota = new UserQuota(UNLIMITED_RATE, Integer.MAX_VALUE, Integer.MAX_VALUE, System.nanoTime());
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class OwnUser {
+    UserQuota quota;
+
+    @Setup
+    public void setUp() {
+      quota = new UserQuota(UNLIMITED_RATE, Integer.MAX_VALUE, Integer.MAX_VALUE, System.nanoTime());
+    }
+  }
+
+  @Benchmark
+  public long sharedUser(SharedUser user) {
+    return check(user.quota);
+  }
+
+  @Benchmark
+  public long ownUser(OwnUser user) {
+    return check(user.quota);
+  }
+
+  private static long check(UserQuota quota) {
+    if (!quota.tryEnter()) {
+      throw new IllegalStateException("Not admitted");
+    }
+    try {
+      return quota.tryAcquire(System.nanoTime());
+    } finally {
+      quota.exit();
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(UserQuotaBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
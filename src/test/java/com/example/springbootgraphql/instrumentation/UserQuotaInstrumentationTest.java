@@ -0,0 +1,126 @@
+package com.example.springbootgraphql.instrumentation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.springbootgraphql.context.CustomGraphQLContext;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.execution.instrumentation.Instrumentation;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UserQuotaInstrumentationTest {
+
+  private final UserQuotaProperties properties = new UserQuotaProperties();
+  private final UserQuotaInstrumentation instrumentation =
+      new UserQuotaInstrumentation(properties, new SimpleMeterRegistry());
+  private final CompletableFuture<String> pending = new CompletableFuture<>();
+
+  @BeforeEach
+  void configure() {
+    properties.setMaxInFlight(1);
+    instrumentation.init();
+  }
+
+  @Test
+  void operations_over_the_in_flight_quota_are_rejected_until_one_completes() {
+    var graphQL = graphQL(instrumentation);
+
+    var first = graphQL.executeAsync(input("{ pending }"));
+    var rejected = graphQL.execute(input("{ hello }"));
+    pending.complete("done");
+
+    assertThat(first.join().getErrors()).isEmpty();
+    assertThat(rejected.getErrors()).singleElement().isInstanceOf(AbortExecutionException.class);
+    assertThat(rejected.getErrors().get(0).getExtensions())
+        .containsEntry("code", "CONCURRENCY_LIMITED");
+    assertThat(graphQL.execute(input("{ hello }")).getErrors()).isEmpty();
+  }
+
+  @Test
+  void operations_rejected_by_a_later_instrumentation_exit_the_quota() {
+    var graphQL = graphQL(instrumentation, new RejectingInstrumentation());
+
+    var rejected = graphQL.execute(input("{ hello }"));
+
+    assertThat(rejected.getErrors()).singleElement().isInstanceOf(AbortExecutionException.class);
+    assertThat(graphQL(instrumentation).execute(input("{ hello }")).getErrors()).isEmpty();
+  }
+
+  @Test
+  void operations_aborted_by_a_later_instrumentation_exit_the_quota() {
+    var graphQL = graphQL(instrumentation, new AbortingInstrumentation());
+
+    var aborted = graphQL.execute(input("{ hello }"));
+    assertThat(aborted.getErrors()).singleElement().isInstanceOf(AbortExecutionException.class);
+
+    var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    var admitted = graphQL(instrumentation).execute(input("{ hello }"));
+    while (!admitted.getErrors().isEmpty() && System.nanoTime() < deadline) {
+      // The abandoned execution exits the quota once it is collected
+      System.gc();
+      admitted = graphQL(instrumentation).execute(input("{ hello }"));
+    }
+    assertThat(admitted.getErrors()).isEmpty();
+  }
+
+  private GraphQL graphQL(Instrumentation... instrumentations) {
+    var schema =
+        new SchemaGenerator()
+            .makeExecutableSchema(
+                new SchemaParser().parse("type Query { hello: String pending: String }"),
+                RuntimeWiring.newRuntimeWiring()
+                    .type(
+                        "Query",
+                        builder ->
+                            builder
+                                .dataFetcher("hello", environment -> "world")
+                                .dataFetcher("pending", environment -> pending))
+                    .build());
+    return GraphQL.newGraphQL(schema)
+        .instrumentation(new ChainedInstrumentation(List.of(instrumentations)))
+        .build();
+  }
+
+  private static ExecutionInput input(String query) {
+    return ExecutionInput.newExecutionInput(query)
+        .context(new CustomGraphQLContext("IDJ|Elias", false, null))
+        .build();
+  }
+
+  /** Aborts every operation once it begins. */
+  private static class AbortingInstrumentation extends SimpleInstrumentation {
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+        InstrumentationExecuteOperationParameters parameters) {
+      throw new AbortExecutionException("Aborted");
+    }
+  }
+
+  /** Rejects every operation the way the other instrumentations of the application do. */
+  private static class RejectingInstrumentation extends SimpleInstrumentation {
+
+    @Override
+    public ExecutionContext instrumentExecutionContext(
+        ExecutionContext executionContext, InstrumentationExecutionParameters parameters) {
+      return RejectedExecutionStrategy.reject(
+          executionContext, new AbortExecutionException("Rejected"));
+    }
+  }
+}
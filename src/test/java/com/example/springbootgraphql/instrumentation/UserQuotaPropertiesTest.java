@@ -0,0 +1,30 @@
+package com.example.springbootgraphql.instrumentation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+class UserQuotaPropertiesTest {
+
+  private final ApplicationContextRunner contextRunner =
+      new ApplicationContextRunner().withUserConfiguration(Config.class);
+
+  @Test
+  void the_defaults_are_valid() {
+    contextRunner.run(context -> assertThat(context).hasNotFailed());
+  }
+
+  @Test
+  void a_rate_burst_or_concurrency_of_zero_is_rejected() {
+    for (var property : new String[] {"requests-per-second", "burst", "max-in-flight"}) {
+      contextRunner
+          .withPropertyValues("bank.user-quota." + property + "=0")
+          .run(context -> assertThat(context).hasFailed());
+    }
+  }
+
+  @EnableConfigurationProperties(UserQuotaProperties.class)
+  static class Config {}
+}
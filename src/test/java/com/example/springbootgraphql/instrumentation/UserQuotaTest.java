@@ -0,0 +1,103 @@
+package com.example.springbootgraphql.instrumentation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class UserQuotaTest {
+
+  /** {@link System#nanoTime()} may be negative. */
+  private static final long NOW = -TimeUnit.DAYS.toNanos(1);
+
+  private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+  @Test
+  void a_full_burst_is_admitted_at_once() {
+    var quota = new UserQuota(10, 3, 1, NOW);
+
+    assertThat(quota.tryAcquire(NOW)).isZero();
+    assertThat(quota.tryAcquire(NOW)).isZero();
+    assertThat(quota.tryAcquire(NOW)).isZero();
+    assertThat(quota.tryAcquire(NOW)).isEqualTo(INTERVAL);
+  }
+
+  @Test
+  void tokens_come_back_at_the_sustained_rate() {
+    var quota = new UserQuota(10, 3, 1, NOW);
+    for (int i = 0; i < 3; i++) {
+      quota.tryAcquire(NOW);
+    }
+
+    assertThat(quota.tryAcquire(NOW + INTERVAL / 4)).isEqualTo(INTERVAL * 3 / 4);
+    assertThat(quota.tryAcquire(NOW + INTERVAL)).isZero();
+    assertThat(quota.tryAcquire(NOW + INTERVAL)).isEqualTo(INTERVAL);
+    assertThat(quota.tryAcquire(NOW + 3 * INTERVAL)).isZero();
+    assertThat(quota.tryAcquire(NOW + 3 * INTERVAL)).isZero();
+    assertThat(quota.tryAcquire(NOW + 3 * INTERVAL)).isEqualTo(INTERVAL);
+  }
+
+  @Test
+  void an_idle_period_refills_no_more_than_the_burst() {
+    var quota = new UserQuota(10, 3, 1, NOW);
+    var later = NOW + TimeUnit.HOURS.toNanos(1);
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(quota.tryAcquire(later)).isZero();
+    }
+    assertThat(quota.tryAcquire(later)).isEqualTo(INTERVAL);
+  }
+
+  @Test
+  void a_burst_of_zero_admits_one_at_a_time() {
+    var quota = new UserQuota(10, 0, 1, NOW);
+
+    assertThat(quota.tryAcquire(NOW)).isZero();
+    assertThat(quota.tryAcquire(NOW)).isEqualTo(INTERVAL);
+  }
+
+  @Test
+  void concurrent_requests_never_take_more_than_the_burst() throws InterruptedException {
+    var quota = new UserQuota(1, 100, 1, NOW);
+    var admitted = new AtomicInteger();
+    var start = new CountDownLatch(1);
+    var executor = Executors.newFixedThreadPool(8);
+    for (int thread = 0; thread < 8; thread++) {
+      executor.execute(
+          () -> {
+            try {
+              start.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+              return;
+            }
+            for (int i = 0; i < 1_000; i++) {
+              if (quota.tryAcquire(NOW) == 0) {
+                admitted.incrementAndGet();
+              }
+            }
+          });
+    }
+
+    start.countDown();
+    executor.shutdown();
+    assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(admitted).hasValue(100);
+  }
+
+  @Test
+  void at_most_the_maximum_requests_are_in_flight() {
+    var quota = new UserQuota(10, 3, 2, NOW);
+
+    assertThat(quota.tryEnter()).isTrue();
+    assertThat(quota.tryEnter()).isTrue();
+    assertThat(quota.tryEnter()).isFalse();
+
+    quota.exit();
+    assertThat(quota.tryEnter()).isTrue();
+    assertThat(quota.tryEnter()).isFalse();
+  }
+}
@@ -0,0 +1,88 @@
+package com.example.springbootgraphql.publisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.springbootgraphql.domain.bank.BankAccount;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+
+class BankAccountPublisherTest {
+
+  private final BankAccountPublisher publisher = new BankAccountPublisher();
+
+  @Test
+  void events_reach_every_current_subscriber_only() {
+    var first = bankAccount();
+    var second = bankAccount();
+    publisher.publish(bankAccount());
+
+    var all = subscribe(publisher.getBankAccountPublisher());
+    var events = subscribe(publisher.getBankAccountEvents());
+    var filtered = subscribe(publisher.getBankAccountPublisherFor(second.getId()));
+    publisher.publish(first);
+    publisher.publish(second);
+
+    assertThat(all).containsExactly(first, second);
+    assertThat(events).containsExactly(first, second);
+    assertThat(filtered).containsExactly(second);
+  }
+
+  @Test
+  void a_subscriber_without_demand_does_not_hold_the_others_back() {
+    var slow = new ArrayList<BankAccount>();
+    Flux.from(publisher.getBankAccountEvents())
+        .subscribe(
+            new BaseSubscriber<BankAccount>() {
+              @Override
+              protected void hookOnSubscribe(Subscription subscription) {
+                subscription.request(1);
+              }
+
+              @Override
+              protected void hookOnNext(BankAccount bankAccount) {
+                slow.add(bankAccount);
+              }
+            });
+    var fast = subscribe(publisher.getBankAccountEvents());
+    var first = bankAccount();
+    var second = bankAccount();
+
+    publisher.publish(first);
+    publisher.publish(second);
+
+    assertThat(slow).containsExactly(first);
+    assertThat(fast).containsExactly(first, second);
+  }
+
+  @Test
+  void events_published_concurrently_are_all_delivered() {
+    var received = ConcurrentHashMap.<BankAccount>newKeySet();
+    Flux.from(publisher.getBankAccountEvents()).subscribe(received::add);
+    var bankAccounts =
+        IntStream.range(0, 10_000).mapToObj(i -> bankAccount()).collect(Collectors.toList());
+
+    bankAccounts.parallelStream().forEach(publisher::publish);
+
+    assertThat(received).containsExactlyInAnyOrderElementsOf(bankAccounts);
+  }
+
+  private static List<BankAccount> subscribe(Publisher<BankAccount> events) {
+    var received = new CopyOnWriteArrayList<BankAccount>();
+    Flux.from(events).subscribe(received::add);
+    return received;
+  }
+
+  private static BankAccount bankAccount() {
+    return BankAccount.builder().id(UUID.randomUUID()).build();
+  }
+}
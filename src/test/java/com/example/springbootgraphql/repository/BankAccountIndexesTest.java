@@ -0,0 +1,159 @@
+package com.example.springbootgraphql.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.springbootgraphql.domain.bank.BankAccount;
+import com.example.springbootgraphql.domain.bank.Currency;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class BankAccountIndexesTest {
+
+  private static final Instant START = Instant.parse("2021-10-01T00:00:00Z");
+  private static final long SPAN = Duration.ofDays(30).toMillis();
+
+  private final Random random = new Random(42);
+  private final BankAccountIndexes indexes = new BankAccountIndexes();
+  private final Map<UUID, BankAccount> bankAccounts = new HashMap<>();
+
+  @Test
+  void counts_match_the_bank_accounts_in_range() {
+    for (int i = 0; i < 2_000; i++) {
+      save(bankAccount(UUID.randomUUID()));
+    }
+    var ids = new ArrayList<>(bankAccounts.keySet());
+    for (int i = 0; i < 500; i++) {
+      // Moves the bank account to another creation time and currency
+      save(bankAccount(ids.get(random.nextInt(ids.size()))));
+    }
+    for (var id : ids.subList(0, 300)) {
+      indexes.remove(bankAccounts.remove(id));
+    }
+
+    for (int i = 0; i < 500; i++) {
+      var criteria =
+          BankAccountCriteria.builder()
+              .currency(random.nextBoolean() ? null : currency())
+              .createdAfter(random.nextInt(4) == 0 ? null : instant())
+              .createdBefore(random.nextInt(4) == 0 ? null : instant())
+              .build();
+      assertThat(indexes.count(criteria))
+          .as("%s", criteria)
+          .isEqualTo(bankAccounts.values().stream().filter(criteria::matches).count());
+    }
+  }
+
+  @Test
+  void ranges_on_day_boundaries_count_whole_days() {
+    var midnight = Instant.parse("2021-10-02T00:00:00Z");
+    save(createdAt(midnight.minusMillis(1)));
+    save(createdAt(midnight));
+    save(createdAt(midnight.plus(Duration.ofDays(1)).minusMillis(1)));
+    save(createdAt(midnight.plus(Duration.ofDays(1))));
+
+    assertThat(count(midnight.minusMillis(1), midnight.plus(Duration.ofDays(1)))).isEqualTo(2);
+    assertThat(count(midnight.minusMillis(2), midnight.plus(Duration.ofDays(1)).plusMillis(1)))
+        .isEqualTo(4);
+    assertThat(count(midnight, midnight.plus(Duration.ofDays(1)))).isEqualTo(1);
+    assertThat(count(midnight, midnight.plusMillis(1))).isZero();
+  }
+
+  @Test
+  void id_ordered_pages_of_a_narrow_creation_time_range_read_the_range_by_id() {
+    for (int i = 0; i < 2_000; i++) {
+      save(bankAccount(UUID.randomUUID()));
+    }
+
+    for (var currency : new Currency[] {null, Currency.PHP}) {
+      var criteria =
+          BankAccountCriteria.builder()
+              .currency(currency)
+              .createdAfter(START.plus(Duration.ofDays(10)))
+              .createdBefore(START.plus(Duration.ofDays(11)))
+              .build();
+      var index = indexes.select(criteria, 11);
+
+      assertThat(index).as("%s", criteria).isNotNull();
+      assertThat(index.stream().map(BankAccountKey::getId))
+          .as("%s", criteria)
+          .containsExactlyElementsOf(matchingIds(criteria));
+      assertThat(index).allMatch(key -> key.getSortKey() == 0);
+    }
+  }
+
+  @Test
+  void id_ordered_pages_of_a_wide_creation_time_range_scan_by_id() {
+    for (int i = 0; i < 2_000; i++) {
+      save(bankAccount(UUID.randomUUID()));
+    }
+    var criteria =
+        BankAccountCriteria.builder()
+            .createdAfter(START.plus(Duration.ofDays(1)))
+            .createdBefore(START.plus(Duration.ofDays(29)));
+
+    assertThat(indexes.select(criteria.build(), 11)).isNull();
+    var index = indexes.select(criteria.currency(Currency.PHP).build(), 11);
+    assertThat(index).isNotNull();
+    assertThat(index.stream().map(BankAccountKey::getId))
+        .containsExactlyElementsOf(
+            matchingIds(BankAccountCriteria.builder().currency(Currency.PHP).build()));
+  }
+
+  private List<UUID> matchingIds(BankAccountCriteria criteria) {
+    return bankAccounts.values().stream()
+        .filter(criteria::matches)
+        .map(BankAccount::getId)
+        .sorted()
+        .collect(Collectors.toList());
+  }
+
+  private long count(Instant createdAfter, Instant createdBefore) {
+    return indexes.count(
+        BankAccountCriteria.builder()
+            .createdAfter(createdAfter)
+            .createdBefore(createdBefore)
+            .build());
+  }
+
+  private void save(BankAccount bankAccount) {
+    indexes.update(bankAccounts.put(bankAccount.getId(), bankAccount), bankAccount);
+  }
+
+  private BankAccount bankAccount(UUID id) {
+    return BankAccount.builder()
+        .id(id)
+        .currency(currency())
+        .createdAt(instant().atZone(ZoneOffset.UTC))
+        .build();
+  }
+
+  private static BankAccount createdAt(Instant createdAt) {
+    return BankAccount.builder()
+        .id(UUID.randomUUID())
+        .currency(Currency.PHP)
+        .createdAt(createdAt.atZone(ZoneOffset.UTC))
+        .build();
+  }
+
+  private Currency currency() {
+    return Currency.values()[random.nextInt(Currency.values().length)];
+  }
+
+  /** Mostly somewhere in the span, sometimes exactly on a midnight. */
+  private Instant instant() {
+    var millis = (long) (random.nextDouble() * SPAN);
+    if (random.nextInt(8) == 0) {
+      millis -= millis % Duration.ofDays(1).toMillis();
+    }
+    return START.plusMillis(millis);
+  }
+}
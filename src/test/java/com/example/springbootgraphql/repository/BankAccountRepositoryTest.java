@@ -0,0 +1,146 @@
+package com.example.springbootgraphql.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.springbootgraphql.domain.bank.BankAccount;
+import com.example.springbootgraphql.domain.bank.Currency;
+import com.example.springbootgraphql.repository.journal.AccountJournal;
+import com.example.springbootgraphql.repository.journal.FsyncPolicy;
+import com.example.springbootgraphql.repository.journal.JournalProperties;
+import com.example.springbootgraphql.repository.journal.SnapshotStore;
+import com.example.springbootgraphql.repository.store.BankAccountStore;
+import com.example.springbootgraphql.repository.store.OffHeapBankAccountStore;
+import com.example.springbootgraphql.repository.store.OnHeapBankAccountStore;
+import com.example.springbootgraphql.util.ExecutorFactory;
+import com.example.springbootgraphql.util.ExecutorProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+class BankAccountRepositoryTest {
+
+  private static final UUID SEED = UUID.fromString("c6aa269a-812b-49d5-b178-a739a1ed74cc");
+
+  @TempDir Path directory;
+
+  private final JournalProperties properties = new JournalProperties();
+  private final ExecutorFactory executorFactory =
+      new ExecutorFactory(new ExecutorProperties(), new SimpleMeterRegistry());
+  private AccountJournal accountJournal;
+  private SnapshotStore snapshotStore;
+
+  @BeforeEach
+  void configure() {
+    properties.setDirectory(directory);
+    properties.setSegmentSize(DataSize.ofKilobytes(4));
+    properties.setFsyncPolicy(FsyncPolicy.OS);
+  }
+
+  @AfterEach
+  void close() throws InterruptedException {
+    accountJournal.close();
+    executorFactory.close();
+  }
+
+  @Test
+  void seeds_are_saved_on_the_first_start_only() {
+    var repository = restart();
+    assertThat(repository.count(BankAccountCriteria.ALL)).isEqualTo(4);
+    assertThat(accountJournal.getLastSequence()).isEqualTo(4);
+
+    restart();
+    assertThat(accountJournal.getLastSequence()).isEqualTo(4);
+  }
+
+  @Test
+  void deleted_seeds_stay_deleted_after_a_snapshot_and_a_restart() {
+    var repository = restart();
+    assertThat(repository.delete(SEED)).isTrue();
+    for (int i = 0; i < 200; i++) {
+      repository.save(bankAccount(UUID.randomUUID()));
+    }
+    repository.snapshot(snapshotStore);
+    assertThat(accountJournal.compact(accountJournal.getLastSequence())).isPositive();
+
+    repository = restart();
+
+    assertThat(repository.count(BankAccountCriteria.ALL)).isEqualTo(203);
+    assertThat(repository.findById(SEED)).isEmpty();
+  }
+
+  @Test
+  void writes_after_the_snapshot_are_replayed_from_the_journal() {
+    var repository = restart();
+    repository.snapshot(snapshotStore);
+    var id = UUID.randomUUID();
+    repository.save(bankAccount(id));
+    repository.delete(SEED);
+
+    repository = restart();
+
+    assertThat(repository.findById(id)).isPresent();
+    assertThat(repository.findById(SEED)).isEmpty();
+    assertThat(repository.count(BankAccountCriteria.ALL)).isEqualTo(4);
+    assertThat(repository.count(BankAccountCriteria.builder().currency(Currency.PHP).build()))
+        .isEqualTo(1);
+  }
+
+  @Test
+  void bank_accounts_the_store_rejects_are_not_journaled() {
+    var repository = restart(new OffHeapBankAccountStore());
+    var bankAccount = bankAccount(UUID.randomUUID(), "12.345");
+
+    assertThatThrownBy(() -> repository.save(bankAccount))
+        .isInstanceOf(IllegalArgumentException.class);
+
+    assertThat(accountJournal.getLastSequence()).isEqualTo(4);
+    assertThat(restart(new OffHeapBankAccountStore()).count(BankAccountCriteria.ALL)).isEqualTo(4);
+  }
+
+  @Test
+  void seeds_are_kept_in_memory_when_journaling_is_disabled() {
+    properties.setEnabled(false);
+
+    var repository = restart();
+
+    assertThat(repository.count(BankAccountCriteria.ALL)).isEqualTo(4);
+    assertThat(repository.findById(SEED)).isPresent();
+  }
+
+  /** Opens the journal directory like a fresh start of the application would. */
+  private BankAccountRepository restart() {
+    return restart(new OnHeapBankAccountStore());
+  }
+
+  private BankAccountRepository restart(BankAccountStore store) {
+    if (accountJournal != null) {
+      accountJournal.close();
+    }
+    accountJournal = new AccountJournal(properties, executorFactory);
+    snapshotStore = new SnapshotStore(properties);
+    var repository = new BankAccountRepository(store, accountJournal, snapshotStore);
+    repository.init();
+    return repository;
+  }
+
+  private static BankAccount bankAccount(UUID id) {
+    return bankAccount(id, "12.50");
+  }
+
+  private static BankAccount bankAccount(UUID id, String balance) {
+    return BankAccount.builder()
+        .id(id)
+        .currency(Currency.PHP)
+        .createdAt(ZonedDateTime.parse("2021-10-02T12:00:00+00:00"))
+        .balance(new BigDecimal(balance))
+        .build();
+  }
+}
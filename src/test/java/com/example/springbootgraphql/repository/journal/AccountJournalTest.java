@@ -0,0 +1,165 @@
+package com.example.springbootgraphql.repository.journal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.springbootgraphql.domain.bank.BankAccount;
+import com.example.springbootgraphql.domain.bank.Currency;
+import com.example.springbootgraphql.util.ExecutorFactory;
+import com.example.springbootgraphql.util.ExecutorProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+class AccountJournalTest {
+
+  /** The segment header, then per record its length, crc32 and sequence. */
+  private static final int HEADER_SIZE = Integer.BYTES + Long.BYTES;
+  private static final int RECORD_HEADER_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES;
+
+  /** A record type byte followed by an ID, flags and currency only record. */
+  private static final int PAYLOAD_SIZE = 1 + Long.BYTES * 2 + 2;
+
+  @TempDir Path directory;
+
+  private final JournalProperties properties = new JournalProperties();
+  private final ExecutorFactory executorFactory =
+      new ExecutorFactory(new ExecutorProperties(), new SimpleMeterRegistry());
+  private final List<Object> replayed = new ArrayList<>();
+  private AccountJournal journal;
+
+  @BeforeEach
+  void configure() {
+    properties.setDirectory(directory);
+    properties.setFsyncPolicy(FsyncPolicy.OS);
+  }
+
+  @AfterEach
+  void close() throws InterruptedException {
+    journal.close();
+    executorFactory.close();
+  }
+
+  @Test
+  void writes_and_deletes_are_replayed_in_order() {
+    var first = bankAccount();
+    var second = bankAccount();
+    reopen();
+    assertThat(journal.append(first)).isEqualTo(1);
+    assertThat(journal.appendDelete(first.getId())).isEqualTo(2);
+    assertThat(journal.append(second)).isEqualTo(3);
+
+    assertThat(reopen()).isEqualTo(3);
+
+    assertThat(replayed).containsExactly(first, first.getId(), second);
+    assertThat(journal.append(first)).isEqualTo(4);
+  }
+
+  @Test
+  void writes_up_to_the_given_sequence_are_skipped() {
+    var bankAccounts = List.of(bankAccount(), bankAccount(), bankAccount());
+    reopen();
+    bankAccounts.forEach(journal::append);
+
+    assertThat(recover(2)).isEqualTo(3);
+
+    assertThat(replayed).containsExactly(bankAccounts.get(2));
+  }
+
+  @Test
+  void full_segments_roll_over_and_are_replayed_in_order() throws IOException {
+    // Ten records per segment
+    properties.setSegmentSize(
+        DataSize.ofBytes(HEADER_SIZE + 10L * (RECORD_HEADER_SIZE + PAYLOAD_SIZE)));
+    var bankAccounts = new ArrayList<BankAccount>();
+    reopen();
+    for (int i = 0; i < 35; i++) {
+      bankAccounts.add(bankAccount());
+      journal.append(bankAccounts.get(i));
+    }
+
+    assertThat(reopen()).isEqualTo(35);
+
+    assertThat(segments()).hasSize(4);
+    assertThat(replayed).isEqualTo(bankAccounts);
+  }
+
+  @Test
+  void replay_stops_at_a_torn_record_which_is_then_overwritten() throws IOException {
+    var bankAccounts = List.of(bankAccount(), bankAccount(), bankAccount());
+    reopen();
+    bankAccounts.forEach(journal::append);
+    journal.close();
+    // Flips a payload byte of the third record, as if the process died while writing it
+    var payloadOfThird = HEADER_SIZE + 2 * (RECORD_HEADER_SIZE + PAYLOAD_SIZE) + RECORD_HEADER_SIZE;
+    try (var channel =
+        FileChannel.open(segments().get(0), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      var data = ByteBuffer.allocate(1);
+      channel.read(data, payloadOfThird);
+      data.put(0, (byte) ~data.get(0)).rewind();
+      channel.write(data, payloadOfThird);
+    }
+
+    assertThat(reopen()).isEqualTo(2);
+    assertThat(replayed).isEqualTo(bankAccounts.subList(0, 2));
+
+    var replacement = bankAccount();
+    assertThat(journal.append(replacement)).isEqualTo(3);
+    reopen();
+    assertThat(replayed).containsExactly(bankAccounts.get(0), bankAccounts.get(1), replacement);
+  }
+
+  @Test
+  void appends_require_a_recovered_journal() {
+    journal = new AccountJournal(properties, executorFactory);
+
+    assertThatThrownBy(() -> journal.append(bankAccount()))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void nothing_is_journaled_when_disabled() {
+    properties.setEnabled(false);
+
+    assertThat(recover(7)).isEqualTo(7);
+    assertThat(journal.append(bankAccount())).isZero();
+    assertThat(directory).isEmptyDirectory();
+  }
+
+  private long reopen() {
+    return recover(0);
+  }
+
+  /** Closes the journal, if any, and recovers a new one from the directory. */
+  private long recover(long afterSequence) {
+    if (journal != null) {
+      journal.close();
+    }
+    replayed.clear();
+    journal = new AccountJournal(properties, executorFactory);
+    return journal.recover(afterSequence, replayed::add, replayed::add);
+  }
+
+  private List<Path> segments() throws IOException {
+    try (var files = Files.list(directory)) {
+      return files.sorted().collect(Collectors.toList());
+    }
+  }
+
+  private static BankAccount bankAccount() {
+    return BankAccount.builder().id(UUID.randomUUID()).currency(Currency.CHF).build();
+  }
+}
@@ -0,0 +1,140 @@
+package com.example.springbootgraphql.repository.journal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.springbootgraphql.domain.bank.BankAccount;
+import com.example.springbootgraphql.domain.bank.Currency;
+import com.example.springbootgraphql.repository.BankAccountCriteria;
+import com.example.springbootgraphql.repository.BankAccountRepository;
+import com.example.springbootgraphql.repository.store.OnHeapBankAccountStore;
+import com.example.springbootgraphql.util.ExecutorFactory;
+import com.example.springbootgraphql.util.ExecutorProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+class AccountSnapshotSchedulerTest {
+
+  @TempDir Path directory;
+
+  private final JournalProperties properties = new JournalProperties();
+  private final ExecutorFactory executorFactory =
+      new ExecutorFactory(new ExecutorProperties(), new SimpleMeterRegistry());
+  private AccountJournal accountJournal;
+  private SnapshotStore snapshotStore;
+  private BankAccountRepository repository;
+  private AccountSnapshotScheduler scheduler;
+
+  @BeforeEach
+  void configure() {
+    properties.setDirectory(directory);
+    properties.setSegmentSize(DataSize.ofKilobytes(1));
+    properties.setFsyncPolicy(FsyncPolicy.OS);
+    properties.setSnapshotInterval(Duration.ZERO);
+    restart();
+  }
+
+  @AfterEach
+  void close() throws InterruptedException {
+    scheduler.stop();
+    accountJournal.close();
+    executorFactory.close();
+  }
+
+  @Test
+  void the_journal_is_compacted_up_to_the_oldest_retained_snapshot() throws IOException {
+    saveBankAccounts(100);
+    var segments = segments();
+
+    scheduler.snapshot();
+    var firstSnapshot = accountJournal.getLastSequence();
+
+    assertThat(segments).hasSizeGreaterThan(1);
+    assertThat(segments()).containsExactly(segments.get(segments.size() - 1));
+
+    saveBankAccounts(100);
+    scheduler.snapshot();
+
+    // The journal is only compacted up to the first snapshot, so loading can still fall back to it
+    assertThat(snapshotStore.getOldestRetainedSequence()).hasValue(firstSnapshot);
+    assertThat(segments()).hasSizeGreaterThan(1);
+    assertThat(firstSegmentSequence()).isLessThanOrEqualTo(firstSnapshot + 1);
+  }
+
+  @Test
+  void a_restart_loads_the_snapshot_and_replays_the_tail() {
+    saveBankAccounts(100);
+    scheduler.snapshot();
+    saveBankAccounts(100);
+    scheduler.snapshot();
+    saveBankAccounts(10);
+
+    restart();
+
+    assertThat(repository.count(BankAccountCriteria.ALL)).isEqualTo(4 + 210);
+  }
+
+  @Test
+  void nothing_is_written_when_nothing_was_journaled() throws IOException {
+    scheduler.snapshot();
+    var snapshots = snapshots();
+
+    scheduler.snapshot();
+
+    assertThat(snapshots()).isEqualTo(snapshots).hasSize(1);
+  }
+
+  private void restart() {
+    if (accountJournal != null) {
+      scheduler.stop();
+      accountJournal.close();
+    }
+    accountJournal = new AccountJournal(properties, executorFactory);
+    snapshotStore = new SnapshotStore(properties);
+    repository =
+        new BankAccountRepository(new OnHeapBankAccountStore(), accountJournal, snapshotStore);
+    repository.init();
+    scheduler =
+        new AccountSnapshotScheduler(
+            properties, repository, accountJournal, snapshotStore, executorFactory);
+    scheduler.start();
+  }
+
+  private void saveBankAccounts(int count) {
+    for (int i = 0; i < count; i++) {
+      repository.save(BankAccount.builder().id(UUID.randomUUID()).currency(Currency.CHF).build());
+    }
+  }
+
+  private long firstSegmentSequence() throws IOException {
+    var name = segments().get(0).getFileName().toString();
+    return Long.parseLong(name.replaceAll("\\D", ""));
+  }
+
+  private List<Path> segments() throws IOException {
+    return files(JournalSegment.SUFFIX);
+  }
+
+  private List<Path> snapshots() throws IOException {
+    return files(".snap");
+  }
+
+  private List<Path> files(String suffix) throws IOException {
+    try (var files = Files.list(directory)) {
+      return files
+          .filter(path -> path.toString().endsWith(suffix))
+          .sorted()
+          .collect(Collectors.toList());
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package com.example.springbootgraphql.repository.journal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.springbootgraphql.domain.bank.BankAccount;
+import com.example.springbootgraphql.domain.bank.Currency;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class BankAccountRecordCodecTest {
+
+  private final ByteBuffer buffer = ByteBuffer.allocate(1024);
+
+  @Test
+  void every_persisted_field_is_decoded() {
+    var bankAccount =
+        BankAccount.builder()
+            .id(UUID.randomUUID())
+            .currency(Currency.USD)
+            .createdAt(ZonedDateTime.parse("2007-08-07T19:01:22.123456789+04:00[Asia/Dubai]"))
+            .createdOn(LocalDate.parse("2007-08-07"))
+            .balance(new BigDecimal("-98765432109876543210.123"))
+            .build();
+
+    assertThat(roundTrip(bankAccount)).isEqualTo(bankAccount);
+  }
+
+  @Test
+  void absent_fields_stay_absent() {
+    var bankAccount = BankAccount.builder().id(UUID.randomUUID()).build();
+
+    assertThat(roundTrip(bankAccount)).isEqualTo(bankAccount);
+    assertThat(buffer.position()).isEqualTo(Long.BYTES * 2 + 2);
+  }
+
+  @Test
+  void records_are_read_back_to_back() {
+    var first = BankAccount.builder().id(UUID.randomUUID()).currency(Currency.PHP).build();
+    var second =
+        BankAccount.builder()
+            .id(UUID.randomUUID())
+            .createdAt(ZonedDateTime.parse("2020-12-03T10:15:30Z"))
+            .balance(BigDecimal.ZERO)
+            .build();
+
+    BankAccountRecordCodec.encode(first, buffer);
+    BankAccountRecordCodec.encode(second, buffer);
+    buffer.flip();
+
+    assertThat(BankAccountRecordCodec.decode(buffer)).isEqualTo(first);
+    assertThat(BankAccountRecordCodec.decode(buffer)).isEqualTo(second);
+    assertThat(buffer.hasRemaining()).isFalse();
+  }
+
+  @Test
+  void balances_too_long_for_a_record_are_rejected_before_anything_is_written() {
+    var longest = BigInteger.ONE.shiftLeft(255 * 8 - 1).subtract(BigInteger.ONE);
+    var fits = BankAccount.builder().id(UUID.randomUUID()).balance(new BigDecimal(longest)).build();
+    var tooLong =
+        BankAccount.builder()
+            .id(UUID.randomUUID())
+            .balance(new BigDecimal(longest.add(BigInteger.ONE)))
+            .build();
+
+    assertThat(roundTrip(fits)).isEqualTo(fits);
+    buffer.clear();
+    assertThatThrownBy(() -> BankAccountRecordCodec.encode(tooLong, buffer))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("256 bytes");
+    assertThat(buffer.position()).isZero();
+  }
+
+  private BankAccount roundTrip(BankAccount bankAccount) {
+    BankAccountRecordCodec.encode(bankAccount, buffer);
+    return BankAccountRecordCodec.decode(buffer.duplicate().flip());
+  }
+}
@@ -0,0 +1,113 @@
+package com.example.springbootgraphql.repository.journal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.springbootgraphql.domain.bank.BankAccount;
+import com.example.springbootgraphql.domain.bank.Currency;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SnapshotStoreTest {
+
+  @TempDir Path directory;
+
+  private final JournalProperties properties = new JournalProperties();
+  private final List<BankAccount> loaded = new ArrayList<>();
+  private SnapshotStore snapshotStore;
+
+  @BeforeEach
+  void configure() {
+    properties.setDirectory(directory);
+    snapshotStore = new SnapshotStore(properties);
+  }
+
+  @Test
+  void the_newest_snapshot_is_loaded() {
+    snapshotStore.write(10, bankAccounts(3));
+    var bankAccounts = bankAccounts(5_000);
+
+    assertThat(snapshotStore.write(20, bankAccounts)).isEqualTo(5_000);
+
+    assertThat(snapshotStore.load(loaded::add)).isEqualTo(20);
+    assertThat(loaded).isEqualTo(bankAccounts);
+  }
+
+  @Test
+  void only_the_retained_snapshots_are_kept() throws IOException {
+    snapshotStore.write(10, bankAccounts(1));
+    snapshotStore.write(20, bankAccounts(1));
+    snapshotStore.write(30, bankAccounts(1));
+
+    assertThat(snapshots()).hasSize(SnapshotStore.RETAINED);
+    assertThat(snapshotStore.getOldestRetainedSequence()).hasValue(20);
+  }
+
+  @Test
+  void a_corrupt_snapshot_falls_back_to_the_previous_one() throws IOException {
+    var previous = bankAccounts(2);
+    snapshotStore.write(10, previous);
+    snapshotStore.write(20, bankAccounts(2));
+    var newest = snapshots().get(1);
+    try (var channel = FileChannel.open(newest, StandardOpenOption.WRITE)) {
+      channel.truncate(Files.size(newest) - 1);
+    }
+
+    assertThat(snapshotStore.load(loaded::add)).isEqualTo(10);
+    assertThat(loaded).isEqualTo(previous);
+  }
+
+  @Test
+  void a_flipped_byte_is_detected() throws IOException {
+    snapshotStore.write(10, bankAccounts(2));
+    var snapshot = snapshots().get(0);
+    try (var channel =
+        FileChannel.open(snapshot, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      var data = ByteBuffer.allocate(1);
+      channel.read(data, 20);
+      data.put(0, (byte) ~data.get(0)).rewind();
+      channel.write(data, 20);
+    }
+
+    assertThat(snapshotStore.load(loaded::add)).isZero();
+    assertThat(loaded).isEmpty();
+  }
+
+  @Test
+  void nothing_is_loaded_without_a_snapshot() {
+    assertThat(snapshotStore.load(loaded::add)).isZero();
+    assertThat(snapshotStore.getOldestRetainedSequence()).isEmpty();
+  }
+
+  private List<Path> snapshots() throws IOException {
+    try (var files = Files.list(directory)) {
+      return files.sorted().collect(Collectors.toList());
+    }
+  }
+
+  private static List<BankAccount> bankAccounts(int count) {
+    return IntStream.range(0, count)
+        .mapToObj(
+            i ->
+                BankAccount.builder()
+                    .id(UUID.randomUUID())
+                    .currency(Currency.USD)
+                    .createdAt(ZonedDateTime.parse("2021-10-02T12:00:00+02:00"))
+                    .balance(BigDecimal.valueOf(i, 2))
+                    .build())
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,127 @@
+package com.example.springbootgraphql.repository.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.springbootgraphql.domain.bank.BankAccount;
+import com.example.springbootgraphql.domain.bank.Currency;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class OffHeapBankAccountStoreTest {
+
+  private final OffHeapBankAccountStore store = new OffHeapBankAccountStore();
+
+  @Test
+  void bank_accounts_are_read_back_field_by_field() {
+    var bankAccount =
+        BankAccount.builder()
+            .id(UUID.randomUUID())
+            .currency(Currency.CHF)
+            .createdAt(ZonedDateTime.parse("2020-12-03T10:15:30+01:00[Europe/Zurich]"))
+            .createdOn(LocalDate.parse("2020-12-03"))
+            .balance(new BigDecimal("-1234.50"))
+            .build();
+    var empty = BankAccount.builder().id(UUID.randomUUID()).build();
+
+    store.put(bankAccount);
+    store.put(empty);
+
+    assertThat(store.get(bankAccount.getId())).isEqualTo(bankAccount);
+    assertThat(store.get(empty.getId())).isEqualTo(empty);
+    assertThat(store.get(UUID.randomUUID())).isNull();
+  }
+
+  @Test
+  void bank_accounts_are_read_in_id_order() {
+    var ids = randomIds(100);
+    ids.forEach(id -> store.put(bankAccount(id, "1.00")));
+    var sorted = ids.stream().sorted().collect(Collectors.toList());
+    var middle = sorted.get(50);
+
+    assertThat(ids(store.values())).isEqualTo(sorted);
+    assertThat(ids(store.valuesAfter(middle))).isEqualTo(sorted.subList(51, 100));
+    assertThat(ids(store.descendingValues())).isEqualTo(reversed(sorted));
+    assertThat(ids(store.valuesBefore(middle))).isEqualTo(reversed(sorted.subList(0, 50)));
+  }
+
+  @Test
+  void replaced_and_removed_bank_accounts_are_no_longer_read() {
+    var replaced = UUID.randomUUID();
+    var removed = UUID.randomUUID();
+    store.put(bankAccount(replaced, "1.00"));
+    store.put(bankAccount(removed, "2.00"));
+
+    store.put(bankAccount(replaced, "3.00"));
+    store.remove(removed);
+
+    assertThat(store.get(replaced).getBalance()).isEqualByComparingTo("3.00");
+    assertThat(store.get(removed)).isNull();
+    assertThat(store.values()).hasSize(1);
+  }
+
+  @Test
+  void balances_must_be_whole_minor_units_of_a_long() {
+    assertThatCode(() -> store.validate(bankAccount(UUID.randomUUID(), "12.500")))
+        .doesNotThrowAnyException();
+    assertThatThrownBy(() -> store.validate(bankAccount(UUID.randomUUID(), "12.345")))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> store.validate(bankAccount(UUID.randomUUID(), "1e20")))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void dead_rows_are_reclaimed() {
+    var ids = randomIds(1_000);
+    ids.forEach(id -> store.put(bankAccount(id, "0.00")));
+    var before = store.values();
+
+    for (int round = 1; round <= 300; round++) {
+      for (var id : ids) {
+        store.put(bankAccount(id, round + ".00"));
+      }
+    }
+
+    assertThat(store.allocatedRows()).isLessThan(2 * ids.size() + (1 << 16));
+    assertThat(store.values()).hasSize(ids.size());
+    assertThat(store.values())
+        .allSatisfy(account -> assertThat(account.getBalance()).isEqualByComparingTo("300"));
+    // A view taken before the compactions keeps reading the generation it started with
+    assertThat(ids(before)).isEqualTo(ids.stream().sorted().collect(Collectors.toList()));
+  }
+
+  private static BankAccount bankAccount(UUID id, String balance) {
+    return BankAccount.builder()
+        .id(id)
+        .currency(Currency.PHP)
+        .balance(new BigDecimal(balance))
+        .build();
+  }
+
+  private static List<UUID> randomIds(int count) {
+    return IntStream.range(0, count)
+        .mapToObj(i -> UUID.randomUUID())
+        .collect(Collectors.toList());
+  }
+
+  private static List<UUID> ids(Iterable<BankAccount> bankAccounts) {
+    var ids = new ArrayList<UUID>();
+    bankAccounts.forEach(bankAccount -> ids.add(bankAccount.getId()));
+    return ids;
+  }
+
+  private static List<UUID> reversed(List<UUID> ids) {
+    var reversed = new ArrayList<>(ids);
+    Collections.reverse(reversed);
+    return reversed;
+  }
+}
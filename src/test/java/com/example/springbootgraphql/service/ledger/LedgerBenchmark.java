@@ -0,0 +1,72 @@
+package com.example.springbootgraphql.service.ledger;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures {@link Ledger} postings and batched balance reads running concurrently on a small set
+ * of hot accounts, i.e. with the posters contending on the same balances.
+ *
+ * <p>Run from the IDE or via {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.springbootgraphql.service.ledger.LedgerBenchmark}.
+ */
+@State(Scope.Group)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LedgerBenchmark {
+
+  private static final BigDecimal AMOUNT = new BigDecimal("12.34");
+
+  private Ledger ledger;
+  private List<UUID> bankAccountIds;
+
+  @Setup
+  public void setUp() {
+    ledger = new Ledger(Clock.systemUTC());
+    bankAccountIds = Stream.generate(UUID::randomUUID).limit(16).collect(Collectors.toList());
+    bankAccountIds.forEach(id -> ledger.post(id, BigDecimal.ONE, "Opening balance"));
+  }
+
+  @Benchmark
+  @Group("ledger")
+  @GroupThreads(3)
+  public Posting post() {
+    var id = bankAccountIds.get(ThreadLocalRandom.current().nextInt(bankAccountIds.size()));
+    return ledger.post(id, AMOUNT, "Benchmark");
+  }
+
+  @Benchmark
+  @Group("ledger")
+  @GroupThreads(1)
+  public Object getBalances() {
+    return ledger.getBalances(bankAccountIds);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(LedgerBenchmark.class.getSimpleName()).build()).run();
+  }
+}
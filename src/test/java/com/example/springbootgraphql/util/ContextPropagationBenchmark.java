@@ -0,0 +1,122 @@
+package com.example.springbootgraphql.util;
+
+import static com.example.springbootgraphql.instrumentation.RequestLoggingInstrumentation.CORRELATION_ID;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.MDC;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+
+/**
+ * Compares the {@link ContextSnapshotExecutor} with the former pair of wrappers, a correlation ID
+ * propagating executor around a {@link DelegatingSecurityContextExecutor}, on the DataLoader hot
+ * path: a request thread with a correlation ID and an authentication hands a batch over to a pool
+ * thread and waits for it. The {@code baseline} hands the batch over without propagating anything,
+ * the difference being the cost of the propagation.
+ *
+ * <p>Run with {@code -prof gc} to compare the bytes allocated per task as well, e.g. from the IDE
+ * or via {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.springbootgraphql.util.ContextPropagationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContextPropagationBenchmark {
+
+  private final Runnable batch = () -> {};
+  private ExecutorService pool;
+  private Executor legacyExecutor;
+  private Executor snapshotExecutor;
+
+  @Setup
+  public void setUp() {
+    pool = Executors.newSingleThreadExecutor();
+    legacyExecutor = new LegacyCorrelationIdExecutor(new DelegatingSecurityContextExecutor(pool));
+    snapshotExecutor = ContextSnapshotExecutor.wrap(pool);
+
+    MDC.put(CORRELATION_ID, UUID.randomUUID().toString());
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            new PreAuthenticatedAuthenticationToken(
+                "IDJ|Elias", "", List.of(new SimpleGrantedAuthority("get:bank_account"))));
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.shutdownNow();
+    SecurityContextHolder.clearContext();
+    MDC.clear();
+  }
+
+  @Benchmark
+  public Void baseline() {
+    return CompletableFuture.runAsync(batch, pool).join();
+  }
+
+  @Benchmark
+  public Void legacy() {
+    return CompletableFuture.runAsync(batch, legacyExecutor).join();
+  }
+
+  @Benchmark
+  public Void snapshot() {
+    return CompletableFuture.runAsync(batch, snapshotExecutor).join();
+  }
+
+  /** The former correlation ID propagation, one MDC put and remove per task. */
+  private static final class LegacyCorrelationIdExecutor implements Executor {
+
+    private final Executor delegate;
+
+    private LegacyCorrelationIdExecutor(Executor delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+      var correlationId = MDC.get(CORRELATION_ID);
+      delegate.execute(
+          () -> {
+            try {
+              MDC.put(CORRELATION_ID, correlationId);
+              command.run();
+            } finally {
+              MDC.remove(CORRELATION_ID);
+            }
+          });
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(ContextPropagationBenchmark.class.getSimpleName())
+                .build())
+        .run();
+  }
+}
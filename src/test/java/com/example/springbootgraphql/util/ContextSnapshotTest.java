@@ -0,0 +1,97 @@
+package com.example.springbootgraphql.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+class ContextSnapshotTest {
+
+  private static final String CORRELATION_ID = "correlation_id";
+
+  private final ExecutorService pool = Executors.newSingleThreadExecutor();
+  private final Executor executor = ContextSnapshotExecutor.wrap(pool);
+
+  @AfterEach
+  void close() throws InterruptedException {
+    MDC.clear();
+    SecurityContextHolder.clearContext();
+    pool.shutdown();
+    pool.awaitTermination(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void tasks_run_with_the_context_of_the_submitter_and_the_pool_thread_is_cleared_after() {
+    enter("abc", "Elias");
+
+    assertThat(CompletableFuture.supplyAsync(ContextSnapshotTest::context, executor).join())
+        .isEqualTo("abc Elias");
+    assertThat(CompletableFuture.supplyAsync(ContextSnapshotTest::context, pool).join())
+        .isEqualTo("null null");
+    assertThat(context()).isEqualTo("abc Elias");
+  }
+
+  @Test
+  void tasks_submitted_from_a_pool_thread_to_itself_run_with_the_context() {
+    enter("abc", "Elias");
+
+    var nested =
+        CompletableFuture.supplyAsync(
+                // Runs on the pool thread, which picks the nested task up once this one has
+                // returned and its context is cleared
+                () -> CompletableFuture.supplyAsync(ContextSnapshotTest::context, executor),
+                executor)
+            .join();
+
+    assertThat(nested.join()).isEqualTo("abc Elias");
+  }
+
+  @Test
+  void tasks_run_on_the_capturing_thread_as_is_while_its_context_is_unchanged() {
+    enter("abc", "Elias");
+    var securityContext = SecurityContextHolder.getContext();
+    var snapshot = ContextSnapshot.capture();
+
+    snapshot.run(() -> MDC.put("step", "1"));
+
+    assertThat(context()).isEqualTo("abc Elias");
+    assertThat(MDC.get("step")).isEqualTo("1");
+    assertThat(SecurityContextHolder.getContext()).isSameAs(securityContext);
+  }
+
+  @Test
+  void the_previous_context_of_the_running_thread_is_restored() {
+    enter("abc", "Elias");
+    var snapshot = ContextSnapshot.capture();
+    enter("def", "Jose");
+    MDC.put("other", "kept");
+
+    var during = new String[1];
+    snapshot.run(() -> during[0] = context() + " " + MDC.get("other"));
+
+    assertThat(during[0]).isEqualTo("abc Elias kept");
+    assertThat(context()).isEqualTo("def Jose");
+    assertThat(MDC.get("other")).isEqualTo("kept");
+  }
+
+  private static void enter(String correlationId, String userId) {
+    MDC.put(CORRELATION_ID, correlationId);
+    SecurityContextHolder.setContext(
+        new SecurityContextImpl(new TestingAuthenticationToken(userId, null)));
+  }
+
+  private static String context() {
+    var authentication = SecurityContextHolder.getContext().getAuthentication();
+    var userId = authentication == null ? null : authentication.getName();
+    return MDC.get(CORRELATION_ID) + " " + userId;
+  }
+}
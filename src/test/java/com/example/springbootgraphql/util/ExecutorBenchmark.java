@@ -0,0 +1,88 @@
+package com.example.springbootgraphql.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the platform and virtual thread modes of the {@link ExecutorFactory} at high
+ * concurrency: {@value #CONCURRENCY} callers each submit a lookup blocking for {@code lookupMillis}
+ * and wait for its result, like resolvers and batch loaders waiting on a downstream service.
+ *
+ * <p>Throughput mode gives the lookups per millisecond and sample time mode the latency
+ * percentiles, p99 included. Both go through the same correlation ID and security context
+ * propagation as the application's executors. Run e.g. from the IDE or via {@code mvn test-compile
+ * exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.springbootgraphql.util.ExecutorBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(ExecutorBenchmark.CONCURRENCY)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutorBenchmark {
+
+  static final int CONCURRENCY = 512;
+
+  @Param({"PLATFORM", "VIRTUAL"})
+  private ExecutorProperties.ThreadMode mode;
+
+  @Param({"1"})
+  private long lookupMillis;
+
+  private ExecutorFactory executorFactory;
+  private Executor executor;
+
+  @Setup
+  public void setUp() {
+    var properties = new ExecutorProperties();
+    properties.setMode(mode);
+    // Large enough that no lookup runs on a caller thread, which would flatter the platform pool
+    properties.getDefaults().setQueueCapacity(CONCURRENCY * 4);
+    executorFactory = new ExecutorFactory(properties, new SimpleMeterRegistry());
+    executor = executorFactory.getExecutor("benchmark");
+  }
+
+  @TearDown
+  public void tearDown() throws InterruptedException {
+    executorFactory.close();
+  }
+
+  @Benchmark
+  public Long blockingLookup() {
+    return CompletableFuture.supplyAsync(this::lookup, executor).join();
+  }
+
+  private Long lookup() {
+    try {
+      Thread.sleep(lookupMillis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return lookupMillis;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(ExecutorBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -0,0 +1,120 @@
+package com.example.springbootgraphql.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+class ExecutorFactoryTest {
+
+  private final ExecutorProperties properties = new ExecutorProperties();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ExecutorFactory executorFactory = new ExecutorFactory(properties, meterRegistry);
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @BeforeEach
+  void configure() {
+    properties.setMode(ExecutorProperties.ThreadMode.VIRTUAL);
+  }
+
+  @AfterEach
+  void close() throws InterruptedException {
+    release.countDown();
+    executorFactory.close();
+  }
+
+  @Test
+  void virtual_mode_runs_tasks_on_named_virtual_threads_with_the_submitter_context() {
+    MDC.put("correlation_id", "abc");
+    try {
+      var thread =
+          CompletableFuture.supplyAsync(
+                  () -> Thread.currentThread().getName() + " " + MDC.get("correlation_id"),
+                  executorFactory.getExecutor(ExecutorFactory.BALANCE_EXECUTOR))
+              .join();
+      var virtual =
+          CompletableFuture.supplyAsync(
+                  () -> Thread.currentThread().isVirtual(),
+                  executorFactory.getExecutor(ExecutorFactory.BALANCE_EXECUTOR))
+              .join();
+
+      assertThat(thread).startsWith("balance-").endsWith(" abc");
+      assertThat(virtual).isTrue();
+    } finally {
+      MDC.remove("correlation_id");
+    }
+  }
+
+  @Test
+  void virtual_mode_records_the_meters_of_platform_pools() throws InterruptedException {
+    properties.getDefaults().setMaxConcurrency(4);
+    var executor = executorFactory.getExecutor(ExecutorFactory.CLIENT_EXECUTOR);
+    var started = new CountDownLatch(1);
+
+    CompletableFuture.runAsync(() -> {}, executor).join();
+    var completed = meterRegistry.get("executor.completed").tag("name", "client").functionCounter();
+    while (completed.count() < 1) {
+      // The task is counted just after it completes the future
+      Thread.yield();
+    }
+    executor.execute(() -> block(started));
+    assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+    assertThat(meterRegistry.get("executor").tag("name", "client").timer().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("executor.idle").tag("name", "client").timer().count())
+        .isEqualTo(2);
+    assertThat(meterRegistry.get("executor.active").tag("name", "client").gauge().value())
+        .isEqualTo(1);
+    assertThat(meterRegistry.get("executor.queued").tag("name", "client").gauge().value()).isZero();
+    assertThat(
+            meterRegistry.get("executor.queue.remaining").tag("name", "client").gauge().value())
+        .isEqualTo(3);
+  }
+
+  @Test
+  void virtual_mode_aborts_tasks_above_the_max_concurrency() throws InterruptedException {
+    properties.getDefaults().setMaxConcurrency(1);
+    properties.getDefaults().setRejectionPolicy(ExecutorProperties.RejectionPolicy.ABORT);
+    var executor = executorFactory.getExecutor(ExecutorFactory.CLIENT_EXECUTOR);
+    var started = new CountDownLatch(1);
+
+    executor.execute(() -> block(started));
+    assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+    assertThatThrownBy(() -> executor.execute(() -> {}))
+        .isInstanceOf(RejectedExecutionException.class);
+    assertThat(meterRegistry.get("executor.active").tag("name", "client").gauge().value())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void virtual_mode_runs_tasks_above_the_max_concurrency_on_the_caller() throws Exception {
+    properties.getDefaults().setMaxConcurrency(1);
+    var executor = executorFactory.getExecutor(ExecutorFactory.CLIENT_EXECUTOR);
+    var started = new CountDownLatch(1);
+
+    executor.execute(() -> block(started));
+    assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+    var caller = new Thread[1];
+    executor.execute(() -> caller[0] = Thread.currentThread());
+
+    assertThat(caller[0]).isSameAs(Thread.currentThread());
+  }
+
+  private void block(CountDownLatch started) {
+    started.countDown();
+    try {
+      release.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
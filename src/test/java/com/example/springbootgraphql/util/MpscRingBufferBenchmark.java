@@ -0,0 +1,88 @@
+package com.example.springbootgraphql.util;
+
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the hand-off of a request log entry from 8 request threads to a draining writer thread:
+ * {@code ringBuffer} offers into a {@link MpscRingBuffer}, {@code blockingQueue} into an {@link
+ * ArrayBlockingQueue}, whose producers and consumer share one lock. A full buffer drops the entry
+ * in both cases.
+ *
+ * <p>Run e.g. from the IDE or via {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.springbootgraphql.util.MpscRingBufferBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class MpscRingBufferBenchmark {
+
+  private static final int CAPACITY = 8192;
+  private final Object entry = new Object();
+
+  private MpscRingBuffer<Object> ringBuffer;
+  private ArrayBlockingQueue<Object> blockingQueue;
+  private Thread writer;
+  private volatile boolean running;
+
+  @Setup
+  public void setUp() {
+    ringBuffer = new MpscRingBuffer<>(CAPACITY);
+    blockingQueue = new ArrayBlockingQueue<>(CAPACITY);
+    running = true;
+    var drained = new ArrayList<>();
+    writer =
+        new Thread(
+            () -> {
+              while (running) {
+                ringBuffer.drain(e -> {}, 256);
+                blockingQueue.drainTo(drained, 256);
+                drained.clear();
+              }
+            });
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  @TearDown
+  public void tearDown() throws InterruptedException {
+    running = false;
+    writer.join();
+  }
+
+  @Benchmark
+  public boolean ringBuffer() {
+    return ringBuffer.offer(entry);
+  }
+
+  @Benchmark
+  public boolean blockingQueue() {
+    return blockingQueue.offer(entry);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(MpscRingBufferBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -0,0 +1,135 @@
+package com.example.springbootgraphql.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class MpscRingBufferTest {
+
+  @Test
+  void the_capacity_is_rounded_up_to_a_power_of_two() {
+    assertThat(new MpscRingBuffer<>(1).capacity()).isEqualTo(1);
+    assertThat(new MpscRingBuffer<>(5).capacity()).isEqualTo(8);
+    assertThat(new MpscRingBuffer<>(8).capacity()).isEqualTo(8);
+    assertThatThrownBy(() -> new MpscRingBuffer<>(0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void a_full_buffer_rejects_offers_until_an_element_is_taken() {
+    var buffer = new MpscRingBuffer<Integer>(4);
+    for (int i = 0; i < 4; i++) {
+      assertThat(buffer.offer(i)).isTrue();
+    }
+
+    assertThat(buffer.offer(4)).isFalse();
+    assertThat(buffer.size()).isEqualTo(4);
+
+    assertThat(buffer.poll()).isZero();
+    assertThat(buffer.offer(4)).isTrue();
+    assertThat(buffer.offer(5)).isFalse();
+  }
+
+  @Test
+  void elements_are_taken_in_order_across_wrap_arounds() {
+    var buffer = new MpscRingBuffer<Integer>(4);
+    var taken = new ArrayList<Integer>();
+
+    for (int i = 0; i < 100; i += 3) {
+      buffer.offer(i);
+      buffer.offer(i + 1);
+      buffer.offer(i + 2);
+      buffer.drain(taken::add, 2);
+      buffer.drain(taken::add, 1);
+    }
+
+    assertThat(taken).hasSize(102);
+    for (int i = 0; i < taken.size(); i++) {
+      assertThat(taken.get(i)).isEqualTo(i);
+    }
+    assertThat(buffer.poll()).isNull();
+    assertThat(buffer.size()).isZero();
+  }
+
+  @Test
+  void drain_takes_at_most_the_limit() {
+    var buffer = new MpscRingBuffer<Integer>(8);
+    for (int i = 0; i < 5; i++) {
+      buffer.offer(i);
+    }
+    var taken = new ArrayList<Integer>();
+
+    assertThat(buffer.drain(taken::add, 3)).isEqualTo(3);
+    assertThat(buffer.drain(taken::add, 3)).isEqualTo(2);
+    assertThat(buffer.drain(taken::add, 3)).isZero();
+    assertThat(taken).containsExactly(0, 1, 2, 3, 4);
+  }
+
+  @Test
+  void null_elements_are_rejected() {
+    assertThatThrownBy(() -> new MpscRingBuffer<>(4).offer(null))
+        .isInstanceOf(NullPointerException.class);
+  }
+
+  @Test
+  void every_offered_element_is_taken_once_with_concurrent_producers()
+      throws InterruptedException {
+    var buffer = new MpscRingBuffer<Integer>(64);
+    int producers = 4;
+    int perProducer = 10_000;
+    var start = new CountDownLatch(1);
+    var executor = Executors.newFixedThreadPool(producers);
+    for (int producer = 0; producer < producers; producer++) {
+      int first = producer * perProducer;
+      executor.execute(
+          () -> {
+            try {
+              start.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+              return;
+            }
+            for (int i = first; i < first + perProducer; i++) {
+              while (!buffer.offer(i)) {
+                Thread.yield();
+              }
+            }
+          });
+    }
+
+    start.countDown();
+    var taken = new HashSet<Integer>();
+    var lastOfProducer = new int[producers];
+    Arrays.fill(lastOfProducer, -1);
+    var outOfOrder = new ArrayList<String>();
+    while (taken.size() < producers * perProducer) {
+      var drained =
+          buffer.drain(
+              element -> {
+                taken.add(element);
+                // Each producer's elements are taken in the order it offered them
+                int producer = element / perProducer;
+                if (element <= lastOfProducer[producer]) {
+                  outOfOrder.add(element + " after " + lastOfProducer[producer]);
+                }
+                lastOfProducer[producer] = element;
+              },
+              256);
+      if (drained == 0) {
+        Thread.yield();
+      }
+    }
+    executor.shutdown();
+
+    assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(outOfOrder).isEmpty();
+    assertThat(taken).hasSize(producers * perProducer);
+    assertThat(buffer.poll()).isNull();
+  }
+}